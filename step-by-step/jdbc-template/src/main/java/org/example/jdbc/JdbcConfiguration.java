@@ -4,44 +4,51 @@ import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import org.example.annotation.Autowired;
 import org.example.annotation.Bean;
+import org.example.annotation.ConditionalOnMissingBean;
+import org.example.annotation.ConditionalOnProperty;
 import org.example.annotation.Configuration;
-import org.example.annotation.Value;
+import org.example.annotation.ConfigurationProperties;
 import org.example.jdbc.tx.DataSourceTransactionManager;
 import org.example.jdbc.tx.PlatformTransactionManager;
 import org.example.jdbc.tx.TransactionalBeanPostProcessor;
 
 import javax.sql.DataSource;
 
+/**
+ * Defines DataSource, JdbcTemplate and transaction support. Disabled by "winter.datasource.enabled=false", and each bean
+ * can be replaced by a user-defined bean of the same type.
+ */
 @Configuration
+@ConditionalOnProperty(name = "winter.datasource.enabled", matchIfMissing = true)
 public class JdbcConfiguration {
     
+    @Bean
+    @ConfigurationProperties(prefix = "winter.datasource")
+    DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
     @Bean(destroyMethod = "close")
-    DataSource dataSource(
-            @Value("${winter.datasource.url}") String url, //
-            @Value("${winter.datasource.username}") String username, //
-            @Value("${winter.datasource.password}") String password, //
-            @Value("${winter.datasource.driver-class-name:}") String driver, //
-            @Value("${winter.datasource.maximum-pool-size:20}") int maximumPoolSize, //
-            @Value("${winter.datasource.minimum-pool-size:1}") int minimumPoolSize, //
-            @Value("${winter.datasource.connection-timeout:30000}") int connTimeout //
-    ) {
+    @ConditionalOnMissingBean
+    DataSource dataSource(@Autowired DataSourceProperties properties) {
         
         HikariConfig config = new HikariConfig();
         config.setAutoCommit(false);
-        config.setJdbcUrl(url);
-        config.setUsername(username);
-        config.setPassword(password);
-        if (driver != null) {
-            config.setDriverClassName(driver);
+        config.setJdbcUrl(properties.getUrl());
+        config.setUsername(properties.getUsername());
+        config.setPassword(properties.getPassword());
+        if (properties.getDriverClassName() != null && !properties.getDriverClassName().isEmpty()) {
+            config.setDriverClassName(properties.getDriverClassName());
         }
-        config.setMaximumPoolSize(maximumPoolSize);
-        config.setMinimumIdle(minimumPoolSize);
-        config.setConnectionTimeout(connTimeout);
+        config.setMaximumPoolSize(properties.getMaximumPoolSize());
+        config.setMinimumIdle(properties.getMinimumPoolSize());
+        config.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
         
         return new HikariDataSource(config);
     }
     
     @Bean
+    @ConditionalOnMissingBean
     JdbcTemplate jdbcTemplate(@Autowired DataSource dataSource) {
         return new JdbcTemplate(dataSource);
     }
@@ -52,6 +59,7 @@ public class JdbcConfiguration {
     }
     
     @Bean
+    @ConditionalOnMissingBean
     PlatformTransactionManager platformTransactionManager(@Autowired DataSource dataSource) {
         return new DataSourceTransactionManager(dataSource);
     }
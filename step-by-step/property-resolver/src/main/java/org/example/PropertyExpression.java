@@ -0,0 +1,108 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiled property expression: literal text, ${key} and ${key:default} placeholders. Placeholders can be nested in
+ * keys and defaults and embedded in text, e.g. "http://${host:localhost}:${port:${server.port:8080}}".
+ */
+sealed interface PropertyExpression {
+
+    String resolve(PropertyResolver.Snapshot snapshot);
+
+    static PropertyExpression compile(String expr) {
+        List<PropertyExpression> parts = new ArrayList<>();
+        int literalStart = 0;
+        int start;
+        while ((start = expr.indexOf("${", literalStart)) >= 0) {
+            int end = findEnd(expr, start + 2);
+            if (end < 0) {
+                // unclosed placeholder is kept as text:
+                break;
+            }
+            if (start > literalStart) {
+                parts.add(new Literal(expr.substring(literalStart, start)));
+            }
+            parts.add(compilePlaceholder(expr.substring(start + 2, end)));
+            literalStart = end + 1;
+        }
+        if (literalStart < expr.length() || parts.isEmpty()) {
+            parts.add(new Literal(expr.substring(literalStart)));
+        }
+        return parts.size() == 1 ? parts.get(0) : new Composite(List.copyOf(parts));
+    }
+
+    private static Placeholder compilePlaceholder(String body) {
+        // split at first ':' which is not inside a nested placeholder:
+        int depth = 0;
+        for (int i = 0; i < body.length(); i++) {
+            char ch = body.charAt(i);
+            if (ch == '$' && i + 1 < body.length() && body.charAt(i + 1) == '{') {
+                depth++;
+                i++;
+            } else if (ch == '}') {
+                depth--;
+            } else if (ch == ':' && depth == 0) {
+                return new Placeholder(compile(body.substring(0, i)), compile(body.substring(i + 1)));
+            }
+        }
+        return new Placeholder(compile(body), null);
+    }
+
+    /**
+     * Find index of '}' which closes the placeholder started before index from, or -1 if not closed.
+     */
+    private static int findEnd(String expr, int from) {
+        int depth = 0;
+        for (int i = from; i < expr.length(); i++) {
+            char ch = expr.charAt(i);
+            if (ch == '$' && i + 1 < expr.length() && expr.charAt(i + 1) == '{') {
+                depth++;
+                i++;
+            } else if (ch == '}') {
+                if (depth == 0) {
+                    return i;
+                }
+                depth--;
+            }
+        }
+        return -1;
+    }
+
+    record Literal(String text) implements PropertyExpression {
+
+        @Override
+        public String resolve(PropertyResolver.Snapshot snapshot) {
+            return this.text;
+        }
+    }
+
+    record Placeholder(PropertyExpression key, PropertyExpression defaultValue) implements PropertyExpression {
+
+        @Override
+        public String resolve(PropertyResolver.Snapshot snapshot) {
+            String propertyName = this.key.resolve(snapshot);
+            String value = snapshot.lookup(propertyName);
+            if (value != null) {
+                return value;
+            }
+            if (this.defaultValue != null) {
+                return this.defaultValue.resolve(snapshot);
+            }
+            throw new NullPointerException("Property '" + propertyName + "' not found.");
+        }
+    }
+
+    record Composite(List<PropertyExpression> parts) implements PropertyExpression {
+
+        @Override
+        public String resolve(PropertyResolver.Snapshot snapshot) {
+            StringBuilder sb = new StringBuilder();
+            for (PropertyExpression part : this.parts) {
+                sb.append(part.resolve(snapshot));
+            }
+            return sb.toString();
+        }
+    }
+}
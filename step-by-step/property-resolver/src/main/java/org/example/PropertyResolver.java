@@ -1,23 +1,39 @@
 package org.example;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.time.*;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
+/**
+ * Resolves properties from environment variables and given properties. Properties are held in an immutable snapshot
+ * which is replaced as a whole by update(), so readers never lock and never see a mix of old and new values.
+ */
 public class PropertyResolver {
 
-    private final Map<String, String> properties = new HashMap<>();
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private volatile Snapshot snapshot;
     private final Map<Class<?>, Function<String, Object>> converters = new HashMap<>();
+    // compiled expressions by expression string:
+    private final Map<String, PropertyExpression> expressions = new ConcurrentHashMap<>();
+    private final List<Consumer<Set<String>>> listeners = new CopyOnWriteArrayList<>();
 
-    public PropertyResolver(Properties props) {
-        this.properties.putAll(System.getenv());
+    private static final Object NULL = new Object();
 
-        for (String propertyName : props.stringPropertyNames()) {
-            this.properties.put(propertyName, props.getProperty(propertyName));
-        }
+    public PropertyResolver(Properties props) {
+        this.snapshot = new Snapshot(toMap(props));
 
         // register converters:
         converters.put(String.class, s -> s);
@@ -51,39 +67,108 @@ public class PropertyResolver {
 
     }
 
+    static Map<String, String> toMap(Properties props) {
+        Map<String, String> properties = new HashMap<>(System.getenv());
+        for (String propertyName : props.stringPropertyNames()) {
+            properties.put(propertyName, props.getProperty(propertyName));
+        }
+        return Map.copyOf(properties);
+    }
+
     public <T> void registerConverter(Class<T> clazz, Function<String, Object> function) {
         converters.put(clazz, function);
+        this.snapshot.values.remove(clazz);
     }
 
-    public String getProperty(String propertyName) {
-        String value;
-
-        PropertyExpr propertyExpr = parsePropertyExpr(propertyName);
-        if (propertyExpr == null) {
-            value = this.properties.get(propertyName);
-        } else {
-            if (propertyExpr.defaultValue() == null) {
-                value = getRequiredProperty(propertyExpr.propertyName());
-            } else {
-                value = getProperty(propertyExpr.propertyName(), propertyExpr.defaultValue());
+    /**
+     * Replace properties (environment variables are kept) and notify listeners with names of properties whose
+     * resolved value changed, on the calling thread.
+     *
+     * @return Names of changed, added and removed properties.
+     */
+    public synchronized Set<String> update(Properties props) {
+        Snapshot old = this.snapshot;
+        Snapshot current = new Snapshot(toMap(props));
+        Set<String> names = new HashSet<>(old.properties.keySet());
+        names.addAll(current.properties.keySet());
+        Set<String> changed = new HashSet<>();
+        for (String name : names) {
+            if (!Objects.equals(old.tryLookup(name), current.tryLookup(name))) {
+                changed.add(name);
             }
         }
+        if (changed.isEmpty()) {
+            return Set.of();
+        }
+        this.snapshot = current;
+        logger.atInfo().log("{} properties changed: {}", changed.size(), changed);
+        Set<String> result = Set.copyOf(changed);
+        for (Consumer<Set<String>> listener : this.listeners) {
+            try {
+                listener.accept(result);
+            } catch (RuntimeException e) {
+                logger.atWarn().log("property change listener failed.", e);
+            }
+        }
+        return result;
+    }
 
-        return parseValue(value);
+    /**
+     * Add listener to receive names of changed properties after update.
+     */
+    public void addChangeListener(Consumer<Set<String>> listener) {
+        this.listeners.add(listener);
+    }
+
+    public void removeChangeListener(Consumer<Set<String>> listener) {
+        this.listeners.remove(listener);
+    }
+
+    public String getProperty(String propertyName) {
+        return getProperty(propertyName, String.class);
     }
 
+    /**
+     * Get property by name or expression, converted to the given type. The converted value is cached per (expression,
+     * type) in current snapshot.
+     */
     @SuppressWarnings("unchecked")
     public <T> T getProperty(String propertyName, Class<T> propertyClass) {
-        String value = getProperty(propertyName);
+        if (propertyName == null) {
+            return convert(null, propertyClass);
+        }
+        Snapshot snapshot = this.snapshot;
+        Map<String, Object> cache = snapshot.values.computeIfAbsent(propertyClass, type -> new ConcurrentHashMap<>());
+        Object value = cache.get(propertyName);
+        if (value == null) {
+            PropertyExpression expr = compile(propertyName);
+            // a plain property name is looked up, an expression is resolved:
+            String str = expr instanceof PropertyExpression.Literal ? snapshot.lookup(propertyName) : expr.resolve(snapshot);
+            value = convert(str, propertyClass);
+            cache.putIfAbsent(propertyName, value == null ? NULL : value);
+        }
+        return value == NULL ? null : (T) value;
+    }
 
+    /**
+     * Convert string value to the given type by registered converter.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T convert(String value, Class<T> propertyClass) {
         Function<String, Object> function = this.converters.get(propertyClass);
         if (function == null) {
             throw new IllegalArgumentException("Unsupported value type: " + propertyClass.getName());
         }
-
         return (T) function.apply(value);
     }
 
+    /**
+     * Get names of all properties, including environment variables.
+     */
+    public Set<String> getPropertyNames() {
+        return this.snapshot.properties.keySet();
+    }
+
     public String getRequiredProperty(String propertyName) {
         String value = getProperty(propertyName);
         return Objects.requireNonNull(value, "Property '" + propertyName + "' not found.");
@@ -99,35 +184,54 @@ public class PropertyResolver {
         return propertyValue == null ? parseValue(defaultValue) : propertyValue;
     }
 
+    /**
+     * Resolve all placeholders in value, e.g. "${app.host}:${app.port:8080}".
+     */
     public String parseValue(String value) {
-        PropertyExpr propertyExpr = parsePropertyExpr(value);
-        if (propertyExpr == null) {
-            return value;
-        }
+        return this.snapshot.parseValue(value);
+    }
 
-        return getProperty(value);
+    PropertyExpression compile(String expr) {
+        return this.expressions.computeIfAbsent(expr, PropertyExpression::compile);
     }
 
-    public PropertyExpr parsePropertyExpr(String propertyName) {
-        if (propertyName == null) {
-            return null;
+    /**
+     * Immutable properties, with converted values cached.
+     */
+    final class Snapshot {
+
+        final Map<String, String> properties;
+        // converted values by type and expression string, null value is stored as NULL:
+        final Map<Class<?>, Map<String, Object>> values = new ConcurrentHashMap<>();
+
+        Snapshot(Map<String, String> properties) {
+            this.properties = properties;
         }
 
-        if (propertyName.startsWith("${") && propertyName.endsWith("}")) {
-            int i = propertyName.indexOf(":");
-            if (i == -1) {
-                return new PropertyExpr(propertyName.substring(2, propertyName.length() - 1), null);
-            } else {
-                return new PropertyExpr(propertyName.substring(2, i), propertyName.substring(i + 1, propertyName.length() - 1));
+        String parseValue(String value) {
+            if (value == null) {
+                return null;
             }
+            return compile(value).resolve(this);
         }
 
-        return null;
-    }
-
-
-    record PropertyExpr(String propertyName, String defaultValue) {
+        /**
+         * Get property value by name with its placeholders resolved, or null if not exist.
+         */
+        String lookup(String propertyName) {
+            return parseValue(this.properties.get(propertyName));
+        }
 
+        /**
+         * Lookup property, or get the error message if placeholder cannot be resolved.
+         */
+        String tryLookup(String propertyName) {
+            try {
+                return lookup(propertyName);
+            } catch (RuntimeException e) {
+                return "!" + e.getMessage();
+            }
+        }
     }
 
 }
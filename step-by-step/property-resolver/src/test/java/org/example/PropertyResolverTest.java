@@ -2,9 +2,14 @@ package org.example;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class PropertyResolverTest {
@@ -33,4 +38,63 @@ public class PropertyResolverTest {
         assertEquals("/not-exist", pr.getProperty("${app.path:${app.home:${ENV_NOT_EXIST:/not-exist}}}"));
     }
 
+    @Test
+    public void testExpressions() {
+        var props = new Properties();
+        props.setProperty("app.host", "localhost");
+        props.setProperty("app.port", "8080");
+        props.setProperty("app.url", "http://${app.host}:${app.port}/");
+        props.setProperty("app.key", "host");
+
+        var pr = new PropertyResolver(props);
+        assertEquals("http://localhost:8080/", pr.getProperty("app.url"));
+        assertEquals("http://localhost:8080/", pr.getProperty("${app.url}"));
+        assertEquals("localhost:8080", pr.getProperty("${app.host}:${app.port}"));
+        assertEquals("localhost", pr.getProperty("${app.${app.key}}"));
+        assertEquals("a:b", pr.getProperty("${app.missing:${app.other:a:b}}"));
+        assertEquals("", pr.getProperty("${app.missing:}"));
+        assertEquals("v-${app.host", pr.parseValue("v-${app.host"));
+        assertNull(pr.getProperty("app.missing"));
+        assertThrows(NullPointerException.class, () -> {
+            pr.getProperty("${app.host}:${app.missing}");
+        });
+
+        // cached:
+        assertEquals(8080, pr.getProperty("${app.port}", int.class));
+        assertSame(pr.getProperty("${app.url}"), pr.getProperty("${app.url}"));
+        assertSame(pr.getProperty("${app.port}", Integer.class), pr.getProperty("${app.port}", Integer.class));
+        pr.registerConverter(Integer.class, s -> Integer.valueOf(s) + 1);
+        assertEquals(8081, pr.getProperty("${app.port}", Integer.class));
+    }
+
+    @Test
+    public void testUpdate() {
+        var props = new Properties();
+        props.setProperty("app.host", "localhost");
+        props.setProperty("app.port", "8080");
+        props.setProperty("app.url", "http://${app.host}:${app.port}/");
+        props.setProperty("app.old", "old");
+
+        var pr = new PropertyResolver(props);
+        assertEquals(8080, pr.getProperty("${app.port}", int.class));
+        assertEquals("http://localhost:8080/", pr.getProperty("app.url"));
+
+        List<Set<String>> events = new ArrayList<>();
+        pr.addChangeListener(events::add);
+        props.setProperty("app.port", "9090");
+        props.setProperty("app.new", "new");
+        props.remove("app.old");
+        // resolved value of app.url is changed too:
+        assertEquals(Set.of("app.port", "app.url", "app.new", "app.old"), pr.update(props));
+        assertEquals(List.of(Set.of("app.port", "app.url", "app.new", "app.old")), events);
+        assertEquals(9090, pr.getProperty("${app.port}", int.class));
+        assertEquals("http://localhost:9090/", pr.getProperty("app.url"));
+        assertEquals("new", pr.getProperty("app.new"));
+        assertNull(pr.getProperty("app.old"));
+
+        // no change:
+        assertEquals(Set.of(), pr.update(props));
+        assertEquals(1, events.size());
+    }
+
 }
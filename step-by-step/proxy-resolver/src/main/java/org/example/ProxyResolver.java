@@ -1,14 +1,18 @@
 package org.example;
 
 import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
 import net.bytebuddy.implementation.InvocationHandlerAdapter;
 import net.bytebuddy.matcher.ElementMatchers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.function.Supplier;
 
 
 public class ProxyResolver {
@@ -16,6 +20,22 @@ public class ProxyResolver {
     private final Logger logger = LoggerFactory.getLogger(getClass());
     
     private final ByteBuddy byteBuddy = new ByteBuddy();
+
+    // sun.misc.Unsafe of module jdk.unsupported, looked up by reflection as Objenesis does:
+    private static final Object UNSAFE;
+    private static final Method ALLOCATE_INSTANCE;
+
+    static {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            UNSAFE = field.get(null);
+            ALLOCATE_INSTANCE = unsafeClass.getMethod("allocateInstance", Class.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
     
     @SuppressWarnings("unchecked")
     public <T> T createProxy(T bean, InvocationHandler handler) {
@@ -40,5 +60,42 @@ public class ProxyResolver {
         
         return (T) proxy;
     }
-    
+
+    /**
+     * Create proxy of type which gets target from supplier on every call of public method, so the target can be created
+     * on first use. Constructor of type is not called when creating proxy.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T createLazyProxy(Class<T> type, Supplier<? extends T> target) {
+        logger.atDebug().log("create lazy proxy for type {}", type.getName());
+        DynamicType.Builder<?> builder = type.isInterface()
+                ? this.byteBuddy.subclass(Object.class).implement(type)
+                : this.byteBuddy.subclass(type, ConstructorStrategy.Default.NO_CONSTRUCTORS);
+        // toString(), hashCode() and equals() are not delegated so logging or hashing a lazy proxy does not create the target:
+        Class<?> proxyClass = builder
+                .method(ElementMatchers.isPublic().and(ElementMatchers.not(ElementMatchers.isToString().or(ElementMatchers.isHashCode()).or(ElementMatchers.isEquals()))))
+                .intercept(InvocationHandlerAdapter.of(
+                        (Object proxy, Method method, Object[] args) -> {
+                            try {
+                                return method.invoke(target.get(), args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                        }
+                ))
+                .make()
+                .load(type.getClassLoader())
+                .getLoaded();
+
+        Object proxy;
+        try {
+            // instantiate without calling constructor of type, which may require arguments or have side effects:
+            proxy = ALLOCATE_INSTANCE.invoke(UNSAFE, proxyClass);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+
+        return (T) proxy;
+    }
+
 }
@@ -2,6 +2,8 @@ package org.example;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -30,5 +32,42 @@ public class ProxyResolverTest {
         // 不带@Polite:
         assertEquals("Morning, Bob.", proxy.morning());
     }
-    
+
+    @Test
+    public void testLazyProxy() {
+        AtomicInteger created = new AtomicInteger();
+        OriginBean proxy = new ProxyResolver().createLazyProxy(OriginBean.class, () -> {
+            created.incrementAndGet();
+            OriginBean origin = new OriginBean();
+            origin.name = "Bob";
+            return origin;
+        });
+        assertNotSame(OriginBean.class, proxy.getClass());
+        assertEquals(0, created.get());
+
+        assertEquals("Hello, Bob.", proxy.hello());
+        assertEquals(1, created.get());
+
+        // class without no-arg constructor, whose constructor is not called by proxy:
+        NamedBean named = new ProxyResolver().createLazyProxy(NamedBean.class, () -> new NamedBean("Bob"));
+        assertEquals(0, NamedBean.constructed.get());
+        assertEquals("Bob", named.getName());
+        assertEquals(1, NamedBean.constructed.get());
+    }
+
+    public static class NamedBean {
+
+        static final AtomicInteger constructed = new AtomicInteger();
+
+        final String name;
+
+        public NamedBean(String name) {
+            constructed.incrementAndGet();
+            this.name = name;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+    }
 }
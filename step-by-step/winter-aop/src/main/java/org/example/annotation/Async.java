@@ -0,0 +1,20 @@
+package org.example.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Run public method (or all public methods of class) on a context-managed executor. Method must return void,
+ * Future or CompletableFuture.
+ */
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Documented
+public @interface Async {
+
+    /**
+     * Executor name, configured by "winter.async.executors.{name}.*".
+     */
+    String value() default "default";
+
+}
@@ -1,33 +1,43 @@
 package org.example.aop;
 
 import org.example.ProxyResolver;
-import org.example.context.ApplicationContextUtils;
+import org.example.context.ApplicationContext;
+import org.example.context.ApplicationContextAware;
 import org.example.context.BeanDefinition;
 import org.example.context.BeanPostProcessor;
 import org.example.context.ConfigurableApplicationContext;
 import org.example.exception.AopConfigException;
+import org.example.util.ClassUtils;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
-public abstract class AnnotationProxyBeanPostProcessor<A extends Annotation> implements BeanPostProcessor {
+public abstract class AnnotationProxyBeanPostProcessor<A extends Annotation> implements BeanPostProcessor, ApplicationContextAware {
     
-    Map<String, Object> originalBeans = new HashMap<>();
+    Map<String, Object> originalBeans = new ConcurrentHashMap<>();
     
     Class<A> annotationClass;
 
+    ConfigurableApplicationContext applicationContext;
+
     public AnnotationProxyBeanPostProcessor() {
         this.annotationClass = getParameterizedType();
     }
 
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) {
+        this.applicationContext = (ConfigurableApplicationContext) applicationContext;
+    }
+
     @Override
     public Object postProcessBeforeInitialization(Object bean, String beanName) {
         Class<?> beanClass = bean.getClass();
-        A annotation = beanClass.getAnnotation(annotationClass);
+        A annotation = ClassUtils.findAnnotation(beanClass, annotationClass);
         
         if (annotation != null) {
             String handlerName;
@@ -72,7 +82,7 @@ public abstract class AnnotationProxyBeanPostProcessor<A extends Annotation> imp
     }
     
     private Object createProxy(Object bean, String handlerName) {
-        ConfigurableApplicationContext ctx = (ConfigurableApplicationContext) ApplicationContextUtils.getRequiredApplicationContext();
+        ConfigurableApplicationContext ctx = Objects.requireNonNull(this.applicationContext, "ApplicationContext is not set.");
 
         BeanDefinition def = ctx.findBeanDefinition(handlerName);
         if (def == null) {
@@ -0,0 +1,154 @@
+package org.example.aop;
+
+import org.example.PropertyResolver;
+import org.example.util.ThreadUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Named executor of @Async methods, which is either virtual-thread-per-task or a bounded pool of platform threads, and
+ * is exposed over JMX as "org.example.aop:type=AsyncExecutor,name={name}".
+ *
+ * Configured by "winter.async.executors.{name}.type" (pool or virtual), ".threads" and ".queue-capacity".
+ */
+public class AsyncExecutor implements AsyncExecutorMXBean {
+
+    static final Logger logger = LoggerFactory.getLogger(AsyncExecutor.class);
+
+    final String name;
+    final String type;
+    final ExecutorService executorService;
+    final LongAdder submitted = new LongAdder();
+    final LongAdder started = new LongAdder();
+    final LongAdder completed = new LongAdder();
+    final LongAdder rejected = new LongAdder();
+    final AtomicInteger active = new AtomicInteger();
+    ObjectName objectName;
+
+    AsyncExecutor(String name, PropertyResolver propertyResolver) {
+        this.name = name;
+        String prefix = "winter.async.executors." + name;
+        String type = propertyResolver.getProperty("${" + prefix + ".type:pool}");
+        ExecutorService virtual = "virtual".equals(type) ? ThreadUtils.newVirtualThreadPerTaskExecutor() : null;
+        if (virtual != null) {
+            this.type = "virtual";
+            this.executorService = virtual;
+        } else {
+            if ("virtual".equals(type)) {
+                logger.atWarn().log("virtual threads are not supported by Java {}, use pool for async executor '{}'.", Runtime.version().feature(), name);
+            } else if (!"pool".equals(type)) {
+                throw new IllegalArgumentException("Invalid type of async executor '" + name + "': " + type);
+            }
+            int threads = propertyResolver.getProperty("${" + prefix + ".threads:" + Runtime.getRuntime().availableProcessors() + "}", int.class);
+            int queueCapacity = propertyResolver.getProperty("${" + prefix + ".queue-capacity:1000}", int.class);
+            this.type = "pool";
+            this.executorService = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                    ThreadUtils.newDaemonThreadFactory("async-" + name));
+        }
+        registerMBean();
+    }
+
+    /**
+     * Run task on executor.
+     *
+     * @throws RejectedExecutionException If pool queue is full or executor is shut down.
+     */
+    void execute(Runnable task) {
+        this.submitted.increment();
+        try {
+            this.executorService.execute(() -> {
+                this.started.increment();
+                this.active.incrementAndGet();
+                try {
+                    task.run();
+                } finally {
+                    this.active.decrementAndGet();
+                    this.completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            this.rejected.increment();
+            throw e;
+        }
+    }
+
+    /**
+     * Stop accepting tasks and wait running and queued tasks to complete.
+     */
+    void shutdown(long timeoutMillis) {
+        this.executorService.shutdown();
+        try {
+            if (!this.executorService.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                logger.atWarn().log("async executor '{}' not terminated in {} ms, interrupt {} running tasks.", this.name, timeoutMillis, getActiveCount());
+                this.executorService.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            this.executorService.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        unregisterMBean();
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public String getType() {
+        return this.type;
+    }
+
+    @Override
+    public long getQueueSize() {
+        return this.submitted.sum() - this.rejected.sum() - this.started.sum();
+    }
+
+    @Override
+    public long getActiveCount() {
+        return this.active.get();
+    }
+
+    @Override
+    public long getCompletedTaskCount() {
+        return this.completed.sum();
+    }
+
+    @Override
+    public long getRejectedTaskCount() {
+        return this.rejected.sum();
+    }
+
+    void registerMBean() {
+        try {
+            ObjectName objectName = new ObjectName("org.example.aop:type=AsyncExecutor,name=" + ObjectName.quote(this.name));
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(objectName)) {
+                // executor re-created by another context in same JVM:
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(this, objectName);
+            this.objectName = objectName;
+        } catch (JMException e) {
+            logger.atWarn().log("register async executor MBean failed.", e);
+        }
+    }
+
+    void unregisterMBean() {
+        if (this.objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(this.objectName);
+            } catch (JMException e) {
+                logger.atDebug().log("unregister async executor MBean failed: {}", e.getMessage());
+            }
+            this.objectName = null;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.aop;
+
+/**
+ * Statistics of an executor used by @Async methods.
+ */
+public interface AsyncExecutorMXBean {
+
+    /**
+     * Executor type: "virtual" or "pool".
+     */
+    String getType();
+
+    /**
+     * Number of tasks submitted but not started.
+     */
+    long getQueueSize();
+
+    /**
+     * Number of tasks running.
+     */
+    long getActiveCount();
+
+    long getCompletedTaskCount();
+
+    long getRejectedTaskCount();
+
+}
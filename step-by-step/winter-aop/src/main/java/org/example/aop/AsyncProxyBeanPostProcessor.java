@@ -0,0 +1,162 @@
+package org.example.aop;
+
+import org.example.PropertyResolver;
+import org.example.ProxyResolver;
+import org.example.annotation.Async;
+import org.example.annotation.EventListener;
+import org.example.context.BeanPostProcessor;
+import org.example.context.event.ContextClosedEvent;
+import org.example.exception.AopConfigException;
+import org.example.util.ClassUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Proxy beans which have @Async methods, so calls of those methods return immediately and run on named executors.
+ *
+ * Executors are created on first use and shut down gracefully when context is closed, waiting at most
+ * "winter.async.shutdown-timeout" milliseconds.
+ */
+public class AsyncProxyBeanPostProcessor implements BeanPostProcessor {
+
+    final Logger logger = LoggerFactory.getLogger(getClass());
+
+    final PropertyResolver propertyResolver;
+    final long shutdownTimeout;
+    final Map<String, Object> originalBeans = new ConcurrentHashMap<>();
+    final Map<String, AsyncExecutor> executors = new ConcurrentHashMap<>();
+    // method -> @Async on method or class:
+    final Map<Method, Optional<Async>> asyncMethods = new ConcurrentHashMap<>();
+    volatile boolean closed;
+
+    public AsyncProxyBeanPostProcessor(PropertyResolver propertyResolver) {
+        this.propertyResolver = propertyResolver;
+        this.shutdownTimeout = propertyResolver.getProperty("${winter.async.shutdown-timeout:30000}", long.class);
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        Class<?> beanClass = bean.getClass();
+        boolean async = false;
+        for (Method method : beanClass.getMethods()) {
+            if (findAsync(method) != null) {
+                Class<?> returnType = method.getReturnType();
+                if (returnType != void.class && returnType != Future.class && returnType != CompletableFuture.class) {
+                    throw new AopConfigException(String.format("@Async method %s.%s must return void, Future or CompletableFuture.", beanClass.getName(), method.getName()));
+                }
+                async = true;
+            }
+        }
+        if (!async) {
+            return bean;
+        }
+        Object proxy = new ProxyResolver().createProxy(bean, new AsyncInvocationHandler());
+        this.originalBeans.put(beanName, bean);
+        return proxy;
+    }
+
+    @Override
+    public Object postProcessOnSetProperty(Object bean, String beanName) {
+        Object origin = this.originalBeans.get(beanName);
+        return (origin == null) ? bean : origin;
+    }
+
+    /**
+     * Get @Async of public method, or of its class if method is not declared by Object.
+     */
+    Async findAsync(Method method) {
+        return this.asyncMethods.computeIfAbsent(method, key -> {
+            if (!Modifier.isPublic(key.getModifiers()) || Modifier.isStatic(key.getModifiers()) || key.getDeclaringClass() == Object.class) {
+                return Optional.empty();
+            }
+            Async async = key.getAnnotation(Async.class);
+            if (async == null) {
+                async = ClassUtils.findAnnotation(key.getDeclaringClass(), Async.class);
+            }
+            return Optional.ofNullable(async);
+        }).orElse(null);
+    }
+
+    public AsyncExecutor getExecutor(String name) {
+        if (this.closed) {
+            throw new RejectedExecutionException("Async executors are shut down.");
+        }
+        return this.executors.computeIfAbsent(name, key -> new AsyncExecutor(key, this.propertyResolver));
+    }
+
+    public List<AsyncExecutor> getExecutors() {
+        return List.copyOf(this.executors.values());
+    }
+
+    @EventListener
+    public void onContextClosed(ContextClosedEvent event) {
+        this.closed = true;
+        for (AsyncExecutor executor : getExecutors()) {
+            logger.atInfo().log("shutdown async executor '{}' with {} queued and {} active tasks.", executor.getName(), executor.getQueueSize(), executor.getActiveCount());
+            executor.shutdown(this.shutdownTimeout);
+        }
+        this.executors.clear();
+    }
+
+    class AsyncInvocationHandler implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object bean, Method method, Object[] args) throws Throwable {
+            Async async = findAsync(method);
+            if (async == null) {
+                try {
+                    return method.invoke(bean, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+            CompletableFuture<Object> result = new CompletableFuture<>();
+            try {
+                getExecutor(async.value()).execute(() -> {
+                    try {
+                        Object returned = method.invoke(bean, args);
+                        if (returned instanceof CompletableFuture<?> future) {
+                            future.whenComplete((value, t) -> {
+                                if (t != null) {
+                                    result.completeExceptionally(t);
+                                } else {
+                                    result.complete(value);
+                                }
+                            });
+                        } else if (returned instanceof Future<?> future) {
+                            result.complete(future.get());
+                        } else {
+                            result.complete(returned);
+                        }
+                    } catch (InvocationTargetException | ExecutionException e) {
+                        result.completeExceptionally(e.getCause());
+                    } catch (Throwable t) {
+                        result.completeExceptionally(t);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                result.completeExceptionally(e);
+            }
+            if (method.getReturnType() == void.class) {
+                result.whenComplete((value, t) -> {
+                    if (t != null) {
+                        logger.atWarn().log("@Async method {}.{} failed.", bean.getClass().getName(), method.getName(), t);
+                    }
+                });
+                return null;
+            }
+            return result;
+        }
+    }
+}
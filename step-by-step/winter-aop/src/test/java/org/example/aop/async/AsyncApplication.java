@@ -0,0 +1,18 @@
+package org.example.aop.async;
+
+import org.example.PropertyResolver;
+import org.example.annotation.Autowired;
+import org.example.annotation.Bean;
+import org.example.annotation.ComponentScan;
+import org.example.annotation.Configuration;
+import org.example.aop.AsyncProxyBeanPostProcessor;
+
+@Configuration
+@ComponentScan
+public class AsyncApplication {
+
+    @Bean
+    AsyncProxyBeanPostProcessor createAsyncProxyBeanPostProcessor(@Autowired PropertyResolver propertyResolver) {
+        return new AsyncProxyBeanPostProcessor(propertyResolver);
+    }
+}
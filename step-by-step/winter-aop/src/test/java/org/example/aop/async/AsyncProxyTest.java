@@ -0,0 +1,49 @@
+package org.example.aop.async;
+
+import org.example.PropertyResolver;
+import org.example.context.AnnotationConfigApplicationContext;
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncProxyTest {
+
+    @Test
+    public void testAsync() throws Exception {
+        var ctx = new AnnotationConfigApplicationContext(AsyncApplication.class, createPropertyResolver());
+        MailService mail = ctx.getBean(MailService.class);
+        assertNotSame(MailService.class, mail.getClass());
+
+        assertTrue(mail.send("bob@example.com").get().startsWith("async-default-"));
+        assertEquals(Thread.currentThread().getName(), mail.currentThreadName());
+
+        var e = assertThrows(ExecutionException.class, () -> mail.fail().get());
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+
+        // exposed over JMX:
+        var server = ManagementFactory.getPlatformMBeanServer();
+        var name = new ObjectName("org.example.aop:type=AsyncExecutor,name=\"default\"");
+        assertEquals("pool", server.getAttribute(name, "Type"));
+        assertEquals(0L, server.getAttribute(name, "RejectedTaskCount"));
+
+        // close waits for queued task:
+        mail.sendLater("alice@example.com");
+        mail.sendLater("tom@example.com");
+        ctx.close();
+        assertEquals(List.of("bob@example.com", "alice@example.com", "tom@example.com"), mail.getSent());
+        assertFalse(server.isRegistered(name));
+    }
+
+    PropertyResolver createPropertyResolver() {
+        var ps = new Properties();
+        ps.put("winter.async.executors.bulk.threads", "1");
+        ps.put("winter.async.executors.bulk.queue-capacity", "10");
+        return new PropertyResolver(ps);
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.aop.async;
+
+import org.example.annotation.Async;
+import org.example.annotation.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@Component
+public class MailService {
+
+    final List<String> sent = new CopyOnWriteArrayList<>();
+
+    @Async
+    public CompletableFuture<String> send(String to) {
+        sent.add(to);
+        return CompletableFuture.completedFuture(Thread.currentThread().getName());
+    }
+
+    @Async("bulk")
+    public void sendLater(String to) throws InterruptedException {
+        Thread.sleep(200);
+        sent.add(to);
+    }
+
+    @Async
+    public CompletableFuture<String> fail() {
+        throw new IllegalStateException("Mail server down.");
+    }
+
+    public List<String> getSent() {
+        return sent;
+    }
+
+    public String currentThreadName() {
+        return Thread.currentThread().getName();
+    }
+}
@@ -0,0 +1,87 @@
+#!/bin/sh
+#
+# Launch winter-boot from the extracted war with a fixed class path, which is required by class data sharing (CDS).
+#
+#   ./launcher.sh train [warm-up-file]   boot, replay warm-up requests and exit, dumping the CDS archive
+#   ./launcher.sh run [args...]          start with the CDS archive if it exists
+#   ./launcher.sh bench [times]          compare startup time: cold, CDS, and CDS with component index
+#
+# Build the war first by "mvn package". Variables: JAVA (default java), WAR (default target/winter-boot.war),
+# APP_DIR (default target/app), ARCHIVE (default target/app.jsa).
+
+set -e
+
+cd "$(dirname "$0")"
+JAVA=${JAVA:-java}
+WAR=${WAR:-target/winter-boot.war}
+APP_DIR=${APP_DIR:-target/app}
+ARCHIVE=${ARCHIVE:-target/app.jsa}
+
+extract() {
+    if [ ! -d "$APP_DIR" ] || [ "$WAR" -nt "$APP_DIR" ]; then
+        rm -rf "$APP_DIR" "$ARCHIVE"
+        mkdir -p "$APP_DIR"
+        (cd "$APP_DIR" && jar -xf "$OLDPWD/$WAR")
+        touch "$APP_DIR"
+    fi
+    # archive is only valid with the same class path in the same order:
+    CP=$(ls "$APP_DIR"/WEB-INF/lib/*.jar | sort | tr '\n' ':')
+}
+
+launch() {
+    "$JAVA" "$@" -Dwinter.boot.app-dir="$APP_DIR" -cp "$CP" org.example.Main $ARGS
+}
+
+# print milliseconds from JVM start to "Started ..." log of a training run, with component index on or off:
+measure() {
+    index=$1
+    shift
+    env "winter.context.component-index=$index" "$JAVA" "$@" -Dwinter.boot.app-dir="$APP_DIR" -cp "$CP" org.example.Main --training 2>&1 \
+        | sed -n 's/.*Started .* (process running for \([0-9.]*\)).*/\1/p' | awk '{ printf "%d\n", $1 * 1000 }'
+}
+
+bench() {
+    times=${1:-5}
+    ARGS=--training
+    launch -XX:ArchiveClassesAtExit="$ARCHIVE" > /dev/null 2>&1
+    for mode in cold cds cds-index; do
+        case $mode in
+            cold) opts=""; index=false ;;
+            cds) opts="-XX:SharedArchiveFile=$ARCHIVE"; index=false ;;
+            cds-index) opts="-XX:SharedArchiveFile=$ARCHIVE"; index=true ;;
+        esac
+        total=0
+        i=0
+        while [ "$i" -lt "$times" ]; do
+            ms=$(measure "$index" $opts)
+            total=$((total + ms))
+            i=$((i + 1))
+        done
+        echo "$mode: $((total / times)) ms to started (average of $times runs)"
+    done
+}
+
+extract
+command=${1:-run}
+[ $# -gt 0 ] && shift
+case $command in
+    train)
+        ARGS="--training${1:+ --warm-up=$1}"
+        launch -XX:ArchiveClassesAtExit="$ARCHIVE"
+        ;;
+    run)
+        ARGS="$*"
+        if [ -f "$ARCHIVE" ]; then
+            launch -XX:SharedArchiveFile="$ARCHIVE"
+        else
+            launch
+        fi
+        ;;
+    bench)
+        bench "$@"
+        ;;
+    *)
+        echo "Usage: $0 train [warm-up-file] | run [args...] | bench [times]" >&2
+        exit 1
+        ;;
+esac
@@ -14,6 +14,12 @@ import java.util.jar.JarFile;
 
 public class Main {
     public static void main(String[] args) throws Exception {
+        // 从已解压的目录启动, 例如launcher.sh使用固定classpath以便共享类数据:
+        String appDir = System.getProperty("winter.boot.app-dir");
+        if (appDir != null) {
+            WinterApplication.run(appDir, appDir, BootConfiguration.class, args);
+            return;
+        }
         // 判定是否从jar/war启动:
         String jarFile = Main.class.getProtectionDomain().getCodeSource().getLocation().getFile();
         boolean isJarFile = jarFile.endsWith(".war") || jarFile.endsWith(".jar");
@@ -0,0 +1,111 @@
+package org.example.boot;
+
+import jakarta.servlet.Servlet;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.WebResourceRoot;
+import org.apache.catalina.Wrapper;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.catalina.webresources.DirResourceSet;
+import org.apache.catalina.webresources.StandardRoot;
+import org.example.PropertyResolver;
+import org.example.web.ContextLoaderInitializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Set;
+
+public class TomcatWebServer implements WebServer {
+
+    final Logger logger = LoggerFactory.getLogger(getClass());
+
+    final String webDir;
+    final String baseDir;
+    final Class<?> configClass;
+    final PropertyResolver propertyResolver;
+    final int port;
+
+    Tomcat tomcat;
+    Context context;
+    Connector connector;
+
+    public TomcatWebServer(String webDir, String baseDir, Class<?> configClass, PropertyResolver propertyResolver) {
+        this.webDir = webDir;
+        this.baseDir = baseDir;
+        this.configClass = configClass;
+        this.propertyResolver = propertyResolver;
+        this.port = propertyResolver.getProperty("${server.port:8080}", int.class);
+    }
+
+    @Override
+    public void start() throws LifecycleException {
+        logger.atInfo().log("starting Tomcat at port {}...", port);
+
+        Tomcat tomcat = new Tomcat();
+        tomcat.setPort(port);
+        Connector connector = tomcat.getConnector();
+        connector.setThrowOnFailure(true);
+        // connector is added back by listen():
+        tomcat.getService().removeConnector(connector);
+        Context context = tomcat.addWebapp("", new File(webDir).getAbsolutePath());
+        WebResourceRoot resource = new StandardRoot(context);
+        resource.addPreResources(new DirResourceSet(resource, "/WEB-INF/classes", new File(baseDir).getAbsolutePath(), "/"));
+        context.setResources(resource);
+        context.addServletContainerInitializer(new ContextLoaderInitializer(configClass, propertyResolver), Set.of());
+
+        tomcat.start();
+        this.tomcat = tomcat;
+        this.context = context;
+        this.connector = connector;
+        logger.atInfo().log("Tomcat started without connector.");
+    }
+
+    @Override
+    public void listen() throws LifecycleException {
+        this.tomcat.getService().addConnector(this.connector);
+        if (!this.connector.getState().isAvailable()) {
+            throw new LifecycleException("Tomcat connector failed to start at port " + port);
+        }
+        logger.atInfo().log("Tomcat listening at port {}...", port);
+    }
+
+    /**
+     * Call DispatcherServlet directly. Filters are not applied.
+     */
+    @Override
+    public void service(HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
+        Wrapper wrapper = (Wrapper) this.context.findChild("dispatcherServlet");
+        Servlet servlet = wrapper.allocate();
+        try {
+            servlet.service(request, response);
+        } finally {
+            wrapper.deallocate(servlet);
+        }
+    }
+
+    @Override
+    public void await() {
+        this.tomcat.getServer().await();
+    }
+
+    @Override
+    public void stop() {
+        try {
+            this.tomcat.stop();
+            this.tomcat.destroy();
+        } catch (LifecycleException e) {
+            logger.atWarn().log("stop Tomcat failed.", e);
+        }
+    }
+
+    @Override
+    public int getPort() {
+        return this.port;
+    }
+}
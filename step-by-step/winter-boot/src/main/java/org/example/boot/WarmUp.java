@@ -0,0 +1,151 @@
+package org.example.boot;
+
+import org.example.PropertyResolver;
+import org.example.boot.nio.NioHttpServletRequest;
+import org.example.boot.nio.NioHttpServletResponse;
+import org.example.boot.nio.NioServletContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * JIT warm-up before the server takes traffic: requests of a script are replayed in process through the servlet until
+ * JIT compilation time stops growing, so hot paths of dispatch, JSON and JDBC are compiled before the first real
+ * request.
+ *
+ * Configured by "winter.boot.warm-up.script" (a file of requests, warm-up is disabled if not set),
+ * ".min-iterations", ".max-iterations", ".stable-iterations" (iterations without JIT activity to stop), ".timeout" in
+ * milliseconds and ".methods" (only GET and HEAD by default, so warm-up does not change data).
+ */
+public class WarmUp {
+
+    final Logger logger = LoggerFactory.getLogger(getClass());
+
+    /**
+     * Request of script line "{method} {path}" with optional form body after the path, e.g.
+     * "POST /signin email=bob@example.com&password=password". Empty lines and lines starting with "#" are ignored.
+     */
+    public record Request(String method, String path, String body) {
+    }
+
+    final List<Request> requests;
+    final int minIterations;
+    final int maxIterations;
+    final int stableIterations;
+    final long timeout;
+
+    public WarmUp(List<Request> requests, int minIterations, int maxIterations, int stableIterations, long timeout) {
+        this.requests = requests;
+        this.minIterations = minIterations;
+        this.maxIterations = maxIterations;
+        this.stableIterations = stableIterations;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Create warm-up by properties, or return null if no script is configured.
+     */
+    public static WarmUp create(PropertyResolver propertyResolver) throws IOException {
+        String script = propertyResolver.getProperty("${winter.boot.warm-up.script:}");
+        if (script.isEmpty()) {
+            return null;
+        }
+        Set<String> methods = new HashSet<>(Arrays.asList(propertyResolver.getProperty("${winter.boot.warm-up.methods:GET,HEAD}").toUpperCase().split("\\s*,\\s*")));
+        List<Request> requests = new ArrayList<>();
+        for (Request request : load(Path.of(script))) {
+            if (methods.contains(request.method())) {
+                requests.add(request);
+            } else {
+                LoggerFactory.getLogger(WarmUp.class).atWarn().log("skip warm-up request of method not allowed: {} {}", request.method(), request.path());
+            }
+        }
+        return new WarmUp(requests,
+                propertyResolver.getProperty("${winter.boot.warm-up.min-iterations:10}", int.class),
+                propertyResolver.getProperty("${winter.boot.warm-up.max-iterations:1000}", int.class),
+                propertyResolver.getProperty("${winter.boot.warm-up.stable-iterations:5}", int.class),
+                propertyResolver.getProperty("${winter.boot.warm-up.timeout:30000}", long.class));
+    }
+
+    public static List<Request> load(Path script) throws IOException {
+        List<Request> requests = new ArrayList<>();
+        for (String line : Files.readAllLines(script, StandardCharsets.UTF_8)) {
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\\s+", 3);
+            if (parts.length < 2) {
+                throw new IllegalArgumentException("Invalid line in warm-up script: " + line);
+            }
+            requests.add(new Request(parts[0].toUpperCase(), parts[1], parts.length == 3 ? parts[2] : null));
+        }
+        return requests;
+    }
+
+    /**
+     * Replay requests on server which is started but not listening.
+     */
+    public void run(WebServer server, String webDir, String baseDir) {
+        if (this.requests.isEmpty()) {
+            return;
+        }
+        NioServletContext servletContext = new NioServletContext(webDir, baseDir);
+        InetSocketAddress address = new InetSocketAddress("localhost", server.getPort());
+        CompilationMXBean jit = ManagementFactory.getCompilationMXBean();
+        boolean monitorJit = jit != null && jit.isCompilationTimeMonitoringSupported();
+        long jitStart = monitorJit ? jit.getTotalCompilationTime() : 0;
+        long lastJitTime = jitStart;
+        long start = System.currentTimeMillis();
+        long deadline = start + this.timeout;
+        int iterations = 0;
+        int stable = 0;
+        int failures = 0;
+        while (iterations < this.maxIterations && System.currentTimeMillis() < deadline) {
+            for (Request request : this.requests) {
+                if (!service(server, servletContext, address, request)) {
+                    failures++;
+                }
+            }
+            iterations++;
+            if (monitorJit) {
+                long jitTime = jit.getTotalCompilationTime();
+                stable = jitTime == lastJitTime ? stable + 1 : 0;
+                lastJitTime = jitTime;
+            }
+            if (iterations >= this.minIterations && (!monitorJit || stable >= this.stableIterations)) {
+                break;
+            }
+        }
+        logger.atInfo().log("warm-up finished: {} iterations of {} requests with {} failures in {} ms, JIT time {} ms{}", iterations, this.requests.size(),
+                failures, System.currentTimeMillis() - start, lastJitTime - jitStart, stable >= this.stableIterations ? "" : " (JIT not stable)");
+    }
+
+    boolean service(WebServer server, NioServletContext servletContext, InetSocketAddress address, Request request) {
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put("host", List.of("localhost:" + server.getPort()));
+        byte[] body = new byte[0];
+        if (request.body() != null) {
+            body = request.body().getBytes(StandardCharsets.UTF_8);
+            headers.put("content-type", List.of("application/x-www-form-urlencoded"));
+            headers.put("content-length", List.of(String.valueOf(body.length)));
+        }
+        NioHttpServletRequest servletRequest = new NioHttpServletRequest(servletContext, request.method(), request.path(), "HTTP/1.1", headers, body,
+                address, address);
+        NioHttpServletResponse servletResponse = new NioHttpServletResponse(servletContext, 1024);
+        try {
+            server.service(servletRequest, servletResponse);
+        } catch (Exception e) {
+            logger.atDebug().log("warm-up request failed: {} {}", request.method(), request.path(), e);
+            return false;
+        }
+        return servletResponse.getStatus() < 500;
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.boot;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+/**
+ * Embedded web server which hosts the DispatcherServlet and registered filters.
+ */
+public interface WebServer {
+
+    /**
+     * Create ApplicationContext and register servlet and filters, without accepting connections.
+     */
+    void start() throws Exception;
+
+    /**
+     * Start accepting connections after start() and optional warm-up.
+     */
+    void listen() throws Exception;
+
+    /**
+     * Process request on current thread without network, used to warm up before listening.
+     */
+    void service(HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException;
+
+    /**
+     * Block current thread until server is stopped.
+     */
+    void await() throws InterruptedException;
+
+    /**
+     * Stop listening and destroy servlet, filters and ApplicationContext.
+     */
+    void stop();
+
+    int getPort();
+
+}
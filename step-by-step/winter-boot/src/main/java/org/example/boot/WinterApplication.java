@@ -1,30 +1,52 @@
 package org.example.boot;
 
-import org.apache.catalina.Context;
-import org.apache.catalina.LifecycleException;
-import org.apache.catalina.Server;
-import org.apache.catalina.WebResourceRoot;
-import org.apache.catalina.startup.Tomcat;
-import org.apache.catalina.webresources.DirResourceSet;
-import org.apache.catalina.webresources.StandardRoot;
 import org.example.PropertyResolver;
+import org.example.boot.nio.NioWebServer;
+import org.example.context.ApplicationContextUtils;
+import org.example.context.ConfigurableApplicationContext;
+import org.example.context.StartupProfiler;
 import org.example.util.ClassPathUtils;
-import org.example.web.ContextLoaderInitializer;
+import org.example.web.utils.PropertyFileWatcher;
 import org.example.web.utils.WebUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Set;
+import java.util.List;
 
 public class WinterApplication {
 
     final Logger logger = LoggerFactory.getLogger(getClass());
     
+    /**
+     * Training run for class data sharing, enabled by argument "--training": boot, replay requests of optional
+     * "--warm-up={file}", then stop and exit, so a JVM started with -XX:ArchiveClassesAtExit dumps all loaded classes.
+     */
+    boolean training;
+    String warmUpScript;
+
     public static void run(String webDir, String baseDir, Class<?> configClass, String... args) throws Exception {
-        new WinterApplication().start(webDir, baseDir, configClass);
+        WinterApplication app = new WinterApplication();
+        for (String arg : args) {
+            if (arg.equals("--training")) {
+                app.training = true;
+            } else if (arg.startsWith("--warm-up=")) {
+                app.warmUpScript = arg.substring("--warm-up=".length());
+            }
+        }
+        app.start(webDir, baseDir, configClass);
+        if (app.training) {
+            // exit even if non-daemon threads are left, so the archive is dumped:
+            System.exit(0);
+        }
     }
     
     public void start(String webDir, String baseDir, Class<?> configClass) throws Exception {
@@ -36,37 +58,107 @@ public class WinterApplication {
         final String user = System.getProperty("user.name");
         final String pwd = Paths.get("").toAbsolutePath().toString();
         logger.info("Starting {} using Java {} with PID {} (started by {} in {})", configClass.getSimpleName(), javaVersion, pid, user, pwd);
+        ManagementFactory.getRuntimeMXBean().getInputArguments().stream().filter(arg -> arg.startsWith("-XX:SharedArchiveFile=")).findFirst()
+                .ifPresent(arg -> logger.info("Using class data sharing archive: {}", arg.substring(arg.indexOf('=') + 1)));
 
         PropertyResolver propertyResolver = WebUtils.createPropertyResolver();
-        Server server = startTomcat(webDir, baseDir, configClass, propertyResolver);
+        WebServer server = createWebServer(webDir, baseDir, configClass, propertyResolver);
+        server.start();
+        // the watcher stops after server is stopped and context is closed:
+        PropertyFileWatcher propertyFileWatcher = WebUtils.watchProperties(propertyResolver);
+        try {
+            // compile hot paths before taking traffic:
+            WarmUp warmUp = WarmUp.create(propertyResolver);
+            if (warmUp != null) {
+                warmUp.run(server, webDir, baseDir);
+            }
+            server.listen();
+
+            final long endTime = System.currentTimeMillis();
+            final String appTime = String.format("%.3f", (endTime - startTime) / 1000.0);
+            final String jvmTime = String.format("%.3f", ManagementFactory.getRuntimeMXBean().getUptime() / 1000.0);
+            logger.info("Started {} in {} seconds (process running for {})", configClass.getSimpleName(), appTime, jvmTime);
+            reportStartup(propertyResolver);
 
-        final long endTime = System.currentTimeMillis();
-        final String appTime = String.format("%.3f", (endTime - startTime) / 1000.0);
-        final String jvmTime = String.format("%.3f", ManagementFactory.getRuntimeMXBean().getUptime() / 1000.0);
-        logger.info("Started {} in {} seconds (process running for {})", configClass.getSimpleName(), appTime, jvmTime);
-        
-        server.await();
+            if (this.training) {
+                train(server);
+                return;
+            }
+            server.await();
+        } finally {
+            if (propertyFileWatcher != null) {
+                propertyFileWatcher.close();
+            }
+        }
+    }
+
+    protected void train(WebServer server) throws IOException {
+        if (this.warmUpScript != null) {
+            warmUp(server.getPort(), Paths.get(this.warmUpScript));
+        }
+        server.stop();
+        logger.info("Training run finished with {} classes loaded.", ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount());
     }
-    
-    protected Server startTomcat(String webDir, String baseDir, Class<?> configClass, PropertyResolver propertyResolver) throws LifecycleException {
-        int port = propertyResolver.getProperty("${server.port:8080}", int.class);
-        logger.atInfo().log("starting Tomcat at port {}...", port);
 
-        Tomcat tomcat = new Tomcat();
-        tomcat.setPort(port);
-        tomcat.getConnector().setThrowOnFailure(true);
-        Context context = tomcat.addWebapp("", new File(webDir).getAbsolutePath());
-        WebResourceRoot resource = new StandardRoot(context);
-        resource.addPreResources(new DirResourceSet(resource, "/WEB-INF/classes", new File(baseDir).getAbsolutePath(), "/"));
-        context.setResources(resource);
-        context.addServletContainerInitializer(new ContextLoaderInitializer(configClass, propertyResolver), Set.of());
-        
-        tomcat.start();
-        logger.atInfo().log("Tomcat started at port {}...", port);
-        
-        return tomcat.getServer();
+    /**
+     * Send requests of warm-up script to server over network, so classes of connector are also loaded.
+     */
+    protected void warmUp(int port, Path script) throws IOException {
+        int failures = 0;
+        List<WarmUp.Request> requests = WarmUp.load(script);
+        for (WarmUp.Request request : requests) {
+            HttpURLConnection conn = (HttpURLConnection) new URL("http://localhost:" + port + request.path()).openConnection();
+            try {
+                conn.setRequestMethod(request.method());
+                conn.setInstanceFollowRedirects(false);
+                if (request.body() != null) {
+                    conn.setDoOutput(true);
+                    conn.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+                    try (OutputStream output = conn.getOutputStream()) {
+                        output.write(request.body().getBytes(StandardCharsets.UTF_8));
+                    }
+                }
+                int status = conn.getResponseCode();
+                try (InputStream input = status >= 400 ? conn.getErrorStream() : conn.getInputStream()) {
+                    if (input != null) {
+                        input.readAllBytes();
+                    }
+                }
+                if (status >= 500) {
+                    failures++;
+                    logger.warn("Warm-up request failed with status {}: {} {}", status, request.method(), request.path());
+                }
+            } catch (IOException e) {
+                failures++;
+                logger.warn("Warm-up request failed: {} {}", request.method(), request.path(), e);
+            } finally {
+                conn.disconnect();
+            }
+        }
+        logger.info("Warm-up sent {} requests with {} failures.", requests.size(), failures);
     }
     
+    protected WebServer createWebServer(String webDir, String baseDir, Class<?> configClass, PropertyResolver propertyResolver) {
+        String engine = propertyResolver.getProperty("${server.engine:tomcat}");
+        return switch (engine) {
+            case "tomcat" -> new TomcatWebServer(webDir, baseDir, configClass, propertyResolver);
+            case "nio" -> new NioWebServer(webDir, baseDir, configClass, propertyResolver);
+            default -> throw new IllegalArgumentException("Unsupported server engine: " + engine);
+        };
+    }
+    
+    protected void reportStartup(PropertyResolver propertyResolver) throws IOException {
+        if (ApplicationContextUtils.getApplicationContext() instanceof ConfigurableApplicationContext ctx && ctx.getStartupProfiler().isEnabled()) {
+            StartupProfiler profiler = ctx.getStartupProfiler();
+            logger.info(profiler.report(10));
+            String dir = propertyResolver.getProperty("${winter.context.profile-dir:}");
+            if (!dir.isEmpty()) {
+                profiler.export(Paths.get(dir));
+                logger.info("Startup profile exported to {}", Paths.get(dir).toAbsolutePath());
+            }
+        }
+    }
+
     protected void printBanner() {
         String banner = ClassPathUtils.readString("/banner.txt");
         banner.lines().forEach(System.out::println);
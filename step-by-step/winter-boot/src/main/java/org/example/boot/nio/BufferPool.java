@@ -0,0 +1,44 @@
+package org.example.boot.nio;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of fixed-size direct buffers used as connection read buffers.
+ */
+class BufferPool {
+
+    final int bufferSize;
+    final int maxPooled;
+
+    final ConcurrentLinkedQueue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+    final AtomicInteger pooled = new AtomicInteger();
+
+    BufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+    }
+
+    ByteBuffer acquire() {
+        ByteBuffer buffer = this.buffers.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(this.bufferSize);
+        }
+        this.pooled.decrementAndGet();
+        return buffer;
+    }
+
+    void release(ByteBuffer buffer) {
+        if (buffer == null) {
+            return;
+        }
+        if (this.pooled.incrementAndGet() > this.maxPooled) {
+            // let GC free the buffer:
+            this.pooled.decrementAndGet();
+            return;
+        }
+        buffer.clear();
+        this.buffers.offer(buffer);
+    }
+}
@@ -0,0 +1,185 @@
+package org.example.boot.nio;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * State of one keep-alive connection. Requests are parsed from a pooled direct buffer and processed one at a time,
+ * so pipelined requests are answered in order.
+ */
+class HttpConnection {
+
+    final SocketChannel channel;
+    final InetSocketAddress localAddress;
+    final InetSocketAddress remoteAddress;
+    final int maxRequestSize;
+
+    SelectionKey key;
+
+    /**
+     * Read buffer in write mode: bytes [0, position) are received but not yet parsed.
+     */
+    ByteBuffer in;
+    int scanFrom = 0;
+
+    // request being parsed:
+    String method;
+    String target;
+    String protocol;
+    Map<String, List<String>> headers;
+    byte[] body;
+    int bodyFilled;
+    boolean expectContinue;
+
+    // response being written:
+    ByteBuffer[] out;
+    boolean closeAfterWrite;
+
+    boolean processing = false;
+    long lastActive = System.currentTimeMillis();
+
+    HttpConnection(SocketChannel channel, ByteBuffer in, int maxRequestSize) throws java.io.IOException {
+        this.channel = channel;
+        this.in = in;
+        this.maxRequestSize = maxRequestSize;
+        this.localAddress = (InetSocketAddress) channel.getLocalAddress();
+        this.remoteAddress = (InetSocketAddress) channel.getRemoteAddress();
+    }
+
+    /**
+     * Try parse a complete request from received bytes.
+     *
+     * @return parsed request, or null if more bytes required.
+     */
+    NioHttpServletRequest parse(NioServletContext servletContext) throws HttpParseException {
+        if (this.method == null) {
+            int end = findHeaderEnd();
+            if (end < 0) {
+                if (!this.in.hasRemaining()) {
+                    throw new HttpParseException(431, "Request header too large.");
+                }
+                return null;
+            }
+            byte[] head = new byte[end];
+            this.in.get(0, head);
+            consume(end);
+            parseHead(new String(head, StandardCharsets.ISO_8859_1));
+        }
+        if (this.bodyFilled < this.body.length) {
+            int n = Math.min(this.body.length - this.bodyFilled, this.in.position());
+            this.in.get(0, this.body, this.bodyFilled, n);
+            this.bodyFilled += n;
+            consume(n);
+            if (this.bodyFilled < this.body.length) {
+                return null;
+            }
+        }
+        NioHttpServletRequest request = new NioHttpServletRequest(servletContext, this.method, this.target, this.protocol, this.headers, this.body,
+                this.localAddress, this.remoteAddress);
+        this.method = null;
+        this.target = null;
+        this.protocol = null;
+        this.headers = null;
+        this.body = null;
+        this.bodyFilled = 0;
+        this.expectContinue = false;
+        return request;
+    }
+
+    void parseHead(String head) throws HttpParseException {
+        String[] lines = head.split("\r\n");
+        String[] requestLine = lines[0].split(" ");
+        if (requestLine.length != 3 || !requestLine[2].startsWith("HTTP/1.") || !(requestLine[1].startsWith("/") || requestLine[1].equals("*"))) {
+            throw new HttpParseException(400, "Bad request line.");
+        }
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (int i = 1; i < lines.length; i++) {
+            String line = lines[i];
+            if (line.isEmpty()) {
+                continue;
+            }
+            int n = line.indexOf(':');
+            if (n <= 0) {
+                throw new HttpParseException(400, "Bad header.");
+            }
+            headers.computeIfAbsent(line.substring(0, n).strip().toLowerCase(), key -> new ArrayList<>(1)).add(line.substring(n + 1).strip());
+        }
+        if (headers.containsKey("transfer-encoding")) {
+            throw new HttpParseException(501, "Transfer-Encoding is not supported.");
+        }
+        int length = 0;
+        List<String> contentLength = headers.get("content-length");
+        if (contentLength != null) {
+            // duplicate Content-Length makes framing ambiguous:
+            if (contentLength.size() > 1 || contentLength.get(0).indexOf(',') >= 0) {
+                throw new HttpParseException(400, "Duplicate Content-Length.");
+            }
+            try {
+                length = Integer.parseInt(contentLength.get(0));
+            } catch (NumberFormatException e) {
+                throw new HttpParseException(400, "Bad Content-Length.");
+            }
+            if (length < 0) {
+                throw new HttpParseException(400, "Bad Content-Length.");
+            }
+            if (length > this.maxRequestSize) {
+                throw new HttpParseException(413, "Request body too large.");
+            }
+        }
+        this.method = requestLine[0];
+        this.target = requestLine[1];
+        this.protocol = requestLine[2];
+        this.headers = headers;
+        this.body = new byte[length];
+        this.bodyFilled = 0;
+        List<String> expect = headers.get("expect");
+        this.expectContinue = length > this.in.position() && expect != null && expect.get(0).equalsIgnoreCase("100-continue");
+    }
+
+    boolean isKeepAlive(NioHttpServletRequest request) {
+        String connection = request.getHeader("Connection");
+        if (request.getProtocol().equals("HTTP/1.0")) {
+            return connection != null && connection.equalsIgnoreCase("keep-alive");
+        }
+        return connection == null || !connection.equalsIgnoreCase("close");
+    }
+
+    int findHeaderEnd() {
+        int limit = this.in.position();
+        for (int i = this.scanFrom; i + 3 < limit; i++) {
+            if (this.in.get(i) == '\r' && this.in.get(i + 1) == '\n' && this.in.get(i + 2) == '\r' && this.in.get(i + 3) == '\n') {
+                return i + 4;
+            }
+        }
+        this.scanFrom = Math.max(0, limit - 3);
+        return -1;
+    }
+
+    void consume(int n) {
+        this.in.flip();
+        this.in.position(n);
+        this.in.compact();
+        this.scanFrom = 0;
+    }
+
+    boolean hasBufferedBytes() {
+        return this.in.position() > 0;
+    }
+}
+
+class HttpParseException extends Exception {
+
+    final int status;
+
+    HttpParseException(int status, String message) {
+        super(message, null, false, false);
+        this.status = status;
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.boot.nio;
+
+import jakarta.servlet.*;
+
+import java.io.IOException;
+import java.util.List;
+
+class NioFilterChain implements FilterChain {
+
+    final List<Filter> filters;
+    final Servlet servlet;
+    int index = 0;
+
+    NioFilterChain(List<Filter> filters, Servlet servlet) {
+        this.filters = filters;
+        this.servlet = servlet;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+        if (this.index < this.filters.size()) {
+            Filter filter = this.filters.get(this.index++);
+            filter.doFilter(request, response, this);
+        } else {
+            this.servlet.service(request, response);
+        }
+    }
+}
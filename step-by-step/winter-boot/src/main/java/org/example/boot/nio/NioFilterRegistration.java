@@ -0,0 +1,59 @@
+package org.example.boot.nio;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterConfig;
+import jakarta.servlet.FilterRegistration;
+
+import java.util.*;
+
+class NioFilterRegistration extends NioRegistration implements FilterRegistration.Dynamic, FilterConfig {
+
+    final Filter filter;
+    final List<String> urlPatterns = new ArrayList<>();
+
+    NioFilterRegistration(NioServletContext servletContext, String name, Filter filter) {
+        super(servletContext, name);
+        this.filter = filter;
+    }
+
+    boolean matches(String path) {
+        for (String urlPattern : this.urlPatterns) {
+            if (NioServletContext.matches(urlPattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String getClassName() {
+        return this.filter.getClass().getName();
+    }
+
+    @Override
+    public void addMappingForServletNames(EnumSet<DispatcherType> dispatcherTypes, boolean isMatchAfter, String... servletNames) {
+        throw new UnsupportedOperationException("Filter mapping by servlet name is not supported.");
+    }
+
+    @Override
+    public Collection<String> getServletNameMappings() {
+        return List.of();
+    }
+
+    @Override
+    public void addMappingForUrlPatterns(EnumSet<DispatcherType> dispatcherTypes, boolean isMatchAfter, String... urlPatterns) {
+        // only REQUEST dispatch exists:
+        this.urlPatterns.addAll(Arrays.asList(urlPatterns));
+    }
+
+    @Override
+    public Collection<String> getUrlPatternMappings() {
+        return Collections.unmodifiableList(this.urlPatterns);
+    }
+
+    @Override
+    public String getFilterName() {
+        return this.name;
+    }
+}
@@ -0,0 +1,557 @@
+package org.example.boot.nio;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.*;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * HttpServletRequest backed by a fully received HTTP/1.1 request. Async and multipart are not supported, and HttpSession
+ * is kept in memory and tracked by cookie only.
+ */
+public class NioHttpServletRequest implements HttpServletRequest {
+
+    static final String SESSION_COOKIE = "JSESSIONID";
+
+    final NioServletContext servletContext;
+    final String method;
+    final String requestURI;
+    final String queryString;
+    final String protocol;
+    final Map<String, List<String>> headers;
+    final byte[] body;
+    final InetSocketAddress localAddress;
+    final InetSocketAddress remoteAddress;
+
+    final Map<String, Object> attributes = new HashMap<>();
+
+    String characterEncoding;
+    Map<String, String[]> parameters;
+    Cookie[] cookies;
+    boolean bodyUsed = false;
+
+    // set before servlet is invoked, so a new session can set its cookie:
+    NioHttpServletResponse response;
+    NioHttpSession session;
+
+    /**
+     * @param headers header map with lower-case names.
+     */
+    public NioHttpServletRequest(NioServletContext servletContext, String method, String target, String protocol, Map<String, List<String>> headers, byte[] body,
+            InetSocketAddress localAddress, InetSocketAddress remoteAddress) {
+        this.servletContext = servletContext;
+        this.method = method;
+        int n = target.indexOf('?');
+        this.requestURI = n < 0 ? target : target.substring(0, n);
+        this.queryString = n < 0 ? null : target.substring(n + 1);
+        this.protocol = protocol;
+        this.headers = headers;
+        this.body = body;
+        this.localAddress = localAddress;
+        this.remoteAddress = remoteAddress;
+        this.characterEncoding = parseCharset(getContentType());
+    }
+
+    Map<String, String[]> parameters() {
+        if (this.parameters == null) {
+            Map<String, List<String>> map = new LinkedHashMap<>();
+            Charset charset = Charset.forName(getCharacterEncoding());
+            parseParameters(this.queryString, charset, map);
+            String contentType = getContentType();
+            if (contentType != null && contentType.startsWith("application/x-www-form-urlencoded") && !this.bodyUsed) {
+                parseParameters(new String(this.body, charset), charset, map);
+            }
+            Map<String, String[]> params = new LinkedHashMap<>();
+            map.forEach((key, values) -> params.put(key, values.toArray(String[]::new)));
+            this.parameters = Collections.unmodifiableMap(params);
+        }
+        return this.parameters;
+    }
+
+    static void parseParameters(String s, Charset charset, Map<String, List<String>> map) {
+        if (s == null || s.isEmpty()) {
+            return;
+        }
+        for (String pair : s.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int n = pair.indexOf('=');
+            String name = URLDecoder.decode(n < 0 ? pair : pair.substring(0, n), charset);
+            String value = n < 0 ? "" : URLDecoder.decode(pair.substring(n + 1), charset);
+            map.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+        }
+    }
+
+    static String parseCharset(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        for (String part : contentType.split(";")) {
+            part = part.strip();
+            if (part.regionMatches(true, 0, "charset=", 0, 8)) {
+                return part.substring(8).replace("\"", "");
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return this.attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(this.attributes.keySet());
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        if (this.characterEncoding != null) {
+            return this.characterEncoding;
+        }
+        String encoding = this.servletContext.getRequestCharacterEncoding();
+        return encoding == null ? StandardCharsets.ISO_8859_1.name() : encoding;
+    }
+
+    @Override
+    public void setCharacterEncoding(String env) throws UnsupportedEncodingException {
+        if (!Charset.isSupported(env)) {
+            throw new UnsupportedEncodingException(env);
+        }
+        this.characterEncoding = env;
+    }
+
+    @Override
+    public int getContentLength() {
+        return this.body.length;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return this.body.length;
+    }
+
+    @Override
+    public String getContentType() {
+        return getHeader("Content-Type");
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        this.bodyUsed = true;
+        ByteArrayInputStream input = new ByteArrayInputStream(this.body);
+        return new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return input.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new UnsupportedOperationException("Async IO is not supported.");
+            }
+
+            @Override
+            public int read() {
+                return input.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return input.read(b, off, len);
+            }
+        };
+    }
+
+    @Override
+    public String getParameter(String name) {
+        String[] values = parameters().get(name);
+        return values == null ? null : values[0];
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(parameters().keySet());
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        return parameters().get(name);
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        return parameters();
+    }
+
+    @Override
+    public String getProtocol() {
+        return this.protocol;
+    }
+
+    @Override
+    public String getScheme() {
+        return "http";
+    }
+
+    @Override
+    public String getServerName() {
+        String host = getHeader("Host");
+        if (host == null) {
+            return this.localAddress.getHostString();
+        }
+        int n = host.lastIndexOf(':');
+        return n > 0 && host.indexOf(']', n) < 0 ? host.substring(0, n) : host;
+    }
+
+    @Override
+    public int getServerPort() {
+        return this.localAddress.getPort();
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        return new BufferedReader(new InputStreamReader(getInputStream(), getCharacterEncoding()));
+    }
+
+    @Override
+    public String getRemoteAddr() {
+        return this.remoteAddress.getAddress().getHostAddress();
+    }
+
+    @Override
+    public String getRemoteHost() {
+        return getRemoteAddr();
+    }
+
+    @Override
+    public void setAttribute(String name, Object o) {
+        if (o == null) {
+            this.attributes.remove(name);
+        } else {
+            this.attributes.put(name, o);
+        }
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        this.attributes.remove(name);
+    }
+
+    @Override
+    public Locale getLocale() {
+        return Locale.getDefault();
+    }
+
+    @Override
+    public Enumeration<Locale> getLocales() {
+        return Collections.enumeration(List.of(getLocale()));
+    }
+
+    @Override
+    public boolean isSecure() {
+        return false;
+    }
+
+    @Override
+    public RequestDispatcher getRequestDispatcher(String path) {
+        return null;
+    }
+
+    @Override
+    public int getRemotePort() {
+        return this.remoteAddress.getPort();
+    }
+
+    @Override
+    public String getLocalName() {
+        return this.localAddress.getHostName();
+    }
+
+    @Override
+    public String getLocalAddr() {
+        return this.localAddress.getAddress().getHostAddress();
+    }
+
+    @Override
+    public int getLocalPort() {
+        return this.localAddress.getPort();
+    }
+
+    @Override
+    public ServletContext getServletContext() {
+        return this.servletContext;
+    }
+
+    @Override
+    public AsyncContext startAsync() throws IllegalStateException {
+        throw new IllegalStateException("Async is not supported.");
+    }
+
+    @Override
+    public AsyncContext startAsync(ServletRequest servletRequest, ServletResponse servletResponse) throws IllegalStateException {
+        throw new IllegalStateException("Async is not supported.");
+    }
+
+    @Override
+    public boolean isAsyncStarted() {
+        return false;
+    }
+
+    @Override
+    public boolean isAsyncSupported() {
+        return false;
+    }
+
+    @Override
+    public AsyncContext getAsyncContext() {
+        throw new IllegalStateException("Async is not supported.");
+    }
+
+    @Override
+    public DispatcherType getDispatcherType() {
+        return DispatcherType.REQUEST;
+    }
+
+    @Override
+    public String getRequestId() {
+        return Integer.toHexString(System.identityHashCode(this));
+    }
+
+    @Override
+    public String getProtocolRequestId() {
+        return "";
+    }
+
+    @Override
+    public ServletConnection getServletConnection() {
+        return null;
+    }
+
+    @Override
+    public String getAuthType() {
+        return null;
+    }
+
+    @Override
+    public Cookie[] getCookies() {
+        if (this.cookies == null) {
+            List<Cookie> list = new ArrayList<>();
+            for (String header : this.headers.getOrDefault("cookie", List.of())) {
+                for (String pair : header.split(";")) {
+                    int n = pair.indexOf('=');
+                    if (n > 0) {
+                        list.add(new Cookie(pair.substring(0, n).strip(), pair.substring(n + 1).strip()));
+                    }
+                }
+            }
+            this.cookies = list.toArray(Cookie[]::new);
+        }
+        return this.cookies.length == 0 ? null : this.cookies;
+    }
+
+    @Override
+    public long getDateHeader(String name) {
+        String value = getHeader(name);
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid date header: " + name);
+        }
+    }
+
+    @Override
+    public String getHeader(String name) {
+        List<String> values = this.headers.get(name.toLowerCase());
+        return values == null ? null : values.get(0);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        return Collections.enumeration(this.headers.getOrDefault(name.toLowerCase(), List.of()));
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        return Collections.enumeration(this.headers.keySet());
+    }
+
+    @Override
+    public int getIntHeader(String name) {
+        String value = getHeader(name);
+        return value == null ? -1 : Integer.parseInt(value);
+    }
+
+    @Override
+    public String getMethod() {
+        return this.method;
+    }
+
+    @Override
+    public String getPathInfo() {
+        return null;
+    }
+
+    @Override
+    public String getPathTranslated() {
+        return null;
+    }
+
+    @Override
+    public String getContextPath() {
+        return "";
+    }
+
+    @Override
+    public String getQueryString() {
+        return this.queryString;
+    }
+
+    @Override
+    public String getRemoteUser() {
+        return null;
+    }
+
+    @Override
+    public boolean isUserInRole(String role) {
+        return false;
+    }
+
+    @Override
+    public Principal getUserPrincipal() {
+        return null;
+    }
+
+    @Override
+    public String getRequestedSessionId() {
+        Cookie[] cookies = getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (SESSION_COOKIE.equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String getRequestURI() {
+        return this.requestURI;
+    }
+
+    @Override
+    public StringBuffer getRequestURL() {
+        StringBuffer sb = new StringBuffer(64);
+        sb.append(getScheme()).append("://").append(getServerName()).append(':').append(getServerPort()).append(this.requestURI);
+        return sb;
+    }
+
+    @Override
+    public String getServletPath() {
+        return this.requestURI;
+    }
+
+    @Override
+    public HttpSession getSession(boolean create) {
+        if (this.session != null && this.session.valid) {
+            return this.session;
+        }
+        String id = getRequestedSessionId();
+        this.session = id == null ? null : this.servletContext.findSession(id);
+        if (this.session == null && create) {
+            this.session = this.servletContext.createSession();
+            setSessionCookie(this.session.id);
+        }
+        return this.session;
+    }
+
+    @Override
+    public HttpSession getSession() {
+        return getSession(true);
+    }
+
+    @Override
+    public String changeSessionId() {
+        NioHttpSession session = (NioHttpSession) getSession(false);
+        if (session == null) {
+            throw new IllegalStateException("No session.");
+        }
+        String id = this.servletContext.changeSessionId(session);
+        setSessionCookie(id);
+        return id;
+    }
+
+    void setSessionCookie(String id) {
+        if (this.response == null) {
+            throw new IllegalStateException("Cannot create session without response.");
+        }
+        Cookie cookie = new Cookie(SESSION_COOKIE, id);
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        this.response.addCookie(cookie);
+    }
+
+    @Override
+    public boolean isRequestedSessionIdValid() {
+        String id = getRequestedSessionId();
+        return id != null && this.servletContext.findSession(id) != null;
+    }
+
+    @Override
+    public boolean isRequestedSessionIdFromCookie() {
+        return getRequestedSessionId() != null;
+    }
+
+    @Override
+    public boolean isRequestedSessionIdFromURL() {
+        return false;
+    }
+
+    @Override
+    public boolean authenticate(HttpServletResponse response) {
+        return false;
+    }
+
+    @Override
+    public void login(String username, String password) throws ServletException {
+        throw new ServletException("Login is not supported.");
+    }
+
+    @Override
+    public void logout() {
+    }
+
+    @Override
+    public Collection<Part> getParts() throws ServletException {
+        throw new ServletException("Multipart is not supported.");
+    }
+
+    @Override
+    public Part getPart(String name) throws ServletException {
+        throw new ServletException("Multipart is not supported.");
+    }
+
+    @Override
+    public <T extends HttpUpgradeHandler> T upgrade(Class<T> handlerClass) throws ServletException {
+        throw new ServletException("Upgrade is not supported.");
+    }
+}
@@ -0,0 +1,401 @@
+package org.example.boot.nio;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * HttpServletResponse which buffers the whole body, so Content-Length is always known and chunked encoding is never used.
+ */
+public class NioHttpServletResponse implements HttpServletResponse {
+
+    final NioServletContext servletContext;
+
+    final Map<String, List<String>> headers = new LinkedHashMap<>();
+    final ByteArrayOutputStream buffer;
+
+    int status = SC_OK;
+    String contentType;
+    String characterEncoding;
+    boolean characterEncodingSet = false;
+    Locale locale = Locale.getDefault();
+
+    ServletOutputStream outputStream;
+    PrintWriter writer;
+
+    public NioHttpServletResponse(NioServletContext servletContext, int initialBufferSize) {
+        this.servletContext = servletContext;
+        this.buffer = new ByteArrayOutputStream(initialBufferSize);
+        this.characterEncoding = servletContext.getResponseCharacterEncoding();
+    }
+
+    /**
+     * Encode status line, headers and body.
+     */
+    public ByteBuffer[] toByteBuffers(boolean http10, boolean keepAlive, boolean withBody) {
+        if (this.writer != null) {
+            this.writer.flush();
+        }
+        StringBuilder sb = new StringBuilder(256);
+        sb.append("HTTP/1.1 ").append(this.status).append(' ').append(reasonPhrase(this.status)).append("\r\n");
+        sb.append("Date: ").append(DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.now().atOffset(ZoneOffset.UTC))).append("\r\n");
+        String contentType = getContentType();
+        if (contentType != null) {
+            sb.append("Content-Type: ").append(contentType).append("\r\n");
+        }
+        sb.append("Content-Length: ").append(this.buffer.size()).append("\r\n");
+        if (!keepAlive) {
+            sb.append("Connection: close\r\n");
+        } else if (http10) {
+            sb.append("Connection: keep-alive\r\n");
+        }
+        this.headers.forEach((name, values) -> {
+            for (String value : values) {
+                sb.append(name).append(": ").append(value).append("\r\n");
+            }
+        });
+        sb.append("\r\n");
+        ByteBuffer head = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.ISO_8859_1));
+        if (!withBody || this.buffer.size() == 0) {
+            return new ByteBuffer[] { head };
+        }
+        return new ByteBuffer[] { head, ByteBuffer.wrap(this.buffer.toByteArray()) };
+    }
+
+    static String reasonPhrase(int status) {
+        return switch (status) {
+            case 100 -> "Continue";
+            case 200 -> "OK";
+            case 201 -> "Created";
+            case 202 -> "Accepted";
+            case 204 -> "No Content";
+            case 206 -> "Partial Content";
+            case 301 -> "Moved Permanently";
+            case 302 -> "Found";
+            case 303 -> "See Other";
+            case 304 -> "Not Modified";
+            case 307 -> "Temporary Redirect";
+            case 308 -> "Permanent Redirect";
+            case 400 -> "Bad Request";
+            case 401 -> "Unauthorized";
+            case 403 -> "Forbidden";
+            case 404 -> "Not Found";
+            case 405 -> "Method Not Allowed";
+            case 408 -> "Request Timeout";
+            case 411 -> "Length Required";
+            case 413 -> "Content Too Large";
+            case 415 -> "Unsupported Media Type";
+            case 431 -> "Request Header Fields Too Large";
+            case 500 -> "Internal Server Error";
+            case 501 -> "Not Implemented";
+            case 503 -> "Service Unavailable";
+            default -> "Unknown";
+        };
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return this.characterEncoding == null ? StandardCharsets.ISO_8859_1.name() : this.characterEncoding;
+    }
+
+    @Override
+    public String getContentType() {
+        if (this.contentType == null) {
+            return null;
+        }
+        if (this.characterEncodingSet || (this.writer != null && this.contentType.startsWith("text/"))) {
+            return this.contentType + ";charset=" + getCharacterEncoding();
+        }
+        return this.contentType;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (this.writer != null) {
+            throw new IllegalStateException("getWriter() has already been called.");
+        }
+        if (this.outputStream == null) {
+            this.outputStream = new ServletOutputStream() {
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                    throw new UnsupportedOperationException("Async IO is not supported.");
+                }
+
+                @Override
+                public void write(int b) {
+                    buffer.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    buffer.write(b, off, len);
+                }
+            };
+        }
+        return this.outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+        if (this.outputStream != null) {
+            throw new IllegalStateException("getOutputStream() has already been called.");
+        }
+        if (this.writer == null) {
+            this.writer = new PrintWriter(new OutputStreamWriter(this.buffer, Charset.forName(getCharacterEncoding())));
+        }
+        return this.writer;
+    }
+
+    @Override
+    public void setCharacterEncoding(String charset) {
+        if (this.writer == null && charset != null) {
+            this.characterEncoding = charset;
+            this.characterEncodingSet = true;
+        }
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        // always computed from buffered body.
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        // always computed from buffered body.
+    }
+
+    @Override
+    public void setContentType(String type) {
+        if (type == null) {
+            this.contentType = null;
+            return;
+        }
+        String charset = NioHttpServletRequest.parseCharset(type);
+        int n = type.indexOf(';');
+        this.contentType = n < 0 ? type.strip() : type.substring(0, n).strip();
+        if (charset != null) {
+            setCharacterEncoding(charset);
+        }
+    }
+
+    @Override
+    public void setBufferSize(int size) {
+        // body is always fully buffered.
+    }
+
+    @Override
+    public int getBufferSize() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void flushBuffer() {
+        // response is sent after servlet returned.
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (this.writer != null) {
+            this.writer.flush();
+        }
+        this.buffer.reset();
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return false;
+    }
+
+    @Override
+    public void reset() {
+        resetBuffer();
+        this.headers.clear();
+        this.status = SC_OK;
+        this.contentType = null;
+        this.outputStream = null;
+        this.writer = null;
+    }
+
+    @Override
+    public void setLocale(Locale loc) {
+        this.locale = loc;
+    }
+
+    @Override
+    public Locale getLocale() {
+        return this.locale;
+    }
+
+    @Override
+    public void addCookie(Cookie cookie) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(cookie.getName()).append('=').append(cookie.getValue() == null ? "" : cookie.getValue());
+        if (cookie.getPath() != null) {
+            sb.append("; Path=").append(cookie.getPath());
+        }
+        if (cookie.getDomain() != null) {
+            sb.append("; Domain=").append(cookie.getDomain());
+        }
+        if (cookie.getMaxAge() >= 0) {
+            sb.append("; Max-Age=").append(cookie.getMaxAge());
+        }
+        if (cookie.getSecure()) {
+            sb.append("; Secure");
+        }
+        if (cookie.isHttpOnly()) {
+            sb.append("; HttpOnly");
+        }
+        addHeader("Set-Cookie", sb.toString());
+    }
+
+    @Override
+    public boolean containsHeader(String name) {
+        return findHeader(name) != null;
+    }
+
+    @Override
+    public String encodeURL(String url) {
+        return url;
+    }
+
+    @Override
+    public String encodeRedirectURL(String url) {
+        return url;
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        reset();
+        this.status = sc;
+        this.contentType = "text/html";
+        this.characterEncoding = StandardCharsets.UTF_8.name();
+        this.characterEncodingSet = true;
+        String message = msg == null ? reasonPhrase(sc) : msg;
+        this.buffer.write(("<!DOCTYPE html><html><body><h1>" + sc + " " + escapeHtml(message) + "</h1></body></html>").getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        sendError(sc, null);
+    }
+
+    static String escapeHtml(String s) {
+        return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    @Override
+    public void sendRedirect(String location) {
+        resetBuffer();
+        this.status = SC_FOUND;
+        setHeader("Location", location);
+    }
+
+    @Override
+    public void setDateHeader(String name, long date) {
+        setHeader(name, DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(date).atOffset(ZoneOffset.UTC)));
+    }
+
+    @Override
+    public void addDateHeader(String name, long date) {
+        addHeader(name, DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(date).atOffset(ZoneOffset.UTC)));
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (handleSpecialHeader(name, value)) {
+            return;
+        }
+        String existing = findHeader(name);
+        if (existing != null) {
+            this.headers.remove(existing);
+        }
+        if (value != null) {
+            this.headers.put(name, new ArrayList<>(List.of(value)));
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (handleSpecialHeader(name, value) || value == null) {
+            return;
+        }
+        String existing = findHeader(name);
+        this.headers.computeIfAbsent(existing == null ? name : existing, key -> new ArrayList<>()).add(value);
+    }
+
+    boolean handleSpecialHeader(String name, String value) {
+        if (name.equalsIgnoreCase("Content-Type")) {
+            setContentType(value);
+            return true;
+        }
+        // computed when response is sent:
+        return name.equalsIgnoreCase("Content-Length") || name.equalsIgnoreCase("Connection") || name.equalsIgnoreCase("Transfer-Encoding");
+    }
+
+    String findHeader(String name) {
+        for (String key : this.headers.keySet()) {
+            if (key.equalsIgnoreCase(name)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        setHeader(name, Integer.toString(value));
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        addHeader(name, Integer.toString(value));
+    }
+
+    @Override
+    public void setStatus(int sc) {
+        this.status = sc;
+    }
+
+    @Override
+    public int getStatus() {
+        return this.status;
+    }
+
+    @Override
+    public String getHeader(String name) {
+        if (name.equalsIgnoreCase("Content-Type")) {
+            return getContentType();
+        }
+        String key = findHeader(name);
+        return key == null ? null : this.headers.get(key).get(0);
+    }
+
+    @Override
+    public Collection<String> getHeaders(String name) {
+        String key = findHeader(name);
+        return key == null ? List.of() : List.copyOf(this.headers.get(key));
+    }
+
+    @Override
+    public Collection<String> getHeaderNames() {
+        return List.copyOf(this.headers.keySet());
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.boot.nio;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpSession;
+
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory HttpSession tracked by cookie. Sessions are neither persisted nor shared between servers.
+ */
+class NioHttpSession implements HttpSession {
+
+    final NioServletContext servletContext;
+    final long creationTime = System.currentTimeMillis();
+    final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
+    volatile String id;
+    volatile long lastAccessedTime = this.creationTime;
+    volatile int maxInactiveInterval;
+    volatile boolean isNew = true;
+    volatile boolean valid = true;
+
+    NioHttpSession(NioServletContext servletContext, String id, int maxInactiveInterval) {
+        this.servletContext = servletContext;
+        this.id = id;
+        this.maxInactiveInterval = maxInactiveInterval;
+    }
+
+    boolean isExpired(long now) {
+        return !this.valid || (this.maxInactiveInterval > 0 && now - this.lastAccessedTime > this.maxInactiveInterval * 1000L);
+    }
+
+    void access(long now) {
+        this.lastAccessedTime = now;
+        this.isNew = false;
+    }
+
+    void checkValid() {
+        if (!this.valid) {
+            throw new IllegalStateException("Session is invalidated.");
+        }
+    }
+
+    @Override
+    public long getCreationTime() {
+        checkValid();
+        return this.creationTime;
+    }
+
+    @Override
+    public String getId() {
+        return this.id;
+    }
+
+    @Override
+    public long getLastAccessedTime() {
+        checkValid();
+        return this.lastAccessedTime;
+    }
+
+    @Override
+    public ServletContext getServletContext() {
+        return this.servletContext;
+    }
+
+    @Override
+    public void setMaxInactiveInterval(int interval) {
+        this.maxInactiveInterval = interval;
+    }
+
+    @Override
+    public int getMaxInactiveInterval() {
+        return this.maxInactiveInterval;
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        checkValid();
+        return this.attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        checkValid();
+        return Collections.enumeration(this.attributes.keySet());
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        checkValid();
+        if (value == null) {
+            this.attributes.remove(name);
+        } else {
+            this.attributes.put(name, value);
+        }
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        checkValid();
+        this.attributes.remove(name);
+    }
+
+    @Override
+    public void invalidate() {
+        checkValid();
+        this.valid = false;
+        this.servletContext.removeSession(this);
+        this.attributes.clear();
+    }
+
+    @Override
+    public boolean isNew() {
+        checkValid();
+        return this.isNew;
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.boot.nio;
+
+import jakarta.servlet.Registration;
+import jakarta.servlet.ServletContext;
+
+import java.util.*;
+
+abstract class NioRegistration implements Registration.Dynamic {
+
+    final NioServletContext servletContext;
+    final String name;
+    final Map<String, String> initParameters = new LinkedHashMap<>();
+
+    NioRegistration(NioServletContext servletContext, String name) {
+        this.servletContext = servletContext;
+        this.name = name;
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public boolean setInitParameter(String name, String value) {
+        return this.initParameters.putIfAbsent(name, value) == null;
+    }
+
+    @Override
+    public String getInitParameter(String name) {
+        return this.initParameters.get(name);
+    }
+
+    @Override
+    public Set<String> setInitParameters(Map<String, String> initParameters) {
+        Set<String> conflicts = new HashSet<>();
+        initParameters.forEach((name, value) -> {
+            if (!setInitParameter(name, value)) {
+                conflicts.add(name);
+            }
+        });
+        return conflicts;
+    }
+
+    @Override
+    public Map<String, String> getInitParameters() {
+        return Collections.unmodifiableMap(this.initParameters);
+    }
+
+    @Override
+    public void setAsyncSupported(boolean isAsyncSupported) {
+    }
+
+    public ServletContext getServletContext() {
+        return this.servletContext;
+    }
+
+    public Enumeration<String> getInitParameterNames() {
+        return Collections.enumeration(this.initParameters.keySet());
+    }
+}
@@ -0,0 +1,510 @@
+package org.example.boot.nio;
+
+import jakarta.servlet.*;
+import jakarta.servlet.descriptor.JspConfigDescriptor;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.security.SecureRandom;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Minimal ServletContext which only supports what DispatcherServlet and FilterRegistrationBean require:
+ * programmatic servlet and filter registration, attributes, encodings, web resources and in-memory sessions.
+ */
+public class NioServletContext implements ServletContext {
+
+    static final String CLASSES_PATH = "/WEB-INF/classes/";
+
+    final Logger logger = LoggerFactory.getLogger(getClass());
+
+    final File webDir;
+    final File classesDir;
+
+    final Map<String, Object> attributes = new ConcurrentHashMap<>();
+    final Map<String, String> initParameters = new ConcurrentHashMap<>();
+    final Map<String, NioServletRegistration> servletRegistrations = new LinkedHashMap<>();
+    final Map<String, NioFilterRegistration> filterRegistrations = new LinkedHashMap<>();
+
+    String requestCharacterEncoding = "UTF-8";
+    String responseCharacterEncoding = "UTF-8";
+    int sessionTimeout = 30;
+
+    final Map<String, NioHttpSession> sessions = new ConcurrentHashMap<>();
+    final SecureRandom random = new SecureRandom();
+
+    List<NioFilterRegistration> filters = List.of();
+    NioServletRegistration defaultServlet;
+
+    public NioServletContext(String webDir, String baseDir) {
+        this.webDir = new File(webDir).getAbsoluteFile();
+        this.classesDir = new File(baseDir).getAbsoluteFile();
+    }
+
+    /**
+     * Init all registered filters and servlets. Called once after ServletContainerInitializer.
+     */
+    void init() throws ServletException {
+        this.filters = List.copyOf(this.filterRegistrations.values());
+        for (NioFilterRegistration filter : this.filters) {
+            logger.atInfo().log("init filter '{}' for URLs: {}", filter.getName(), filter.getUrlPatternMappings());
+            filter.filter.init(filter);
+        }
+        for (NioServletRegistration servlet : this.servletRegistrations.values()) {
+            logger.atInfo().log("init servlet '{}' for URLs: {}", servlet.getName(), servlet.getMappings());
+            servlet.servlet.init(servlet);
+            if (this.defaultServlet == null || servlet.mappings.contains("/")) {
+                this.defaultServlet = servlet;
+            }
+        }
+        if (this.defaultServlet == null) {
+            throw new ServletException("No servlet registered.");
+        }
+    }
+
+    void destroy() {
+        this.sessions.clear();
+        for (NioServletRegistration servlet : this.servletRegistrations.values()) {
+            servlet.servlet.destroy();
+        }
+        for (NioFilterRegistration filter : this.filters) {
+            filter.filter.destroy();
+        }
+    }
+
+    /**
+     * Find valid session and update its last accessed time.
+     */
+    NioHttpSession findSession(String id) {
+        NioHttpSession session = this.sessions.get(id);
+        if (session == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (session.isExpired(now)) {
+            removeSession(session);
+            return null;
+        }
+        session.access(now);
+        return session;
+    }
+
+    NioHttpSession createSession() {
+        NioHttpSession session = new NioHttpSession(this, nextSessionId(), this.sessionTimeout * 60);
+        this.sessions.put(session.id, session);
+        return session;
+    }
+
+    String changeSessionId(NioHttpSession session) {
+        String id = nextSessionId();
+        this.sessions.remove(session.id, session);
+        session.id = id;
+        this.sessions.put(id, session);
+        return id;
+    }
+
+    void removeSession(NioHttpSession session) {
+        session.valid = false;
+        this.sessions.remove(session.id, session);
+    }
+
+    /**
+     * Remove sessions which are not accessed within their max inactive interval.
+     */
+    void expireSessions(long now) {
+        for (NioHttpSession session : this.sessions.values()) {
+            if (session.isExpired(now)) {
+                removeSession(session);
+            }
+        }
+    }
+
+    String nextSessionId() {
+        byte[] bytes = new byte[16];
+        this.random.nextBytes(bytes);
+        return HexFormat.of().withUpperCase().formatHex(bytes);
+    }
+
+    /**
+     * Invoke matched filters then the servlet.
+     */
+    void service(HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
+        String path = request.getRequestURI();
+        NioServletRegistration target = this.defaultServlet;
+        for (NioServletRegistration servlet : this.servletRegistrations.values()) {
+            if (servlet != this.defaultServlet && servlet.matches(path)) {
+                target = servlet;
+                break;
+            }
+        }
+        List<Filter> matched = new ArrayList<>(this.filters.size());
+        for (NioFilterRegistration filter : this.filters) {
+            if (filter.matches(path)) {
+                matched.add(filter.filter);
+            }
+        }
+        new NioFilterChain(matched, target.servlet).doFilter(request, response);
+    }
+
+    /**
+     * Match url pattern defined by Servlet specification: exact, "/prefix/*", "*.ext" and default "/".
+     */
+    static boolean matches(String pattern, String path) {
+        if (pattern.equals("/") || pattern.equals("/*")) {
+            return true;
+        }
+        if (pattern.endsWith("/*")) {
+            String prefix = pattern.substring(0, pattern.length() - 2);
+            return path.equals(prefix) || path.startsWith(prefix + "/");
+        }
+        if (pattern.startsWith("*.")) {
+            return path.endsWith(pattern.substring(1));
+        }
+        return pattern.equals(path);
+    }
+
+    File getFile(String path) {
+        if (path == null || !path.startsWith("/") || path.contains("..")) {
+            return null;
+        }
+        if (path.startsWith(CLASSES_PATH)) {
+            return new File(this.classesDir, path.substring(CLASSES_PATH.length()));
+        }
+        return new File(this.webDir, path.substring(1));
+    }
+
+    @Override
+    public String getContextPath() {
+        return "";
+    }
+
+    @Override
+    public ServletContext getContext(String uripath) {
+        return null;
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return 6;
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public int getEffectiveMajorVersion() {
+        return 6;
+    }
+
+    @Override
+    public int getEffectiveMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public String getMimeType(String file) {
+        int n = file.lastIndexOf('.');
+        String ext = n < 0 ? "" : file.substring(n + 1).toLowerCase();
+        return switch (ext) {
+            case "html", "htm" -> "text/html";
+            case "css" -> "text/css";
+            case "js", "mjs" -> "text/javascript";
+            case "json" -> "application/json";
+            case "png" -> "image/png";
+            case "jpg", "jpeg" -> "image/jpeg";
+            case "gif" -> "image/gif";
+            case "svg" -> "image/svg+xml";
+            case "ico" -> "image/x-icon";
+            case "webp" -> "image/webp";
+            case "woff" -> "font/woff";
+            case "woff2" -> "font/woff2";
+            case "txt" -> "text/plain";
+            default -> URLConnection.guessContentTypeFromName(file);
+        };
+    }
+
+    @Override
+    public Set<String> getResourcePaths(String path) {
+        File dir = getFile(path);
+        if (dir == null || !dir.isDirectory()) {
+            return null;
+        }
+        String base = path.endsWith("/") ? path : path + "/";
+        Set<String> paths = new TreeSet<>();
+        for (File f : Objects.requireNonNull(dir.listFiles())) {
+            paths.add(base + f.getName() + (f.isDirectory() ? "/" : ""));
+        }
+        return paths;
+    }
+
+    @Override
+    public URL getResource(String path) throws MalformedURLException {
+        File file = getFile(path);
+        return file != null && file.exists() ? file.toURI().toURL() : null;
+    }
+
+    @Override
+    public InputStream getResourceAsStream(String path) {
+        File file = getFile(path);
+        if (file == null || !file.isFile()) {
+            return null;
+        }
+        try {
+            return new FileInputStream(file);
+        } catch (FileNotFoundException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public RequestDispatcher getRequestDispatcher(String path) {
+        return null;
+    }
+
+    @Override
+    public RequestDispatcher getNamedDispatcher(String name) {
+        return null;
+    }
+
+    @Override
+    public void log(String msg) {
+        logger.info(msg);
+    }
+
+    @Override
+    public void log(String message, Throwable throwable) {
+        logger.warn(message, throwable);
+    }
+
+    @Override
+    public String getRealPath(String path) {
+        File file = getFile(path);
+        return file == null ? null : file.getAbsolutePath();
+    }
+
+    @Override
+    public String getServerInfo() {
+        return "winter-nio/1.0";
+    }
+
+    @Override
+    public String getInitParameter(String name) {
+        return this.initParameters.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getInitParameterNames() {
+        return Collections.enumeration(this.initParameters.keySet());
+    }
+
+    @Override
+    public boolean setInitParameter(String name, String value) {
+        return this.initParameters.putIfAbsent(name, value) == null;
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return this.attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(this.attributes.keySet());
+    }
+
+    @Override
+    public void setAttribute(String name, Object object) {
+        if (object == null) {
+            this.attributes.remove(name);
+        } else {
+            this.attributes.put(name, object);
+        }
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        this.attributes.remove(name);
+    }
+
+    @Override
+    public String getServletContextName() {
+        return "";
+    }
+
+    @Override
+    public ServletRegistration.Dynamic addServlet(String servletName, String className) {
+        throw new UnsupportedOperationException("Register servlet by class name is not supported.");
+    }
+
+    @Override
+    public ServletRegistration.Dynamic addServlet(String servletName, Servlet servlet) {
+        if (this.servletRegistrations.containsKey(servletName)) {
+            return null;
+        }
+        NioServletRegistration registration = new NioServletRegistration(this, servletName, servlet);
+        this.servletRegistrations.put(servletName, registration);
+        return registration;
+    }
+
+    @Override
+    public ServletRegistration.Dynamic addServlet(String servletName, Class<? extends Servlet> servletClass) {
+        throw new UnsupportedOperationException("Register servlet by class is not supported.");
+    }
+
+    @Override
+    public ServletRegistration.Dynamic addJspFile(String servletName, String jspFile) {
+        throw new UnsupportedOperationException("JSP is not supported.");
+    }
+
+    @Override
+    public <T extends Servlet> T createServlet(Class<T> clazz) {
+        throw new UnsupportedOperationException("Create servlet is not supported.");
+    }
+
+    @Override
+    public ServletRegistration getServletRegistration(String servletName) {
+        return this.servletRegistrations.get(servletName);
+    }
+
+    @Override
+    public Map<String, ? extends ServletRegistration> getServletRegistrations() {
+        return Collections.unmodifiableMap(this.servletRegistrations);
+    }
+
+    @Override
+    public FilterRegistration.Dynamic addFilter(String filterName, String className) {
+        throw new UnsupportedOperationException("Register filter by class name is not supported.");
+    }
+
+    @Override
+    public FilterRegistration.Dynamic addFilter(String filterName, Filter filter) {
+        if (this.filterRegistrations.containsKey(filterName)) {
+            return null;
+        }
+        NioFilterRegistration registration = new NioFilterRegistration(this, filterName, filter);
+        this.filterRegistrations.put(filterName, registration);
+        return registration;
+    }
+
+    @Override
+    public FilterRegistration.Dynamic addFilter(String filterName, Class<? extends Filter> filterClass) {
+        throw new UnsupportedOperationException("Register filter by class is not supported.");
+    }
+
+    @Override
+    public <T extends Filter> T createFilter(Class<T> clazz) {
+        throw new UnsupportedOperationException("Create filter is not supported.");
+    }
+
+    @Override
+    public FilterRegistration getFilterRegistration(String filterName) {
+        return this.filterRegistrations.get(filterName);
+    }
+
+    @Override
+    public Map<String, ? extends FilterRegistration> getFilterRegistrations() {
+        return Collections.unmodifiableMap(this.filterRegistrations);
+    }
+
+    @Override
+    public SessionCookieConfig getSessionCookieConfig() {
+        return null;
+    }
+
+    @Override
+    public void setSessionTrackingModes(Set<SessionTrackingMode> sessionTrackingModes) {
+        throw new UnsupportedOperationException("Only cookie session tracking is supported.");
+    }
+
+    @Override
+    public Set<SessionTrackingMode> getDefaultSessionTrackingModes() {
+        return Set.of(SessionTrackingMode.COOKIE);
+    }
+
+    @Override
+    public Set<SessionTrackingMode> getEffectiveSessionTrackingModes() {
+        return Set.of(SessionTrackingMode.COOKIE);
+    }
+
+    @Override
+    public void addListener(String className) {
+        throw new UnsupportedOperationException("Listener is not supported.");
+    }
+
+    @Override
+    public <T extends EventListener> void addListener(T t) {
+        throw new UnsupportedOperationException("Listener is not supported.");
+    }
+
+    @Override
+    public void addListener(Class<? extends EventListener> listenerClass) {
+        throw new UnsupportedOperationException("Listener is not supported.");
+    }
+
+    @Override
+    public <T extends EventListener> T createListener(Class<T> clazz) {
+        throw new UnsupportedOperationException("Listener is not supported.");
+    }
+
+    @Override
+    public JspConfigDescriptor getJspConfigDescriptor() {
+        return null;
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return Thread.currentThread().getContextClassLoader();
+    }
+
+    @Override
+    public void declareRoles(String... roleNames) {
+    }
+
+    @Override
+    public String getVirtualServerName() {
+        return "localhost";
+    }
+
+    @Override
+    public int getSessionTimeout() {
+        return this.sessionTimeout;
+    }
+
+    @Override
+    public void setSessionTimeout(int sessionTimeout) {
+        this.sessionTimeout = sessionTimeout;
+    }
+
+    @Override
+    public String getRequestCharacterEncoding() {
+        return this.requestCharacterEncoding;
+    }
+
+    @Override
+    public void setRequestCharacterEncoding(String encoding) {
+        this.requestCharacterEncoding = encoding;
+    }
+
+    @Override
+    public String getResponseCharacterEncoding() {
+        return this.responseCharacterEncoding;
+    }
+
+    @Override
+    public void setResponseCharacterEncoding(String encoding) {
+        this.responseCharacterEncoding = encoding;
+    }
+}
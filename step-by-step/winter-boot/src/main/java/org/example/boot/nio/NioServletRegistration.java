@@ -0,0 +1,74 @@
+package org.example.boot.nio;
+
+import jakarta.servlet.MultipartConfigElement;
+import jakarta.servlet.Servlet;
+import jakarta.servlet.ServletConfig;
+import jakarta.servlet.ServletRegistration;
+import jakarta.servlet.ServletSecurityElement;
+
+import java.util.*;
+
+class NioServletRegistration extends NioRegistration implements ServletRegistration.Dynamic, ServletConfig {
+
+    final Servlet servlet;
+    final List<String> mappings = new ArrayList<>();
+
+    NioServletRegistration(NioServletContext servletContext, String name, Servlet servlet) {
+        super(servletContext, name);
+        this.servlet = servlet;
+    }
+
+    boolean matches(String path) {
+        for (String mapping : this.mappings) {
+            if (NioServletContext.matches(mapping, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String getClassName() {
+        return this.servlet.getClass().getName();
+    }
+
+    @Override
+    public Set<String> addMapping(String... urlPatterns) {
+        this.mappings.addAll(Arrays.asList(urlPatterns));
+        return Set.of();
+    }
+
+    @Override
+    public Collection<String> getMappings() {
+        return Collections.unmodifiableList(this.mappings);
+    }
+
+    @Override
+    public String getRunAsRole() {
+        return null;
+    }
+
+    @Override
+    public void setLoadOnStartup(int loadOnStartup) {
+        // all servlets are loaded on startup.
+    }
+
+    @Override
+    public Set<String> setServletSecurity(ServletSecurityElement constraint) {
+        return Set.of();
+    }
+
+    @Override
+    public void setMultipartConfig(MultipartConfigElement multipartConfig) {
+        throw new UnsupportedOperationException("Multipart is not supported.");
+    }
+
+    @Override
+    public void setRunAsRole(String roleName) {
+    }
+
+    @Override
+    public String getServletName() {
+        return this.name;
+    }
+}
@@ -0,0 +1,337 @@
+package org.example.boot.nio;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.PropertyResolver;
+import org.example.boot.WebServer;
+import org.example.web.ContextLoaderInitializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal HTTP/1.1 server based on a single selector thread and a worker pool.
+ *
+ * The selector thread accepts connections, reads and parses requests, and writes responses. Parsed requests are
+ * handed to worker threads which run the filter chain and servlet against a fully buffered response.
+ */
+public class NioWebServer implements WebServer {
+
+    final Logger logger = LoggerFactory.getLogger(getClass());
+
+    final String webDir;
+    final String baseDir;
+    final Class<?> configClass;
+    final PropertyResolver propertyResolver;
+    final int port;
+    final int bufferSize;
+    final int workerThreads;
+    final int maxRequestSize;
+    final long keepAliveTimeout;
+
+    final CountDownLatch stopped = new CountDownLatch(1);
+    final ConcurrentLinkedQueue<Runnable> selectorTasks = new ConcurrentLinkedQueue<>();
+
+    NioServletContext servletContext;
+    BufferPool bufferPool;
+    ExecutorService executor;
+    Selector selector;
+    ServerSocketChannel serverChannel;
+    Thread selectorThread;
+    volatile boolean running = false;
+
+    public NioWebServer(String webDir, String baseDir, Class<?> configClass, PropertyResolver propertyResolver) {
+        this.webDir = webDir;
+        this.baseDir = baseDir;
+        this.configClass = configClass;
+        this.propertyResolver = propertyResolver;
+        this.port = propertyResolver.getProperty("${server.port:8080}", int.class);
+        this.bufferSize = propertyResolver.getProperty("${server.nio.buffer-size:8192}", int.class);
+        this.workerThreads = propertyResolver.getProperty("${server.nio.worker-threads:200}", int.class);
+        this.maxRequestSize = propertyResolver.getProperty("${server.nio.max-request-size:2097152}", int.class);
+        this.keepAliveTimeout = propertyResolver.getProperty("${server.nio.keep-alive-timeout:60000}", long.class);
+    }
+
+    @Override
+    public void start() throws IOException, ServletException {
+        logger.atInfo().log("starting nio server at port {}...", port);
+
+        NioServletContext servletContext = new NioServletContext(webDir, baseDir);
+        new ContextLoaderInitializer(configClass, propertyResolver).onStartup(Set.of(), servletContext);
+        start(servletContext);
+    }
+
+    /**
+     * Init servlet context with registered servlets and filters, and start worker pool.
+     */
+    void start(NioServletContext servletContext) throws ServletException {
+        servletContext.init();
+        this.servletContext = servletContext;
+
+        this.bufferPool = new BufferPool(bufferSize, Math.max(64, workerThreads));
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workerThreads, workerThreads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, "nio-worker-" + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        ((ThreadPoolExecutor) this.executor).allowCoreThreadTimeOut(true);
+        this.running = true;
+        Runtime.getRuntime().addShutdownHook(new Thread(this::stop, "nio-shutdown"));
+        logger.atInfo().log("nio server started without listening.");
+    }
+
+    @Override
+    public void listen() throws IOException {
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        this.serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        this.serverChannel.bind(new InetSocketAddress(port), 1024);
+        this.serverChannel.configureBlocking(false);
+        this.serverChannel.register(this.selector, SelectionKey.OP_ACCEPT);
+
+        this.selectorThread = new Thread(this::runSelector, "nio-selector");
+        this.selectorThread.start();
+        logger.atInfo().log("nio server listening at port {}...", port);
+    }
+
+    @Override
+    public void service(HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
+        this.servletContext.service(request, response);
+    }
+
+    @Override
+    public void await() throws InterruptedException {
+        this.stopped.await();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!this.running) {
+            return;
+        }
+        this.running = false;
+        logger.atInfo().log("stopping nio server at port {}...", port);
+        if (this.selectorThread != null) {
+            this.selector.wakeup();
+            try {
+                this.selectorThread.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        this.executor.shutdown();
+        try {
+            this.executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.servletContext.destroy();
+        this.stopped.countDown();
+    }
+
+    @Override
+    public int getPort() {
+        // actual port if listening on port 0:
+        return this.serverChannel != null ? this.serverChannel.socket().getLocalPort() : this.port;
+    }
+
+    void runSelector() {
+        long lastIdleCheck = System.currentTimeMillis();
+        while (this.running) {
+            try {
+                this.selector.select(1000);
+                Runnable task;
+                while ((task = this.selectorTasks.poll()) != null) {
+                    task.run();
+                }
+                Set<SelectionKey> keys = this.selector.selectedKeys();
+                for (SelectionKey key : keys) {
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        HttpConnection conn = (HttpConnection) key.attachment();
+                        try {
+                            if (key.isReadable()) {
+                                read(conn);
+                            } else if (key.isWritable()) {
+                                write(conn);
+                            }
+                        } catch (IOException e) {
+                            logger.atDebug().log("connection error: {}", e.getMessage());
+                            close(conn);
+                        } catch (RuntimeException e) {
+                            // e.g. CancelledKeyException, must not kill the selector thread:
+                            logger.atWarn().log("connection error, close connection from {}.", conn.remoteAddress, e);
+                            close(conn);
+                        }
+                    }
+                }
+                keys.clear();
+                long now = System.currentTimeMillis();
+                if (now - lastIdleCheck > 1000) {
+                    lastIdleCheck = now;
+                    closeIdleConnections(now);
+                    this.servletContext.expireSessions(now);
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.atWarn().log("selector error.", e);
+                this.selector.selectedKeys().clear();
+            }
+        }
+        for (SelectionKey key : this.selector.keys()) {
+            if (key.attachment() instanceof HttpConnection conn) {
+                close(conn);
+            }
+        }
+        try {
+            this.serverChannel.close();
+            this.selector.close();
+        } catch (IOException e) {
+            logger.atWarn().log("close selector failed.", e);
+        }
+    }
+
+    void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = this.serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            HttpConnection conn = new HttpConnection(channel, this.bufferPool.acquire(), this.maxRequestSize);
+            conn.key = channel.register(this.selector, SelectionKey.OP_READ, conn);
+        }
+    }
+
+    void read(HttpConnection conn) throws IOException {
+        int n = conn.channel.read(conn.in);
+        if (n < 0) {
+            close(conn);
+            return;
+        }
+        conn.lastActive = System.currentTimeMillis();
+        process(conn);
+    }
+
+    /**
+     * Parse next buffered request and dispatch it to a worker. Only one request per connection is in flight.
+     */
+    void process(HttpConnection conn) throws IOException {
+        NioHttpServletRequest request;
+        try {
+            request = conn.parse(this.servletContext);
+        } catch (HttpParseException e) {
+            NioHttpServletResponse response = new NioHttpServletResponse(this.servletContext, 256);
+            response.sendError(e.status);
+            send(conn, response.toByteBuffers(false, false, true), true);
+            return;
+        }
+        if (request == null) {
+            if (conn.expectContinue) {
+                conn.expectContinue = false;
+                ByteBuffer interim = ByteBuffer.wrap("HTTP/1.1 100 Continue\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1));
+                send(conn, new ByteBuffer[] { interim }, false);
+            }
+            return;
+        }
+        conn.processing = true;
+        conn.key.interestOps(0);
+        this.executor.execute(() -> handle(conn, request));
+    }
+
+    void handle(HttpConnection conn, NioHttpServletRequest request) {
+        NioHttpServletResponse response = new NioHttpServletResponse(this.servletContext, 1024);
+        request.response = response;
+        try {
+            this.servletContext.service(request, response);
+        } catch (Exception e) {
+            logger.atWarn().log("process request failed: {} {}", request.getMethod(), request.getRequestURI(), e);
+            try {
+                response.sendError(500);
+            } catch (IOException ignore) {
+            }
+        }
+        boolean keepAlive = this.running && conn.isKeepAlive(request);
+        ByteBuffer[] buffers = response.toByteBuffers(request.getProtocol().equals("HTTP/1.0"), keepAlive, !request.getMethod().equals("HEAD"));
+        this.selectorTasks.offer(() -> {
+            conn.processing = false;
+            if (!conn.channel.isOpen()) {
+                // closed while processing, release its buffer now:
+                close(conn);
+                return;
+            }
+            try {
+                send(conn, buffers, !keepAlive);
+            } catch (IOException e) {
+                close(conn);
+            }
+        });
+        this.selector.wakeup();
+    }
+
+    void send(HttpConnection conn, ByteBuffer[] buffers, boolean closeAfterWrite) throws IOException {
+        conn.out = buffers;
+        conn.closeAfterWrite = closeAfterWrite;
+        write(conn);
+    }
+
+    void write(HttpConnection conn) throws IOException {
+        if (!conn.channel.isOpen()) {
+            return;
+        }
+        conn.channel.write(conn.out);
+        if (conn.out[conn.out.length - 1].hasRemaining()) {
+            conn.key.interestOps(SelectionKey.OP_WRITE);
+            return;
+        }
+        conn.out = null;
+        conn.lastActive = System.currentTimeMillis();
+        if (conn.closeAfterWrite) {
+            close(conn);
+            return;
+        }
+        if (!conn.processing) {
+            conn.key.interestOps(SelectionKey.OP_READ);
+            if (conn.hasBufferedBytes()) {
+                // pipelined request:
+                process(conn);
+            }
+        }
+    }
+
+    void closeIdleConnections(long now) {
+        for (SelectionKey key : this.selector.keys()) {
+            if (key.attachment() instanceof HttpConnection conn && !conn.processing && conn.out == null && now - conn.lastActive > this.keepAliveTimeout) {
+                close(conn);
+            }
+        }
+    }
+
+    void close(HttpConnection conn) {
+        if (conn.key != null) {
+            conn.key.cancel();
+        }
+        try {
+            conn.channel.close();
+        } catch (IOException e) {
+            // ignore
+        }
+        // buffer of a connection closed while processing is released when its request completes:
+        if (conn.in != null && !conn.processing) {
+            this.bufferPool.release(conn.in);
+            conn.in = null;
+        }
+    }
+}
@@ -35,9 +35,9 @@ public class ContextLoaderInitializer implements ServletContainerInitializer {
         ApplicationContext applicationContext = new AnnotationConfigApplicationContext(this.configClass, this.propertyResolver);
         logger.info("Application context created: {}", applicationContext);
 
-        WebUtils.registerFilters(servletContext);
+        WebUtils.registerFilters(servletContext, applicationContext);
         
-        WebUtils.registerDispatcherServlet(servletContext, this.propertyResolver);
+        WebUtils.registerDispatcherServlet(servletContext, applicationContext, this.propertyResolver);
 
     }
 }
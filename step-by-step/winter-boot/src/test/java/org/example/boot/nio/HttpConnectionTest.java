@@ -0,0 +1,104 @@
+package org.example.boot.nio;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HttpConnectionTest {
+
+    NioServletContext servletContext = new NioServletContext(".", ".");
+    SocketChannel channel;
+    HttpConnection conn;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // unconnected channel is enough for parsing:
+        this.channel = SocketChannel.open();
+        this.conn = new HttpConnection(this.channel, ByteBuffer.allocate(256), 100);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        this.channel.close();
+    }
+
+    NioHttpServletRequest receive(String s) throws HttpParseException {
+        this.conn.in.put(s.getBytes(StandardCharsets.ISO_8859_1));
+        return this.conn.parse(this.servletContext);
+    }
+
+    int parseError(String s) throws IOException {
+        // each error closes the connection, so parse it on a new one:
+        this.conn = new HttpConnection(this.channel, ByteBuffer.allocate(256), 100);
+        return assertThrows(HttpParseException.class, () -> receive(s)).status;
+    }
+
+    @Test
+    void parseSplitRequest() throws Exception {
+        assertNull(receive("PO"));
+        assertNull(receive("ST /api/hello?name=Bob HT"));
+        assertNull(receive("TP/1.1\r\nHost: local"));
+        assertNull(receive("host\r\nContent-Length: 5\r\nContent-Type: text/plain\r"));
+        assertNull(receive("\n\r\nab"));
+        assertNull(this.conn.parse(this.servletContext));
+        NioHttpServletRequest request = receive("cde");
+        assertEquals("POST", request.getMethod());
+        assertEquals("/api/hello", request.getRequestURI());
+        assertEquals("name=Bob", request.getQueryString());
+        assertEquals("HTTP/1.1", request.getProtocol());
+        assertEquals("localhost", request.getHeader("Host"));
+        assertEquals(5, request.getContentLength());
+        assertEquals("abcde", new String(request.body, StandardCharsets.ISO_8859_1));
+        assertFalse(this.conn.hasBufferedBytes());
+    }
+
+    @Test
+    void parsePipelinedRequests() throws Exception {
+        this.conn.in.put("GET /a HTTP/1.1\r\n\r\nGET /b HTTP/1.1\r\nConnection: close\r\n\r\nGET /c".getBytes(StandardCharsets.ISO_8859_1));
+        NioHttpServletRequest a = this.conn.parse(this.servletContext);
+        assertEquals("/a", a.getRequestURI());
+        assertTrue(this.conn.isKeepAlive(a));
+        NioHttpServletRequest b = this.conn.parse(this.servletContext);
+        assertEquals("/b", b.getRequestURI());
+        assertFalse(this.conn.isKeepAlive(b));
+        assertNull(this.conn.parse(this.servletContext));
+        assertEquals("/c", receive(" HTTP/1.0\r\n\r\n").getRequestURI());
+    }
+
+    @Test
+    void parseBadRequest() throws IOException {
+        assertEquals(400, parseError("GET /a\r\n\r\n"));
+        assertEquals(400, parseError("GET /a HTTP/1.1\r\nBad header\r\n\r\n"));
+    }
+
+    @Test
+    void parseBadContentLength() throws IOException {
+        assertEquals(400, parseError("POST /a HTTP/1.1\r\nContent-Length: x\r\n\r\n"));
+        assertEquals(400, parseError("POST /a HTTP/1.1\r\nContent-Length: -1\r\n\r\n"));
+        assertEquals(400, parseError("POST /a HTTP/1.1\r\nContent-Length: 1\r\nContent-Length: 2\r\n\r\n"));
+        assertEquals(400, parseError("POST /a HTTP/1.1\r\nContent-Length: 1\r\ncontent-length: 1\r\n\r\n"));
+        assertEquals(400, parseError("POST /a HTTP/1.1\r\nContent-Length: 1, 1\r\n\r\n"));
+    }
+
+    @Test
+    void parseBodyTooLarge() throws IOException {
+        assertEquals(413, parseError("POST /a HTTP/1.1\r\nContent-Length: 101\r\n\r\n"));
+    }
+
+    @Test
+    void parseHeaderTooLarge() throws IOException {
+        assertEquals(431, parseError("GET /a HTTP/1.1\r\nCookie: " + "x".repeat(256 - 25)));
+    }
+
+    @Test
+    void parseTransferEncoding() throws IOException {
+        assertEquals(501, parseError("POST /a HTTP/1.1\r\nTransfer-Encoding: chunked\r\n\r\n"));
+    }
+}
@@ -0,0 +1,186 @@
+package org.example.boot.nio;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.example.PropertyResolver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NioWebServerTest {
+
+    NioWebServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        var ps = new Properties();
+        ps.put("server.port", "0");
+        ps.put("server.nio.buffer-size", "1024");
+        ps.put("server.nio.worker-threads", "2");
+        ps.put("server.nio.max-request-size", "100");
+        this.server = new NioWebServer(".", ".", NioWebServerTest.class, new PropertyResolver(ps));
+        NioServletContext servletContext = new NioServletContext(".", ".");
+        servletContext.addServlet("echoServlet", new EchoServlet()).addMapping("/");
+        this.server.start(servletContext);
+        this.server.listen();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.server.stop();
+    }
+
+    @Test
+    void keepAlive() throws Exception {
+        try (Socket socket = connect()) {
+            OutputStream output = socket.getOutputStream();
+            InputStream input = socket.getInputStream();
+            output.write(bytes("GET /a HTTP/1.1\r\nHost: localhost\r\n\r\n"));
+            assertEquals("/a", body(readResponse(input)));
+            output.write(bytes("POST /b HTTP/1.1\r\nContent-Length: 3\r\n\r\nxyz"));
+            assertEquals("/b xyz", body(readResponse(input)));
+            output.write(bytes("GET /c HTTP/1.1\r\nConnection: close\r\n\r\n"));
+            String response = readResponse(input);
+            assertTrue(response.contains("Connection: close\r\n"));
+            assertEquals("/c", body(response));
+            assertEquals(-1, input.read());
+        }
+    }
+
+    @Test
+    void pipelinedRequests() throws Exception {
+        try (Socket socket = connect()) {
+            socket.getOutputStream().write(bytes("GET /1 HTTP/1.1\r\n\r\nPOST /2 HTTP/1.1\r\nContent-Length: 2\r\n\r\nokGET /3 HTTP/1.1\r\n\r\n"));
+            InputStream input = socket.getInputStream();
+            assertEquals("/1", body(readResponse(input)));
+            assertEquals("/2 ok", body(readResponse(input)));
+            assertEquals("/3", body(readResponse(input)));
+        }
+    }
+
+    @Test
+    void errorResponses() throws Exception {
+        assertTrue(send("POST /a HTTP/1.1\r\nContent-Length: 101\r\n\r\n").startsWith("HTTP/1.1 413 "));
+        assertTrue(send("GET /a HTTP/1.1\r\nCookie: " + "x".repeat(1024) + "\r\n\r\n").startsWith("HTTP/1.1 431 "));
+        assertTrue(send("POST /a HTTP/1.1\r\nTransfer-Encoding: chunked\r\n\r\n").startsWith("HTTP/1.1 501 "));
+        assertTrue(send("POST /a HTTP/1.1\r\nContent-Length: 1\r\nContent-Length: 2\r\n\r\nx").startsWith("HTTP/1.1 400 "));
+    }
+
+    @Test
+    void session() throws Exception {
+        String first = send("GET /session HTTP/1.1\r\nConnection: close\r\n\r\n");
+        assertEquals("/session 1", body(first));
+        int n = first.indexOf("Set-Cookie: JSESSIONID=");
+        assertTrue(n > 0);
+        String id = first.substring(n + 23, first.indexOf(';', n));
+        assertTrue(first.substring(n).startsWith("Set-Cookie: JSESSIONID=" + id + "; Path=/; HttpOnly\r\n"));
+
+        String second = send("GET /session HTTP/1.1\r\nCookie: JSESSIONID=" + id + "\r\nConnection: close\r\n\r\n");
+        assertEquals("/session 2", body(second));
+        assertFalse(second.contains("Set-Cookie:"));
+
+        String other = send("GET /session HTTP/1.1\r\nCookie: JSESSIONID=unknown\r\nConnection: close\r\n\r\n");
+        assertEquals("/session 1", body(other));
+        assertTrue(other.contains("Set-Cookie: JSESSIONID="));
+    }
+
+    @Test
+    void releaseBufferOnClose() throws Exception {
+        BufferPool pool = this.server.bufferPool;
+        // closed by server:
+        send("GET /a HTTP/1.1\r\nConnection: close\r\n\r\n");
+        awaitPooled(pool, 1);
+        // closed by client:
+        try (Socket socket = connect()) {
+            socket.getOutputStream().write(bytes("GET /a HTTP/1.1\r\n\r\n"));
+            readResponse(socket.getInputStream());
+            assertEquals(0, pool.pooled.get());
+        }
+        awaitPooled(pool, 1);
+        // closed on bad request:
+        send("GET /a\r\n\r\n");
+        awaitPooled(pool, 1);
+        assertEquals(1, pool.buffers.size());
+    }
+
+    void awaitPooled(BufferPool pool, int expected) {
+        // connection is closed on selector thread after client sees EOF:
+        long deadline = System.currentTimeMillis() + 5000;
+        while (pool.pooled.get() != expected && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(expected, pool.pooled.get());
+    }
+
+    Socket connect() throws IOException {
+        Socket socket = new Socket("localhost", this.server.getPort());
+        socket.setSoTimeout(5000);
+        return socket;
+    }
+
+    /**
+     * Send request and read until server closes connection.
+     */
+    String send(String request) throws IOException {
+        try (Socket socket = connect()) {
+            socket.getOutputStream().write(bytes(request));
+            return new String(socket.getInputStream().readAllBytes(), StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    static String body(String response) {
+        return response.substring(response.indexOf("\r\n\r\n") + 4);
+    }
+
+    /**
+     * Read one response with Content-Length.
+     */
+    static String readResponse(InputStream input) throws IOException {
+        ByteArrayOutputStream head = new ByteArrayOutputStream();
+        while (!head.toString(StandardCharsets.ISO_8859_1).endsWith("\r\n\r\n")) {
+            int b = input.read();
+            if (b < 0) {
+                throw new IOException("Unexpected EOF.");
+            }
+            head.write(b);
+        }
+        String s = head.toString(StandardCharsets.ISO_8859_1);
+        int n = s.indexOf("Content-Length: ");
+        int length = Integer.parseInt(s.substring(n + 16, s.indexOf("\r\n", n)));
+        return s + new String(input.readNBytes(length), StandardCharsets.ISO_8859_1);
+    }
+
+    static class EchoServlet extends HttpServlet {
+
+        @Override
+        protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            String body = new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            String result = req.getRequestURI() + (body.isEmpty() ? "" : " " + body);
+            if (req.getRequestURI().equals("/session")) {
+                HttpSession session = req.getSession();
+                Integer count = (Integer) session.getAttribute("count");
+                count = count == null ? 1 : count + 1;
+                session.setAttribute("count", count);
+                result = result + " " + count;
+            }
+            resp.setContentType("text/plain");
+            resp.getWriter().write(result);
+        }
+    }
+}
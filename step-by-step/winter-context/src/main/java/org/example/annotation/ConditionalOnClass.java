@@ -0,0 +1,19 @@
+package org.example.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Define the @Component class or @Bean method only if all classes are present. Classes are given by name so the
+ * annotation can be read when they are missing.
+ */
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ConditionalOnClass {
+
+    /**
+     * Fully qualified class names, e.g. "com.zaxxer.hikari.HikariDataSource".
+     */
+    String[] value();
+
+}
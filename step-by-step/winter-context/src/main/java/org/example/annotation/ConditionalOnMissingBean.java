@@ -0,0 +1,19 @@
+package org.example.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Define the @Component class or @Bean method only if no other bean of given types is defined, so a default bean can be
+ * replaced by a user-defined one. Checked after all unconditional beans are defined.
+ */
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ConditionalOnMissingBean {
+
+    /**
+     * Bean types. Default to the bean class or return type of @Bean method.
+     */
+    Class<?>[] value() default {};
+
+}
@@ -0,0 +1,29 @@
+package org.example.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Define the @Component class or @Bean method only if property is set to expected value. Checked before any class is
+ * instantiated, so a skipped @Configuration class defines none of its @Bean methods.
+ */
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ConditionalOnProperty {
+
+    /**
+     * Property name, e.g. "winter.datasource.enabled".
+     */
+    String name();
+
+    /**
+     * Expected value. Default to any value except "false".
+     */
+    String havingValue() default "";
+
+    /**
+     * Match if property is not set.
+     */
+    boolean matchIfMissing() default false;
+
+}
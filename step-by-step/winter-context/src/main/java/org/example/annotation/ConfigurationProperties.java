@@ -0,0 +1,29 @@
+package org.example.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Define a bean bound from properties with the given prefix. A class is created by its no-arg constructor and bound by
+ * setters or fields, a record is created by its canonical constructor. On a @Bean method, the returned instance is
+ * bound.
+ *
+ * Property names are kebab-case, e.g. field "maximumPoolSize" of prefix "winter.datasource" is bound from
+ * "winter.datasource.maximum-pool-size". A field or record component with @Nonnull is required.
+ */
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Component
+public @interface ConfigurationProperties {
+
+    /**
+     * Bean name. Default to simple class name with first-letter-lower-case.
+     */
+    String value() default "";
+
+    /**
+     * Property prefix, e.g. "winter.datasource".
+     */
+    String prefix();
+
+}
@@ -0,0 +1,18 @@
+package org.example.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Method with one parameter which receives events of parameter type published by ApplicationEventPublisher.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface EventListener {
+
+    /**
+     * Handle event on listener's own thread through a ring buffer instead of on the publishing thread.
+     */
+    boolean async() default false;
+
+}
@@ -0,0 +1,22 @@
+package org.example.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Create bean on first use instead of at startup when put on @Component class or @Bean method, or inject a proxy which
+ * looks up the dependency on first use when put on injection point.
+ *
+ * The bean is accessed by a proxy which delegates public methods except toString(), hashCode() and equals(), so the
+ * bean class or injected type must be public and not final.
+ */
+@Target({ ElementType.TYPE, ElementType.METHOD, ElementType.PARAMETER, ElementType.FIELD })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Lazy {
+
+    /**
+     * Is lazy. Set to false to create bean at startup when winter.context.lazy-init is enabled.
+     */
+    boolean value() default true;
+
+}
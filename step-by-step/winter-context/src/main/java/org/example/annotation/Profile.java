@@ -0,0 +1,18 @@
+package org.example.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Define the @Component class or @Bean method only if any of the profiles is active. A profile starting with "!"
+ * matches when the profile is not active.
+ *
+ * Active profiles are set by "winter.profiles.active" as comma-separated names, or "default" if not set.
+ */
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Profile {
+
+    String[] value();
+
+}
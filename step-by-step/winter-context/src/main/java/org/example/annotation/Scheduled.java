@@ -0,0 +1,33 @@
+package org.example.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Method without parameter which is run periodically. Exactly one of fixedRate, fixedDelay and cron must be set.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Scheduled {
+
+    /**
+     * Run every fixedRate milliseconds from start of each run. A run is skipped if the previous run is not finished.
+     */
+    long fixedRate() default -1;
+
+    /**
+     * Run after fixedDelay milliseconds from end of previous run.
+     */
+    long fixedDelay() default -1;
+
+    /**
+     * Cron expression with 6 fields "second minute hour day-of-month month day-of-week", or 5 fields without second.
+     */
+    String cron() default "";
+
+    /**
+     * Delay in milliseconds before first run of fixedRate or fixedDelay.
+     */
+    long initialDelay() default 0;
+
+}
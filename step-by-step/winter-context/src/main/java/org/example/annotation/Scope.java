@@ -0,0 +1,33 @@
+package org.example.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Scope of bean on @Component class or @Bean method.
+ *
+ * Thread and request scoped beans are injected as proxies which delegate public methods to the instance of current
+ * thread or request. Prototype beans are created for every injection point and getBean() call. Thread scoped beans of
+ * all threads are destroyed when the context is closed.
+ */
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Scope {
+
+    String SINGLETON = "singleton";
+    String PROTOTYPE = "prototype";
+    String THREAD = "thread";
+    String REQUEST = "request";
+
+    /**
+     * Scope name: singleton, prototype, thread or request.
+     */
+    String value() default SINGLETON;
+
+    /**
+     * Max idle instances kept for reuse of prototype bean, which are returned by ApplicationContext.releaseBean().
+     * Default to 0 (no pool).
+     */
+    int poolSize() default 0;
+
+}
@@ -5,51 +5,346 @@ import jakarta.annotation.Nullable;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import org.example.PropertyResolver;
+import org.example.ProxyResolver;
 import org.example.ResourceResolver;
 import org.example.annotation.*;
+import org.example.annotation.EventListener;
+import org.example.context.aot.BeanWiring;
+import org.example.context.classfile.ClassMetadata;
+import org.example.context.classfile.ClassMetadataReader;
+import org.example.context.event.ContextClosedEvent;
+import org.example.context.event.PropertiesChangedEvent;
+import org.example.context.event.SimpleApplicationEventPublisher;
+import org.example.context.scheduling.CronExpression;
+import org.example.context.scheduling.TaskScheduler;
+import org.example.context.index.ComponentIndex;
 import org.example.exception.*;
 import org.example.util.ClassUtils;
+import org.example.util.ThreadUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.lang.reflect.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 public class AnnotationConfigApplicationContext implements ConfigurableApplicationContext {
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
-    private final Map<String, BeanDefinition> beans;
+    // bean definitions are fixed after scan, and published as immutable registry:
+    private volatile BeanRegistry registry;
     private final PropertyResolver propertyResolver;
     private final Set<String> creatingBeanNames;
     private final List<BeanPostProcessor> beanPostProcessors;
+    private final boolean aot;
+    private final boolean lazyInit;
+    private final Map<String, LazyBean> lazyBeans = new ConcurrentHashMap<>();
+    private final ProxyResolver proxyResolver = new ProxyResolver();
+    private final int scopeSlots;
+    private final List<BeanDefinition> requestScopedBeans;
+    private final List<BeanDefinition> threadScopedBeans;
+    private final ThreadLocal<Object[]> threadScope;
+    // instances of thread scope of all threads, destroyed when context is closed:
+    private final Set<Object[]> threadScopes = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<Object[]> requestScope = new ThreadLocal<>();
+    private final Map<String, Queue<Object>> prototypePools = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Optional<BeanWiring>> wirings = new ConcurrentHashMap<>();
+    private final StartupProfiler profiler;
+    private final SimpleApplicationEventPublisher eventPublisher;
+    private final TaskScheduler taskScheduler;
+    private final ConfigurationPropertiesBinder propertiesBinder;
+    private final Map<String, Refreshable<Object>> refreshables = new ConcurrentHashMap<>();
+    private final Consumer<Set<String>> propertiesListener = this::refreshProperties;
 
+    @SuppressWarnings("try")
     public AnnotationConfigApplicationContext(Class<?> configClass, PropertyResolver propertyResolver) {
-        ApplicationContextUtils.setApplicationContext(this);
-        
-        this.propertyResolver = propertyResolver;
+        ApplicationContextUtils.addApplicationContext(this);
+        try {
+            this.propertyResolver = propertyResolver;
+            this.aot = propertyResolver.getProperty("${winter.context.aot:false}", boolean.class);
+            this.lazyInit = propertyResolver.getProperty("${winter.context.lazy-init:false}", boolean.class);
+            this.profiler = new StartupProfiler(propertyResolver.getProperty("${winter.context.profile:false}", boolean.class));
 
-        Set<String> beanClassNames = scanForClassNames(configClass);
+            Set<String> beanClassNames;
+            try (var step = this.profiler.start(null, StartupProfiler.SCAN)) {
+                beanClassNames = scanForClassNames(configClass);
+            }
 
-        this.beans = createBeanDefinitions(beanClassNames);
+            this.eventPublisher = new SimpleApplicationEventPublisher(propertyResolver);
+            this.taskScheduler = new TaskScheduler(propertyResolver);
+            this.propertiesBinder = new ConfigurationPropertiesBinder(propertyResolver);
+            try (var step = this.profiler.start(null, StartupProfiler.DEFINE)) {
+                Map<String, BeanDefinition> beanDefinitions = createBeanDefinitions(beanClassNames);
+                addBeanDefinition(createEventPublisherDefinition(), beanDefinitions);
+                addBeanDefinition(createTaskSchedulerDefinition(), beanDefinitions);
+                addBeanDefinition(createBuiltinDefinition("propertyResolver", PropertyResolver.class, propertyResolver, null), beanDefinitions);
+                this.registry = new BeanRegistry(beanDefinitions);
+            }
 
-        this.creatingBeanNames = new HashSet<>();
+            int slot = 0;
+            for (BeanDefinition beanDefinition : this.registry.sortedBeans) {
+                if (Scope.THREAD.equals(beanDefinition.getScope()) || Scope.REQUEST.equals(beanDefinition.getScope())) {
+                    beanDefinition.scopeSlot = slot++;
+                }
+                if (beanDefinition.isPrototype() && beanDefinition.poolSize > 0) {
+                    this.prototypePools.put(beanDefinition.getName(), new ArrayBlockingQueue<>(beanDefinition.poolSize));
+                }
+            }
+            this.scopeSlots = slot;
+            this.threadScope = ThreadLocal.withInitial(() -> {
+                Object[] instances = new Object[this.scopeSlots];
+                this.threadScopes.add(instances);
+                return instances;
+            });
+            this.threadScopedBeans = this.registry.sortedBeans.stream().filter(beanDefinition -> Scope.THREAD.equals(beanDefinition.getScope())).toList();
+            this.requestScopedBeans = this.registry.sortedBeans.stream().filter(beanDefinition -> Scope.REQUEST.equals(beanDefinition.getScope())).toList();
 
-        this.beanPostProcessors = new ArrayList<>();
-        
-        this.beans.values().stream().filter(this::isConfiguration).sorted().forEach(this::createBeanAsEarlySingleton);
-        
-        this.beanPostProcessors.addAll(this.beans.values().stream().filter(this::isBeanPostProcessorDefinition).sorted().map(beanDefinition -> (BeanPostProcessor) createBeanAsEarlySingleton(beanDefinition)).toList());
-        
-        this.beans.values().stream().sorted().forEach(beanDefinition -> {
-            if (beanDefinition.getInstance() == null) {
-                createBeanAsEarlySingleton(beanDefinition);
+            this.creatingBeanNames = ConcurrentHashMap.newKeySet();
+
+            this.beanPostProcessors = new ArrayList<>();
+
+            this.registry.sortedBeans.stream().filter(this::isConfiguration).forEach(this::createBeanAsEarlySingleton);
+
+            this.beanPostProcessors.addAll(this.registry.sortedBeans.stream().filter(this::isBeanPostProcessorDefinition).map(beanDefinition -> (BeanPostProcessor) createBeanAsEarlySingleton(beanDefinition)).toList());
+
+            if (propertyResolver.getProperty("${winter.context.parallel:false}", boolean.class)) {
+                createAndInitBeansInParallel(propertyResolver.getProperty("${winter.context.parallel-threads:0}", int.class));
+            } else {
+                this.registry.sortedBeans.forEach(beanDefinition -> {
+                    if (beanDefinition.getInstance() == null) {
+                        createBeanAsEarlySingleton(beanDefinition);
+                    }
+                });
+
+                this.registry.sortedBeans.forEach(this::injectBean);
+
+                this.registry.sortedBeans.forEach(this::initBean);
             }
-        });
-        
-        this.beans.values().forEach(this::injectBean);
-        
-        this.beans.values().forEach(this::initBean);
+
+            this.registry.sortedBeans.forEach(this::registerEventListeners);
+            this.registry.sortedBeans.forEach(this::registerScheduledTasks);
+            propertyResolver.addChangeListener(this.propertiesListener);
+
+            if (this.profiler.isEnabled()) {
+                for (BeanDefinition beanDefinition : this.registry.sortedBeans) {
+                    findCreateDependencies(beanDefinition).forEach(dependency -> this.profiler.addDependency(beanDefinition.getName(), dependency.getName()));
+                    findInjectDependencies(beanDefinition, beanDefinition.getBeanClass()).forEach(dependency -> this.profiler.addDependency(beanDefinition.getName(), dependency.getName()));
+                }
+                logger.atDebug().log("{}", this.profiler.report(10));
+            }
+        } catch (RuntimeException | Error e) {
+            ApplicationContextUtils.removeApplicationContext(this);
+            throw e;
+        }
+    }
+
+    /**
+     * Define the built-in ApplicationEventPublisher as an existing instance, which is destroyed first so async
+     * listeners can handle pending events before other beans are destroyed.
+     */
+    private BeanDefinition createEventPublisherDefinition() {
+        try {
+            return createBuiltinDefinition("applicationEventPublisher", SimpleApplicationEventPublisher.class, this.eventPublisher,
+                    SimpleApplicationEventPublisher.class.getMethod("close"));
+        } catch (NoSuchMethodException e) {
+            throw new BeanDefinitionException(e);
+        }
+    }
+
+    /**
+     * Define the built-in TaskScheduler, which is destroyed before other beans so no task runs on destroyed beans.
+     */
+    private BeanDefinition createTaskSchedulerDefinition() {
+        try {
+            return createBuiltinDefinition("taskScheduler", TaskScheduler.class, this.taskScheduler, TaskScheduler.class.getMethod("close"));
+        } catch (NoSuchMethodException e) {
+            throw new BeanDefinitionException(e);
+        }
+    }
+
+    /**
+     * Define bean of existing instance created by context itself.
+     */
+    private BeanDefinition createBuiltinDefinition(String name, Class<?> beanClass, Object instance, @Nullable Method destroyMethod) {
+        BeanDefinition beanDefinition = new BeanDefinition(name, beanClass, instance, null, null, null, Integer.MIN_VALUE, false, null, null, null, destroyMethod);
+        beanDefinition.builtin = true;
+        return beanDefinition;
+    }
+
+    /**
+     * Register @EventListener methods of bean class and its super classes.
+     */
+    private void registerEventListeners(BeanDefinition beanDefinition) {
+        for (Class<?> clazz = beanDefinition.getBeanClass(); clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Method method : clazz.getDeclaredMethods()) {
+                EventListener eventListener = method.getAnnotation(EventListener.class);
+                if (eventListener == null) {
+                    continue;
+                }
+                String name = beanDefinition.getName() + "." + method.getName();
+                if (method.getParameterCount() != 1 || method.getParameterTypes()[0].isPrimitive()) {
+                    throw new BeanDefinitionException("@EventListener method " + name + " must have exactly one non-primitive parameter.");
+                }
+                if (Modifier.isStatic(method.getModifiers())) {
+                    throw new BeanDefinitionException("@EventListener method " + name + " must not be static.");
+                }
+                // public method is called on bean which may be proxied by post processor, others on original instance:
+                boolean original = !Modifier.isPublic(method.getModifiers());
+                this.eventPublisher.addListener(name, method, () -> getInvocationTarget(beanDefinition, original), eventListener.async());
+            }
+        }
+    }
+
+    /**
+     * Schedule @Scheduled methods of bean class and its super classes.
+     */
+    private void registerScheduledTasks(BeanDefinition beanDefinition) {
+        for (Class<?> clazz = beanDefinition.getBeanClass(); clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Method method : clazz.getDeclaredMethods()) {
+                Scheduled scheduled = method.getAnnotation(Scheduled.class);
+                if (scheduled == null) {
+                    continue;
+                }
+                String name = beanDefinition.getName() + "." + method.getName();
+                if (method.getParameterCount() != 0 || Modifier.isStatic(method.getModifiers())) {
+                    throw new BeanDefinitionException("@Scheduled method " + name + " must be non-static and have no parameter.");
+                }
+                int count = (scheduled.fixedRate() > 0 ? 1 : 0) + (scheduled.fixedDelay() > 0 ? 1 : 0) + (scheduled.cron().isEmpty() ? 0 : 1);
+                if (count != 1) {
+                    throw new BeanDefinitionException("@Scheduled method " + name + " must specify exactly one of fixedRate, fixedDelay and cron.");
+                }
+                boolean original = !Modifier.isPublic(method.getModifiers());
+                method.setAccessible(true);
+                Runnable task = () -> {
+                    try {
+                        invoke(method, getInvocationTarget(beanDefinition, original));
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause() instanceof RuntimeException re ? re : new NestedRuntimeException(e.getCause());
+                    } catch (ReflectiveOperationException e) {
+                        throw new NestedRuntimeException(e);
+                    }
+                };
+                if (scheduled.fixedRate() > 0) {
+                    this.taskScheduler.scheduleAtFixedRate(name, task, scheduled.initialDelay(), scheduled.fixedRate());
+                } else if (scheduled.fixedDelay() > 0) {
+                    this.taskScheduler.scheduleWithFixedDelay(name, task, scheduled.initialDelay(), scheduled.fixedDelay());
+                } else {
+                    CronExpression cron;
+                    try {
+                        cron = new CronExpression(this.propertyResolver.parseValue(scheduled.cron()));
+                    } catch (IllegalArgumentException e) {
+                        throw new BeanDefinitionException("Invalid cron of @Scheduled method " + name + ": " + e.getMessage());
+                    }
+                    this.taskScheduler.schedule(name, task, cron);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the real bean instance, not the lazy or scoped proxy, to invoke listener or scheduled method on.
+     */
+    private Object getInvocationTarget(BeanDefinition beanDefinition, boolean original) {
+        Object instance;
+        if (beanDefinition.isLazy()) {
+            instance = this.lazyBeans.get(beanDefinition.getName()).get();
+        } else if (!beanDefinition.isSingleton() && !beanDefinition.isPrototype()) {
+            instance = getScopedInstance(beanDefinition);
+        } else {
+            instance = getInstance(beanDefinition);
+        }
+        return original ? getOriginalInstance(beanDefinition, instance) : instance;
+    }
+
+    /**
+     * Create, inject and init remaining beans on a thread pool.
+     *
+     * Beans are created after their constructor or factory method dependencies, injected in any order, and initialized
+     * after all their dependencies (including @Autowired fields and setters) are initialized.
+     */
+    private void createAndInitBeansInParallel(int threads) {
+        ForkJoinPool pool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+        try {
+            List<BeanDefinition> sortedBeans = this.registry.sortedBeans;
+
+            BeanDependencyGraph createGraph = new BeanDependencyGraph(sortedBeans.stream().filter(beanDefinition -> beanDefinition.getInstance() == null).toList());
+            for (BeanDefinition beanDefinition : createGraph.beans) {
+                findCreateDependencies(beanDefinition).forEach(dependency -> createGraph.addDependency(beanDefinition, dependency));
+            }
+            logger.atDebug().log("create {} beans in parallel.", createGraph.beans.size());
+            createGraph.execute(pool, this::createBeanAsEarlySingleton, false);
+
+            new BeanDependencyGraph(sortedBeans).execute(pool, this::injectBean, false);
+
+            BeanDependencyGraph initGraph = new BeanDependencyGraph(sortedBeans);
+            for (BeanDefinition beanDefinition : sortedBeans) {
+                findCreateDependencies(beanDefinition).forEach(dependency -> initGraph.addDependency(beanDefinition, dependency));
+                findInjectDependencies(beanDefinition, beanDefinition.getBeanClass()).forEach(dependency -> initGraph.addDependency(beanDefinition, dependency));
+            }
+            initGraph.execute(pool, this::initBean, true);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private List<BeanDefinition> findCreateDependencies(BeanDefinition beanDefinition) {
+        List<BeanDefinition> dependencies = new ArrayList<>();
+        Executable createFunction;
+        if (beanDefinition.getFactoryName() == null) {
+            createFunction = beanDefinition.getConstructor();
+        } else {
+            createFunction = beanDefinition.getFactoryMethod();
+            BeanDefinition factory = findBeanDefinition(beanDefinition.getFactoryName());
+            if (factory != null) {
+                dependencies.add(factory);
+            }
+        }
+        if (createFunction != null) {
+            for (Parameter parameter : createFunction.getParameters()) {
+                Autowired autowired = parameter.getAnnotation(Autowired.class);
+                // @Lazy and Refreshable injection points get the dependency on first use, so they are not edges:
+                if (autowired != null && !parameter.isAnnotationPresent(Lazy.class) && parameter.getType() != Refreshable.class) {
+                    Class<?> type = parameter.getType();
+                    BeanDefinition dependency = autowired.name().isEmpty() ? findBeanDefinition(type) : findBeanDefinition(autowired.name(), type);
+                    if (dependency != null) {
+                        dependencies.add(dependency);
+                    }
+                }
+            }
+        }
+        return dependencies;
+    }
+
+    private List<BeanDefinition> findInjectDependencies(BeanDefinition beanDefinition, Class<?> clazz) {
+        List<BeanDefinition> dependencies = new ArrayList<>();
+        for (Field field : clazz.getDeclaredFields()) {
+            Class<?> type = field.getType() == Refreshable.class ? getRefreshableType(field.getGenericType()) : field.getType();
+            addInjectDependency(field.getAnnotation(Autowired.class), type, dependencies);
+        }
+        for (Method method : clazz.getDeclaredMethods()) {
+            if (method.getParameterCount() == 1) {
+                addInjectDependency(method.getAnnotation(Autowired.class), method.getParameterTypes()[0], dependencies);
+            }
+        }
+        Class<?> superclass = clazz.getSuperclass();
+        if (superclass != null) {
+            dependencies.addAll(findInjectDependencies(beanDefinition, superclass));
+        }
+        return dependencies;
+    }
+
+    private void addInjectDependency(Autowired autowired, Class<?> type, List<BeanDefinition> dependencies) {
+        if (autowired != null) {
+            BeanDefinition dependency = autowired.name().isEmpty() ? findBeanDefinition(type) : findBeanDefinition(autowired.name(), type);
+            if (dependency != null) {
+                dependencies.add(dependency);
+            }
+        }
     }
     
     private Set<String> scanForClassNames(Class<?> configClass) {
@@ -57,14 +352,24 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
 
         ComponentScan scan = ClassUtils.findAnnotation(configClass, ComponentScan.class);
         String[] scanPackages = scan == null || scan.value().length == 0 ? new String[] { configClass.getPackage().getName() } : scan.value();
+        ComponentIndex componentIndex = propertyResolver.getProperty("${winter.context.component-index:true}", boolean.class)
+                ? ComponentIndex.load(configClass.getClassLoader()) : null;
+        ClassMetadataReader metadataReader = new ClassMetadataReader(configClass.getClassLoader());
         for (String scanPackage : scanPackages) {
+            // scan package if any classpath root of it has no index, in case classes were compiled without processor:
+            if (componentIndex != null && componentIndex.covers(configClass.getClassLoader(), scanPackage)) {
+                List<String> indexed = componentIndex.getComponents(scanPackage);
+                logger.atDebug().log("found {} components in index for package: {}", indexed.size(), scanPackage);
+                beanClassNames.addAll(indexed);
+                continue;
+            }
             logger.atDebug().log("scan package: {}", scanPackage);
 
             ResourceResolver resourceResolver = new ResourceResolver(scanPackage);
             List<String> classList = resourceResolver.scan(resource -> {
                 String name = resource.name();
                 if (name.endsWith(".class")) {
-                    return name.substring(0, name.length() - 6).replace("/", ".").replace("\\", ".");
+                    return readComponentClassName(metadataReader, name.replace("\\", "/"));
                 }
                 return null;
             });
@@ -82,37 +387,76 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
         return beanClassNames;
     }
 
+    /**
+     * Read class file and return class name if it may be a component, so other classes are never loaded.
+     */
+    @Nullable
+    private String readComponentClassName(ClassMetadataReader metadataReader, String resourceName) {
+        String className = resourceName.substring(0, resourceName.length() - 6).replace("/", ".");
+        ClassMetadata metadata;
+        try {
+            metadata = metadataReader.read(resourceName);
+        } catch (IOException e) {
+            logger.atWarn().log("could not read class file {}, fall back to load class: {}", resourceName, e.getMessage());
+            return className;
+        }
+        if (metadata == null) {
+            return className;
+        }
+        if (metadata.isAnnotation() || metadata.isEnum() || metadata.isInterface()
+                || metadata.isRecord() && !metadataReader.hasAnnotation(metadata, ConfigurationProperties.class.getName())
+                || !metadataReader.hasAnnotation(metadata, Component.class.getName())) {
+            return null;
+        }
+        return metadata.className();
+    }
+
     Map<String, BeanDefinition> createBeanDefinitions(Set<String> beanClassNames) {
         Map<String, BeanDefinition> beanDefinitions = new HashMap<>();
+        ConditionEvaluator conditions = new ConditionEvaluator(this.propertyResolver, getClass().getClassLoader());
+        // beans with @ConditionalOnMissingBean are defined after all others:
+        List<DeferredBean> deferredBeans = new ArrayList<>();
         for (String beanClassName : beanClassNames) {
             Class<?> beanClass;
             try {
-                beanClass = Class.forName(beanClassName);
+                // load class without initialization until bean is created:
+                beanClass = Class.forName(beanClassName, false, getClass().getClassLoader());
             } catch (ClassNotFoundException e) {
                 throw new BeanCreationException();
             }
-            if (beanClass.isAnnotation() || beanClass.isEnum() || beanClass.isInterface() || beanClass.isRecord()) {
+            if (beanClass.isAnnotation() || beanClass.isEnum() || beanClass.isInterface()
+                    || beanClass.isRecord() && !beanClass.isAnnotationPresent(ConfigurationProperties.class)) {
                 continue;
             }
 
             Component component = ClassUtils.findAnnotation(beanClass, Component.class);
             if (component != null) {
                 logger.atDebug().log("found component: {}", beanClass.getName());
-
-                int modifiers = beanClass.getModifiers();
-                if (Modifier.isAbstract(modifiers)) {
-                    throw new BeanDefinitionException("@Component class " + beanClass.getName() + " must not be abstract.");
-                } else if (Modifier.isPrivate(modifiers)) {
-                    throw new BeanDefinitionException("@Component class " + beanClass.getName() + " must not be private.");
+                if (!conditions.matches(beanClass)) {
+                    logger.atDebug().log("skip component by condition: {}", beanClass.getName());
+                } else if (conditions.hasMissingBeanCondition(beanClass)) {
+                    deferredBeans.add(new DeferredBean(beanClass, null));
+                } else {
+                    defineComponent(beanClass, beanDefinitions, conditions, deferredBeans);
                 }
-                
-                BeanDefinition beanDefinition = createComponent(beanClass);
-                addBeanDefinition(beanDefinition, beanDefinitions);
-                logger.atDebug().log("define bean: {}", beanDefinition);
+            }
+        }
 
-                Configuration configuration = ClassUtils.findAnnotation(beanClass, Configuration.class);
-                if (configuration != null) {
-                    scanFactoryMethods(beanDefinition.getName(), beanClass, beanDefinitions);
+        // deferred beans may add more deferred beans from @Configuration class:
+        for (int i = 0; i < deferredBeans.size(); i++) {
+            DeferredBean deferred = deferredBeans.get(i);
+            if (deferred.element() instanceof Class<?> beanClass) {
+                if (conditions.matchesMissingBean(beanClass, beanClass, beanDefinitions.values())) {
+                    defineComponent(beanClass, beanDefinitions, conditions, deferredBeans);
+                } else {
+                    logger.atDebug().log("skip component by existing bean: {}", beanClass.getName());
+                }
+            } else {
+                Method method = (Method) deferred.element();
+                if (conditions.matchesMissingBean(method, method.getReturnType(), beanDefinitions.values())) {
+                    defineFactoryMethod(deferred.factoryBeanName(), method, beanDefinitions);
+                } else {
+                    logger.atDebug().log("skip @Bean method by existing bean: {}.{}", method.getDeclaringClass().getName(), method.getName());
                 }
             }
         }
@@ -120,110 +464,396 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
         return beanDefinitions;
     }
 
-    private void scanFactoryMethods(String factoryBeanName, Class<?> beanClass, Map<String, BeanDefinition> beanDefinitions) {
+    private void defineComponent(Class<?> beanClass, Map<String, BeanDefinition> beanDefinitions, ConditionEvaluator conditions, List<DeferredBean> deferredBeans) {
+        int modifiers = beanClass.getModifiers();
+        if (Modifier.isAbstract(modifiers)) {
+            throw new BeanDefinitionException("@Component class " + beanClass.getName() + " must not be abstract.");
+        } else if (Modifier.isPrivate(modifiers)) {
+            throw new BeanDefinitionException("@Component class " + beanClass.getName() + " must not be private.");
+        }
+
+        BeanDefinition beanDefinition = createComponent(beanClass);
+        applyScope(beanDefinition, beanClass, beanClass.getAnnotation(Scope.class));
+        beanDefinition.lazy = beanDefinition.isSingleton() && isLazy(beanClass, beanClass.getAnnotation(Lazy.class));
+        addBeanDefinition(beanDefinition, beanDefinitions);
+        logger.atDebug().log("define bean: {}", beanDefinition);
+
+        Configuration configuration = ClassUtils.findAnnotation(beanClass, Configuration.class);
+        if (configuration != null) {
+            scanFactoryMethods(beanDefinition.getName(), beanClass, beanDefinitions, conditions, deferredBeans);
+        }
+    }
+
+    private void scanFactoryMethods(String factoryBeanName, Class<?> beanClass, Map<String, BeanDefinition> beanDefinitions,
+                                    ConditionEvaluator conditions, List<DeferredBean> deferredBeans) {
         for (Method method : beanClass.getDeclaredMethods()) {
-            Bean bean = method.getAnnotation(Bean.class);
-            if (bean == null) {
+            if (!method.isAnnotationPresent(Bean.class)) {
                 continue;
             }
+            if (!conditions.matches(method)) {
+                logger.atDebug().log("skip @Bean method by condition: {}.{}", beanClass.getName(), method.getName());
+            } else if (conditions.hasMissingBeanCondition(method)) {
+                deferredBeans.add(new DeferredBean(method, factoryBeanName));
+            } else {
+                defineFactoryMethod(factoryBeanName, method, beanDefinitions);
+            }
+        }
+    }
+
+    private void defineFactoryMethod(String factoryBeanName, Method method, Map<String, BeanDefinition> beanDefinitions) {
+        Class<?> beanClass = method.getDeclaringClass();
+        Bean bean = method.getAnnotation(Bean.class);
+        int modifiers = method.getModifiers();
+        if (Modifier.isAbstract(modifiers)) {
+            throw new BeanDefinitionException("@Bean method " + beanClass.getName() + "." + method.getName() + " must not be abstract.");
+        }
+        if (Modifier.isFinal(modifiers)) {
+            throw new BeanDefinitionException("@Bean method " + beanClass.getName() + "." + method.getName() + " must not be final.");
+        }
+        if (Modifier.isPrivate(modifiers)) {
+            throw new BeanDefinitionException("@Bean method " + beanClass.getName() + "." + method.getName() + " must not be private.");
+        }
+
+        Class<?> returnType = method.getReturnType();
+        if (returnType.isPrimitive()) {
+            throw new BeanDefinitionException("@Bean method " + beanClass.getName() + "." + method.getName() + " must not return primitive type.");
+        }
+        if (returnType == void.class || returnType == Void.class) {
+            throw new BeanDefinitionException("@Bean method " + beanClass.getName() + "." + method.getName() + " must not return void.");
+        }
+
+        method.setAccessible(true);
+        BeanDefinition beanDefinition = new BeanDefinition(
+                ClassUtils.getBeanName(method),
+                returnType,
+                null,
+                null,
+                factoryBeanName,
+                method,
+                getOrder(method),
+                method.isAnnotationPresent(Primary.class),
+                bean.initMethod().isEmpty() ? null : bean.initMethod(),
+                bean.destroyMethod().isEmpty() ? null : bean.destroyMethod(),
+                null,
+                null
+        );
+        applyScope(beanDefinition, returnType, method.getAnnotation(Scope.class));
+        beanDefinition.lazy = beanDefinition.isSingleton() && isLazy(returnType, method.getAnnotation(Lazy.class));
+        
+        addBeanDefinition(beanDefinition, beanDefinitions);
+        
+        logger.atDebug().log("define bean: {}", beanDefinition);
+    }
+
+    /**
+     * A @Component class or @Bean method with @ConditionalOnMissingBean.
+     */
+    private record DeferredBean(AnnotatedElement element, @Nullable String factoryBeanName) {
+    }
 
-            int modifiers = method.getModifiers();
-            if (Modifier.isAbstract(modifiers)) {
-                throw new BeanDefinitionException("@Bean method " + beanClass.getName() + "." + method.getName() + " must not be abstract.");
+    @Override
+    public Object createBeanAsEarlySingleton(BeanDefinition beanDefinition) {
+        // lock bean so other threads wait for the instance, while re-entering from same thread is detected as circular dependency:
+        synchronized (beanDefinition) {
+            if (beanDefinition.getInstance() != null) {
+                return beanDefinition.getInstance();
             }
-            if (Modifier.isFinal(modifiers)) {
-                throw new BeanDefinitionException("@Bean method " + beanClass.getName() + "." + method.getName() + " must not be final.");
+
+            logger.atDebug().log("Try create bean '{}' as early singleton: {}", beanDefinition.getName(), beanDefinition.getBeanClass().getName());
+
+            if (beanDefinition.isPrototype()) {
+                // prototype bean is created on every use:
+                return null;
             }
-            if (Modifier.isPrivate(modifiers)) {
-                throw new BeanDefinitionException("@Bean method " + beanClass.getName() + "." + method.getName() + " must not be private.");
+
+            if (!beanDefinition.isSingleton()) {
+                Object proxy = createLazyProxy(beanDefinition.getBeanClass(), () -> getScopedInstance(beanDefinition));
+                beanDefinition.setInstance(proxy);
+                return proxy;
             }
 
-            Class<?> returnType = method.getReturnType();
-            if (returnType.isPrimitive()) {
-                throw new BeanDefinitionException("@Bean method " + beanClass.getName() + "." + method.getName() + " must not return primitive type.");
+            if (beanDefinition.isLazy()) {
+                LazyBean lazyBean = new LazyBean(beanDefinition, this::createAndInitInstance);
+                this.lazyBeans.put(beanDefinition.getName(), lazyBean);
+                Object proxy = createLazyProxy(beanDefinition.getBeanClass(), lazyBean);
+                beanDefinition.setInstance(proxy);
+                return proxy;
             }
-            if (returnType == void.class || returnType == Void.class) {
-                throw new BeanDefinitionException("@Bean method " + beanClass.getName() + "." + method.getName() + " must not return void.");
+
+            if (!creatingBeanNames.add(beanDefinition.getName())) {
+                throw new UnsatisfiedDependencyException();
             }
 
-            method.setAccessible(true);
-            BeanDefinition beanDefinition = new BeanDefinition(
-                    ClassUtils.getBeanName(method),
-                    returnType,
-                    null,
-                    null,
-                    factoryBeanName,
-                    method,
-                    getOrder(method),
-                    method.isAnnotationPresent(Primary.class),
-                    bean.initMethod().isEmpty() ? null : bean.initMethod(),
-                    bean.destroyMethod().isEmpty() ? null : bean.destroyMethod(),
-                    null,
-                    null
-            );
-            
-            addBeanDefinition(beanDefinition, beanDefinitions);
-            
-            logger.atDebug().log("define bean: {}", beanDefinition);
+            Object instance = createInstance(beanDefinition);
+            beanDefinition.setInstance(instance);
+            return instance;
         }
     }
 
-    @Override
-    public Object createBeanAsEarlySingleton(BeanDefinition beanDefinition) {
-        if (beanDefinition.getInstance() != null) {
-            return beanDefinition.getInstance();
-        }
-        
-        logger.atDebug().log("Try create bean '{}' as early singleton: {}", beanDefinition.getName(), beanDefinition.getBeanClass().getName());
-
-        if (!creatingBeanNames.add(beanDefinition.getName())) {
-            throw new UnsatisfiedDependencyException();
-        }
+    /**
+     * Create bean by constructor or factory method, and apply post processors.
+     */
+    private Object createInstance(BeanDefinition beanDefinition) {
+        return postProcessInstance(beanDefinition, instantiate(beanDefinition));
+    }
 
+    /**
+     * Create raw instance by constructor or factory method, or by binding properties.
+     */
+    @SuppressWarnings("try")
+    private Object instantiate(BeanDefinition beanDefinition) {
         Executable createFunction;
         if (beanDefinition.getFactoryName() == null) {
             createFunction = beanDefinition.getConstructor();
         } else {
             createFunction = beanDefinition.getFactoryMethod();
         }
-        
+
         Object instance;
-        Object[] args = getArgs(beanDefinition, createFunction);
-        if (beanDefinition.getFactoryName() == null) {
-            try {
-                instance = beanDefinition.getConstructor().newInstance(args);
-            } catch (Exception e) {
-                throw new BeanCreationException(String.format("Exception when create bean '%s': %s", beanDefinition.getName(), beanDefinition.getBeanClass().getName()), e);
-            }
-        } else {
-            Object factoryBean = getBean(beanDefinition.getFactoryName());
-            try {
-                instance = beanDefinition.getFactoryMethod().invoke(factoryBean, args);
-            } catch (Exception e) {
-                throw new BeanCreationException(String.format("Exception when create bean '%s': %s", beanDefinition.getName(), beanDefinition.getBeanClass().getName()), e);
+        try (var step = this.profiler.start(beanDefinition.getName(), StartupProfiler.INSTANTIATE)) {
+            ConfigurationProperties properties = getConfigurationProperties(beanDefinition);
+            if (properties != null && beanDefinition.getFactoryName() == null) {
+                // @ConfigurationProperties class is created by binder:
+                instance = this.propertiesBinder.bind(beanDefinition.getBeanClass(), properties.prefix());
+            } else if (beanDefinition.getFactoryName() == null) {
+                Object[] args = getArgs(beanDefinition, createFunction);
+                try {
+                    instance = newInstance(beanDefinition.getConstructor(), args);
+                } catch (Exception e) {
+                    throw new BeanCreationException(String.format("Exception when create bean '%s': %s", beanDefinition.getName(), beanDefinition.getBeanClass().getName()), e);
+                }
+            } else {
+                Object[] args = getArgs(beanDefinition, createFunction);
+                Object factoryBean = getBean(beanDefinition.getFactoryName());
+                try {
+                    instance = invoke(beanDefinition.getFactoryMethod(), factoryBean, args);
+                } catch (Exception e) {
+                    throw new BeanCreationException(String.format("Exception when create bean '%s': %s", beanDefinition.getName(), beanDefinition.getBeanClass().getName()), e);
+                }
+                if (properties != null) {
+                    this.propertiesBinder.bindTo(instance, properties.prefix());
+                }
             }
         }
-        
-        beanDefinition.setInstance(instance);
 
         logger.atDebug().log("bean initialized: {}", beanDefinition);
+        return instance;
+    }
+
+    /**
+     * Set ApplicationContext to aware instance and apply post processors.
+     */
+    @SuppressWarnings("try")
+    private Object postProcessInstance(BeanDefinition beanDefinition, Object instance) {
+        if (instance instanceof ApplicationContextAware aware) {
+            aware.setApplicationContext(this);
+        }
 
+        // publish instance only after all post processors applied:
         for (BeanPostProcessor beanPostProcessor : this.beanPostProcessors) {
-            Object processed = beanPostProcessor.postProcessBeforeInitialization(beanDefinition.getRequiredInstance(), beanDefinition.getName());
+            Object processed;
+            try (var step = this.profiler.start(beanDefinition.getName(), StartupProfiler.POST_PROCESS + ":" + beanPostProcessor.getClass().getSimpleName())) {
+                processed = beanPostProcessor.postProcessBeforeInitialization(instance, beanDefinition.getName());
+            }
             if (processed == null) {
                 throw new BeanCreationException(String.format("PostBeanProcessor returns null when process bean '%s' by %s", beanDefinition.getName(), beanPostProcessor));
             }
-            if (processed != beanDefinition.getRequiredInstance()) {
+            if (processed != instance) {
                 logger.atDebug().log("Bean '{}' was replaced by post processor {}.", beanDefinition.getName(), beanPostProcessor.getClass().getName());
-                beanDefinition.setInstance(processed);
+                instance = processed;
             }
         }
+        return instance;
+    }
+
+    /**
+     * Create, inject and init bean which is not created at startup, e.g. lazy, prototype, thread or request scoped bean.
+     */
+    private Object createAndInitInstance(BeanDefinition beanDefinition) {
+        logger.atDebug().log("create {} bean '{}' on use: {}", beanDefinition.isLazy() ? "lazy" : beanDefinition.getScope(), beanDefinition.getName(), beanDefinition.getBeanClass().getName());
+        return initInstance(beanDefinition, createInstance(beanDefinition));
+    }
+
+    /**
+     * Inject and init instance returned by post processors.
+     */
+    @SuppressWarnings("try")
+    private Object initInstance(BeanDefinition beanDefinition, Object instance) {
+        Object original = getOriginalInstance(beanDefinition, instance);
+        try (var step = this.profiler.start(beanDefinition.getName(), StartupProfiler.INJECT)) {
+            injectProperties(beanDefinition, beanDefinition.getBeanClass(), original);
+        } catch (ReflectiveOperationException e) {
+            throw new BeanCreationException(e);
+        }
+        try (var step = this.profiler.start(beanDefinition.getName(), StartupProfiler.INIT)) {
+            callMethodWithoutArgs(original, beanDefinition.getInitMethod(), beanDefinition.getInitMethodName());
+        }
+        return instance;
+    }
+
+    /**
+     * Inject proxy which gets dependency on first use, for injection point with @Lazy.
+     */
+    private Object createLazyReference(BeanDefinition dependency, Class<?> type) {
+        if (dependency.isLazy() || !dependency.isSingleton() && !dependency.isPrototype()) {
+            // already a proxy:
+            return getDependency(dependency);
+        }
+        return createLazyProxy(type, new LazyBean(dependency, this::getDependency));
+    }
+
+    /**
+     * Get dependency to inject, and create singleton early if not created yet.
+     */
+    private Object getDependency(BeanDefinition dependency) {
+        if (dependency.isPrototype()) {
+            return getInstance(dependency);
+        }
+        Object instance = dependency.getInstance();
+        return instance != null ? instance : createBeanAsEarlySingleton(dependency);
+    }
 
+    /**
+     * Get bean instance, or new (or pooled) instance of prototype bean.
+     */
+    private Object getInstance(BeanDefinition beanDefinition) {
+        if (beanDefinition.isPrototype()) {
+            Queue<Object> pool = this.prototypePools.get(beanDefinition.getName());
+            Object instance = pool == null ? null : pool.poll();
+            return instance != null ? instance : createAndInitInstance(beanDefinition);
+        }
         return beanDefinition.getRequiredInstance();
     }
-    
+
+    /**
+     * Get instance of thread or request scoped bean from its slot of current thread or request, and create it on first
+     * use.
+     */
+    private Object getScopedInstance(BeanDefinition beanDefinition) {
+        Object[] instances = Scope.THREAD.equals(beanDefinition.getScope()) ? this.threadScope.get() : this.requestScope.get();
+        if (instances == null) {
+            throw new BeanCreationException(String.format("Cannot get request scoped bean '%s' outside of request.", beanDefinition.getName()));
+        }
+        Object instance = instances[beanDefinition.scopeSlot];
+        if (instance == null) {
+            instance = createAndInitInstance(beanDefinition);
+            instances[beanDefinition.scopeSlot] = instance;
+        }
+        return instance;
+    }
+
+    @Override
+    public boolean beginRequestScope() {
+        if (this.requestScopedBeans.isEmpty() || this.requestScope.get() != null) {
+            return false;
+        }
+        this.requestScope.set(new Object[this.scopeSlots]);
+        return true;
+    }
+
+    @Override
+    public void endRequestScope() {
+        Object[] instances = this.requestScope.get();
+        if (instances == null) {
+            return;
+        }
+        this.requestScope.remove();
+        for (BeanDefinition beanDefinition : this.requestScopedBeans) {
+            Object instance = instances[beanDefinition.scopeSlot];
+            if (instance != null) {
+                callMethodWithoutArgs(getOriginalInstance(beanDefinition, instance), beanDefinition.getDestroyMethod(), beanDefinition.getDestroyMethodName());
+            }
+        }
+    }
+
+    @Override
+    public void releaseBean(String name, Object bean) {
+        BeanDefinition beanDefinition = findBeanDefinition(name);
+        if (beanDefinition == null) {
+            throw new NoSuchBeanDefinitionException(String.format("No bean defined with name '%s'.", name));
+        }
+        if (!beanDefinition.isPrototype()) {
+            throw new IllegalArgumentException(String.format("Cannot release bean '%s' with scope '%s'.", name, beanDefinition.getScope()));
+        }
+        Queue<Object> pool = this.prototypePools.get(name);
+        if (pool == null || !pool.offer(bean)) {
+            callMethodWithoutArgs(getOriginalInstance(beanDefinition, bean), beanDefinition.getDestroyMethod(), beanDefinition.getDestroyMethodName());
+        }
+    }
+
+    private void applyScope(BeanDefinition beanDefinition, Class<?> beanClass, Scope scope) {
+        if (scope == null || Scope.SINGLETON.equals(scope.value())) {
+            return;
+        }
+        switch (scope.value()) {
+            case Scope.PROTOTYPE -> {
+            }
+            case Scope.THREAD, Scope.REQUEST -> {
+                if (!isProxyable(beanClass)) {
+                    throw new BeanDefinitionException(String.format("@Scope(\"%s\") bean '%s' must be public and not final.", scope.value(), beanClass.getName()));
+                }
+            }
+            default -> throw new BeanDefinitionException(String.format("Invalid scope '%s' of bean '%s'.", scope.value(), beanDefinition.getName()));
+        }
+        if (ClassUtils.findAnnotation(beanClass, Configuration.class) != null || BeanPostProcessor.class.isAssignableFrom(beanClass)) {
+            throw new BeanDefinitionException(String.format("Configuration or BeanPostProcessor '%s' must be singleton.", beanDefinition.getName()));
+        }
+        beanDefinition.scope = scope.value();
+        beanDefinition.poolSize = scope.poolSize();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object createLazyProxy(Class<?> type, Supplier<Object> target) {
+        if (!isProxyable(type)) {
+            throw new BeanCreationException(String.format("Cannot create lazy proxy for type '%s' which must be public and not final.", type.getName()));
+        }
+        return this.proxyResolver.createLazyProxy((Class<Object>) type, target);
+    }
+
+    private boolean isProxyable(Class<?> type) {
+        int modifiers = type.getModifiers();
+        return Modifier.isPublic(modifiers) && !Modifier.isFinal(modifiers) && !type.isPrimitive() && !type.isArray();
+    }
+
+    /**
+     * Check if bean is lazy by @Lazy or lazy-init mode. Configurations and post processors are always created at startup.
+     */
+    private boolean isLazy(Class<?> beanClass, Lazy lazy) {
+        if (ClassUtils.findAnnotation(beanClass, Configuration.class) != null || BeanPostProcessor.class.isAssignableFrom(beanClass)) {
+            return false;
+        }
+        // bind properties at startup so invalid properties fail fast:
+        if (beanClass.isAnnotationPresent(ConfigurationProperties.class)) {
+            return false;
+        }
+        if (lazy != null) {
+            if (lazy.value() && !isProxyable(beanClass)) {
+                throw new BeanDefinitionException(String.format("@Lazy bean '%s' must be public and not final.", beanClass.getName()));
+            }
+            return lazy.value();
+        }
+        // lazy-init mode only applies to beans which can be proxied:
+        return this.lazyInit && isProxyable(beanClass);
+    }
+
+    @Override
+    public StartupProfiler getStartupProfiler() {
+        return this.profiler;
+    }
+
+    /**
+     * Get names of lazy beans which have not been used.
+     */
+    public List<String> getUnusedLazyBeanNames() {
+        return this.lazyBeans.values().stream().filter(lazyBean -> !lazyBean.isCreated()).map(lazyBean -> lazyBean.beanDefinition.getName()).sorted().toList();
+    }
+
+    @SuppressWarnings("try")
     private void injectBean(BeanDefinition beanDefinition) {
-        try {
+        if (beanDefinition.isLazy() || !beanDefinition.isSingleton()) {
+            return;
+        }
+        try (var step = this.profiler.start(beanDefinition.getName(), StartupProfiler.INJECT)) {
             injectProperties(beanDefinition, beanDefinition.getBeanClass(), getOriginalInstance(beanDefinition));
         } catch (ReflectiveOperationException e) {
             throw new BeanCreationException(e);
@@ -282,19 +912,27 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
             Object propValue = this.propertyResolver.getRequiredProperty(value.value(), accessibleType);
             if (field != null) {
                 logger.atDebug().log("Field injection: {}.{} = {}", beanDefinition.getBeanClass().getName(), accessibleName, propValue);
-                field.set(instance, propValue);
+                set(field, instance, propValue);
             }
             
             if (method != null) {
                 logger.atDebug().log("Method injection: {}.{} ({})", beanDefinition.getBeanClass().getName(), accessibleName, propValue);
-                method.invoke(instance, propValue);
+                invoke(method, instance, propValue);
             }
         }
         
         if (autowired != null) {
             boolean required = autowired.value();
             String name = autowired.name();
-            Object dependency = name.isEmpty() ? findBean(accessibleType) : findBean(name, accessibleType);
+            Object dependency;
+            if (accessibleType == Refreshable.class) {
+                dependency = getRefreshable(field != null ? field.getGenericType() : method.getGenericParameterTypes()[0], name);
+            } else if (accessibleObject.isAnnotationPresent(Lazy.class)) {
+                BeanDefinition dependencyDefinition = name.isEmpty() ? findBeanDefinition(accessibleType) : findBeanDefinition(name, accessibleType);
+                dependency = dependencyDefinition == null ? null : createLazyReference(dependencyDefinition, accessibleType);
+            } else {
+                dependency = name.isEmpty() ? findBean(accessibleType) : findBean(name, accessibleType);
+            }
             if (required && dependency == null) {
                 throw new UnsatisfiedDependencyException(String.format("Dependency bean not found when inject %s.%s for bean '%s': %s",
                         clazz.getSimpleName(), accessibleName, beanDefinition.getName(), beanDefinition.getBeanClass().getName()));
@@ -302,20 +940,26 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
             if (dependency != null) {
                 if (field != null) {
                     logger.atDebug().log("Field injection: {}.{} = {}", beanDefinition.getBeanClass().getName(), accessibleName, dependency);
-                    field.set(instance, dependency);
+                    set(field, instance, dependency);
                 }
                 
                 if (method != null) {
                     logger.atDebug().log("Field injection: {}.{} = {}", beanDefinition.getBeanClass().getName(), accessibleName, dependency);
-                    method.invoke(instance, dependency);
+                    invoke(method, instance, dependency);
                 }
                 
             }
         }
     }
 
+    @SuppressWarnings("try")
     private void initBean(BeanDefinition beanDefinition) {
-        callMethodWithoutArgs(getOriginalInstance(beanDefinition), beanDefinition.getInitMethod(), beanDefinition.getInitMethodName());
+        if (beanDefinition.isLazy() || !beanDefinition.isSingleton()) {
+            return;
+        }
+        try (var step = this.profiler.start(beanDefinition.getName(), StartupProfiler.INIT)) {
+            callMethodWithoutArgs(getOriginalInstance(beanDefinition), beanDefinition.getInitMethod(), beanDefinition.getInitMethodName());
+        }
     }
     
     private void callMethodWithoutArgs(Object instance, Method method, String methodName) {
@@ -324,7 +968,7 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
                 throw new BeanCreationException(String.format("Method '%s' must not have argument", method.getName()));
             }
             try {
-                method.invoke(instance);
+                invoke(method, instance);
             } catch (ReflectiveOperationException e) {
                 throw new BeanCreationException(e);
             }
@@ -335,13 +979,73 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
                 throw new BeanCreationException(String.format("Method '%s' must not have argument", namedMethod.getName()));
             }
             try {
-                namedMethod.invoke(instance);
+                invoke(namedMethod, instance);
             } catch (ReflectiveOperationException e) {
                 throw new BeanCreationException(e);
             }
         }
     }
     
+    /**
+     * Find generated wiring of class, or null if AOT mode is disabled or no wiring was generated.
+     */
+    @Nullable
+    private BeanWiring findWiring(Class<?> clazz) {
+        if (!this.aot) {
+            return null;
+        }
+        return this.wirings.computeIfAbsent(clazz, key -> {
+            try {
+                Class<?> wiringClass = Class.forName(key.getName() + BeanWiring.CLASS_NAME_SUFFIX, true, key.getClassLoader());
+                logger.atDebug().log("use generated wiring: {}", wiringClass.getName());
+                return Optional.of((BeanWiring) wiringClass.getConstructor().newInstance());
+            } catch (ClassNotFoundException e) {
+                return Optional.empty();
+            } catch (ReflectiveOperationException e) {
+                throw new BeanCreationException("Cannot load generated wiring of class " + key.getName(), e);
+            }
+        }).orElse(null);
+    }
+
+    // call generated wiring if member is wired, otherwise by reflection. Exception of wiring is wrapped as reflection does:
+
+    private Object newInstance(Constructor<?> constructor, Object[] args) throws ReflectiveOperationException {
+        BeanWiring wiring = findWiring(constructor.getDeclaringClass());
+        if (wiring != null && wiring.isWired(BeanWiring.CONSTRUCTOR)) {
+            try {
+                return wiring.newInstance(args);
+            } catch (Exception e) {
+                throw new InvocationTargetException(e);
+            }
+        }
+        return constructor.newInstance(args);
+    }
+
+    private Object invoke(Method method, Object instance, Object... args) throws ReflectiveOperationException {
+        BeanWiring wiring = findWiring(method.getDeclaringClass());
+        if (wiring != null && wiring.isWired(BeanWiring.key(method))) {
+            try {
+                return wiring.invoke(instance, BeanWiring.key(method), args);
+            } catch (Exception e) {
+                throw new InvocationTargetException(e);
+            }
+        }
+        return method.invoke(instance, args);
+    }
+
+    private void set(Field field, Object instance, Object value) throws ReflectiveOperationException {
+        BeanWiring wiring = findWiring(field.getDeclaringClass());
+        if (wiring != null && wiring.isWired(field.getName())) {
+            try {
+                wiring.set(instance, field.getName(), value);
+            } catch (Exception e) {
+                throw new InvocationTargetException(e);
+            }
+            return;
+        }
+        field.set(instance, value);
+    }
+
     private Object[] getArgs(Object instance, Executable function) {
         Parameter[] parameters = function.getParameters();
         Object[] args = new Object[parameters.length];
@@ -364,7 +1068,9 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
                 args[i] = this.propertyResolver.getRequiredProperty(value.value(), type);
             }
 
-            if (autowired != null) {
+            if (autowired != null && type == Refreshable.class) {
+                args[i] = getRefreshable(parameter.getParameterizedType(), autowired.name());
+            } else if (autowired != null) {
                 boolean required = autowired.value();
                 String name = autowired.name();
                 BeanDefinition dependency = name.isEmpty() ? findBeanDefinition(type) : findBeanDefinition(name, type);
@@ -379,10 +1085,11 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
                         throw new BeanCreationException(String.format("Cannot specify @Autowired when create @Configuration bean '%s': %s at call function '%s': %s.",
                                 dependency.getName(), dependency.getBeanClass().getName(), instance.getClass().getName(), function.getName()));
                     }
-                    if (dependency.getInstance() == null) {
-                        dependency.setInstance(createBeanAsEarlySingleton(dependency));
+                    if (parameter.isAnnotationPresent(Lazy.class)) {
+                        args[i] = createLazyReference(dependency, type);
+                    } else {
+                        args[i] = getDependency(dependency);
                     }
-                    args[i] = dependency.getInstance();
                 } else {
                     args[i] = null;
                 }
@@ -392,6 +1099,92 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
         return args;
     }
     
+    @Nullable
+    private ConfigurationProperties getConfigurationProperties(BeanDefinition beanDefinition) {
+        return beanDefinition.getFactoryName() == null
+                ? beanDefinition.getBeanClass().getAnnotation(ConfigurationProperties.class)
+                : beanDefinition.getFactoryMethod().getAnnotation(ConfigurationProperties.class);
+    }
+
+    private Class<?> getRefreshableType(Type type) {
+        if (type instanceof ParameterizedType pt && pt.getActualTypeArguments()[0] instanceof Class<?> clazz) {
+            return clazz;
+        }
+        throw new BeanDefinitionException("Type argument of Refreshable must be a @ConfigurationProperties class: " + type);
+    }
+
+    /**
+     * Get holder of @ConfigurationProperties bean for injection point of Refreshable&lt;T&gt;.
+     */
+    private Refreshable<?> getRefreshable(Type type, String name) {
+        Class<?> clazz = getRefreshableType(type);
+        BeanDefinition beanDefinition = name.isEmpty() ? findBeanDefinition(clazz) : findBeanDefinition(name, clazz);
+        if (beanDefinition == null || !beanDefinition.isSingleton() || getConfigurationProperties(beanDefinition) == null) {
+            throw new UnsatisfiedDependencyException("No @ConfigurationProperties bean found for " + type);
+        }
+        Refreshable<Object> refreshable = this.refreshables.get(beanDefinition.getName());
+        if (refreshable == null) {
+            refreshable = new Refreshable<>(() -> getDependency(beanDefinition));
+            Refreshable<Object> existing = this.refreshables.putIfAbsent(beanDefinition.getName(), refreshable);
+            if (existing != null) {
+                refreshable = existing;
+            }
+        }
+        return refreshable;
+    }
+
+    /**
+     * Rebind @ConfigurationProperties beans affected by changed properties and publish PropertiesChangedEvent. New
+     * instances are created from the bean class or factory method like at startup, and all are bound before any is
+     * post processed, injected and initialized. So a failed binding keeps all current instances (and the event is
+     * still published as properties have changed).
+     *
+     * Injected instances are not changed: use Refreshable&lt;T&gt; or getBean() to read the latest instance.
+     */
+    private void refreshProperties(Set<String> propertyNames) {
+        PropertiesChangedEvent event = new PropertiesChangedEvent(propertyNames);
+        Map<BeanDefinition, Object> bound = new LinkedHashMap<>();
+        for (BeanDefinition beanDefinition : this.registry.sortedBeans) {
+            ConfigurationProperties properties = getConfigurationProperties(beanDefinition);
+            if (properties == null || !beanDefinition.isSingleton() || beanDefinition.isLazy() || beanDefinition.getInstance() == null
+                    || !event.hasPrefix(properties.prefix())) {
+                continue;
+            }
+            try {
+                bound.put(beanDefinition, instantiate(beanDefinition));
+            } catch (RuntimeException e) {
+                logger.atError().log("cannot rebind bean '{}' and keep all current properties beans.", beanDefinition.getName(), e);
+                bound.clear();
+                break;
+            }
+        }
+        bound.forEach((beanDefinition, raw) -> {
+            Object instance;
+            try {
+                instance = initInstance(beanDefinition, postProcessInstance(beanDefinition, raw));
+            } catch (RuntimeException e) {
+                logger.atError().log("cannot init rebound bean '{}' and keep current instance.", beanDefinition.getName(), e);
+                return;
+            }
+            logger.atInfo().log("rebind properties bean '{}': {}", beanDefinition.getName(), instance);
+            Object replaced = getDestroyInstance(beanDefinition);
+            beanDefinition.setInstance(instance);
+            Refreshable<Object> refreshable = this.refreshables.get(beanDefinition.getName());
+            if (refreshable != null) {
+                refreshable.set(instance);
+            }
+            // destroy replaced instance only after new one is registered:
+            if (replaced != null) {
+                try {
+                    callMethodWithoutArgs(replaced, beanDefinition.getDestroyMethod(), beanDefinition.getDestroyMethodName());
+                } catch (RuntimeException e) {
+                    logger.atWarn().log("destroy replaced bean '{}' failed.", beanDefinition.getName(), e);
+                }
+            }
+        });
+        this.eventPublisher.publishEvent(event);
+    }
+
     private boolean isConfiguration(BeanDefinition beanDefinition) {
         return ClassUtils.findAnnotation(beanDefinition.getBeanClass(), Configuration.class) != null;
     }
@@ -429,11 +1222,11 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
     @Override
     @SuppressWarnings("unchecked")
     public <T> T getBean(String name) {
-        BeanDefinition beanDefinition = this.beans.get(name);
+        BeanDefinition beanDefinition = this.registry.get(name);
         if (beanDefinition == null) {
             throw new NoSuchBeanDefinitionException(String.format("No bean defined with name '%s'.", name));
         }
-        return (T) beanDefinition.getRequiredInstance();
+        return (T) getInstance(beanDefinition);
     }
 
     @Override
@@ -448,7 +1241,7 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
 
     @Override
     public boolean containsBean(String name) {
-        return this.beans.containsKey(name);
+        return this.registry.get(name) != null;
     }
 
     @SuppressWarnings("unchecked")
@@ -459,31 +1252,163 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
         if (def == null) {
             throw new NoSuchBeanDefinitionException(String.format("No bean defined with type '%s'.", requiredType));
         }
-        return (T) def.getRequiredInstance();
+        return (T) getInstance(def);
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T> List<T> getBeans(Class<T> requiredType) {
-        return findBeanDefinitions(requiredType).stream().map(beanDefinition -> (T) beanDefinition.getRequiredInstance()).toList();
+        return findBeanDefinitions(requiredType).stream().map(beanDefinition -> (T) getInstance(beanDefinition)).toList();
     }
 
     @Override
     public void close() {
         logger.atInfo().log("Closing {}...", this.getClass().getName());
+        this.propertyResolver.removeChangeListener(this.propertiesListener);
+
+        try {
+            this.eventPublisher.publishEvent(new ContextClosedEvent(this));
+        } catch (RuntimeException e) {
+            logger.atWarn().log("Exception when publish ContextClosedEvent.", e);
+        }
+
+        destroyThreadScopes();
+        destroyBeans();
+
+        List<String> unusedLazyBeanNames = getUnusedLazyBeanNames();
+        if (!unusedLazyBeanNames.isEmpty()) {
+            logger.atInfo().log("{} lazy beans were never used: {}", unusedLazyBeanNames.size(), String.join(", ", unusedLazyBeanNames));
+        }
         
-        this.beans.values().forEach(beanDefinition -> callMethodWithoutArgs(getOriginalInstance(beanDefinition), beanDefinition.getDestroyMethod(), beanDefinition.getDestroyMethodName()));
-        
-        this.beans.clear();
+        this.registry = BeanRegistry.EMPTY;
 
         logger.atInfo().log("{} closed.", this.getClass().getName());
         
-        ApplicationContextUtils.setApplicationContext(null);
+        ApplicationContextUtils.removeApplicationContext(this);
+    }
+
+    /**
+     * Destroy thread scoped beans of all threads before singletons they may depend on, and clear thread scope so a
+     * thread does not keep instances of closed context.
+     */
+    private void destroyThreadScopes() {
+        this.threadScope.remove();
+        for (Object[] instances : this.threadScopes) {
+            for (BeanDefinition beanDefinition : this.threadScopedBeans) {
+                Object instance = instances[beanDefinition.scopeSlot];
+                if (instance == null) {
+                    continue;
+                }
+                instances[beanDefinition.scopeSlot] = null;
+                try {
+                    callMethodWithoutArgs(getOriginalInstance(beanDefinition, instance), beanDefinition.getDestroyMethod(), beanDefinition.getDestroyMethodName());
+                } catch (RuntimeException e) {
+                    logger.atWarn().log("destroy thread scoped bean '{}' failed.", beanDefinition.getName(), e);
+                }
+            }
+        }
+        this.threadScopes.clear();
+    }
+
+    /**
+     * Destroy singletons in reverse dependency order: a bean is destroyed after all beans depending on it, and beans
+     * which do not depend on each other are destroyed in parallel. Built-in beans are destroyed before all others, so no
+     * event or scheduled task reaches a destroyed bean.
+     *
+     * A bean not destroyed within "winter.context.destroy-timeout.{beanName}" (or "winter.context.destroy-timeout")
+     * milliseconds is abandoned with a warning, and close() returns after "winter.context.shutdown-timeout" at most.
+     */
+    private void destroyBeans() {
+        long shutdownTimeout = this.propertyResolver.getProperty("${winter.context.shutdown-timeout:30000}", long.class);
+        long defaultTimeout = this.propertyResolver.getProperty("${winter.context.destroy-timeout:" + shutdownTimeout + "}", long.class);
+        // prototype and request scoped beans of other threads are not tracked, and thread scoped beans are destroyed already:
+        List<BeanDefinition> singletons = this.registry.sortedBeans.stream().filter(BeanDefinition::isSingleton).toList();
+        // edge from dependency to bean which depends on it, so dependency waits:
+        BeanDependencyGraph graph = new BeanDependencyGraph(singletons);
+        for (BeanDefinition beanDefinition : singletons) {
+            if (beanDefinition.isBuiltin()) {
+                continue;
+            }
+            for (BeanDefinition builtin : singletons) {
+                if (builtin.isBuiltin()) {
+                    graph.addDependency(beanDefinition, builtin);
+                }
+            }
+            List<BeanDefinition> dependencies = new ArrayList<>(findCreateDependencies(beanDefinition));
+            dependencies.addAll(findInjectDependencies(beanDefinition, beanDefinition.getBeanClass()));
+            dependencies.stream().filter(dependency -> !dependency.isBuiltin()).forEach(dependency -> graph.addDependency(dependency, beanDefinition));
+        }
+
+        long start = System.nanoTime();
+        Map<String, Long> durations = new ConcurrentHashMap<>();
+        Map<String, CompletableFuture<Void>> futures = new LinkedHashMap<>();
+        ExecutorService executor = Executors.newCachedThreadPool(ThreadUtils.newDaemonThreadFactory("destroy"));
+        try {
+            for (BeanDefinition beanDefinition : graph.sort(true)) {
+                CompletableFuture<?>[] waitFor = graph.dependencies.get(beanDefinition.getName()).stream()
+                        .map(dependency -> futures.get(dependency.getName())).toArray(CompletableFuture[]::new);
+                Object instance = getDestroyInstance(beanDefinition);
+                if (instance == null) {
+                    futures.put(beanDefinition.getName(), CompletableFuture.allOf(waitFor));
+                    continue;
+                }
+                String name = beanDefinition.getName();
+                long timeout = this.propertyResolver.getProperty("${winter.context.destroy-timeout." + name + ":" + defaultTimeout + "}", long.class);
+                // destroy even if beans depending on it failed or were abandoned:
+                futures.put(name, CompletableFuture.allOf(waitFor).handle((r, e) -> r).thenCompose(r -> CompletableFuture.runAsync(() -> {
+                    long t = System.nanoTime();
+                    try {
+                        callMethodWithoutArgs(instance, beanDefinition.getDestroyMethod(), beanDefinition.getDestroyMethodName());
+                    } finally {
+                        durations.put(name, System.nanoTime() - t);
+                    }
+                }, executor).orTimeout(timeout, TimeUnit.MILLISECONDS).exceptionally(e -> {
+                    if (e instanceof TimeoutException) {
+                        logger.atWarn().log("bean '{}' not destroyed in {} ms, abandoned.", name, timeout);
+                    } else {
+                        logger.atWarn().log("destroy bean '{}' failed.", name, e instanceof CompletionException ? e.getCause() : e);
+                    }
+                    return null;
+                })));
+            }
+            CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)).get(shutdownTimeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            List<String> names = futures.entrySet().stream().filter(entry -> !entry.getValue().isDone()).map(Map.Entry::getKey).toList();
+            logger.atWarn().log("shutdown not finished in {} ms, abandon {} beans: {}", shutdownTimeout, names.size(), String.join(", ", names));
+        } catch (InterruptedException e) {
+            logger.atWarn().log("shutdown interrupted, abandon remaining beans.");
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // failures are logged by each bean
+        } finally {
+            executor.shutdown();
+        }
+
+        String report = durations.entrySet().stream().sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .map(entry -> String.format("%s=%.3fms", entry.getKey(), entry.getValue() / 1_000_000.0)).collect(Collectors.joining(", "));
+        logger.atInfo().log("destroyed {} beans in {} ms: {}", durations.size(), (System.nanoTime() - start) / 1_000_000, report);
+    }
+
+    /**
+     * Get original instance to call destroy method on, or null if bean has no destroy method or is never created.
+     */
+    @Nullable
+    private Object getDestroyInstance(BeanDefinition beanDefinition) {
+        if (beanDefinition.getDestroyMethod() == null && beanDefinition.getDestroyMethodName() == null) {
+            return null;
+        }
+        if (beanDefinition.isLazy()) {
+            LazyBean lazyBean = this.lazyBeans.get(beanDefinition.getName());
+            return lazyBean != null && lazyBean.isCreated() ? getOriginalInstance(beanDefinition, lazyBean.target) : null;
+        }
+        return beanDefinition.getInstance() == null ? null : getOriginalInstance(beanDefinition);
     }
 
     private Object getOriginalInstance(BeanDefinition beanDefinition) {
-        Object proxiedInstance = beanDefinition.getRequiredInstance();
-        
+        return getOriginalInstance(beanDefinition, beanDefinition.getRequiredInstance());
+    }
+
+    private Object getOriginalInstance(BeanDefinition beanDefinition, Object proxiedInstance) {
         List<BeanPostProcessor> reversedBeanProcessors = new ArrayList<>(this.beanPostProcessors);
         Collections.reverse(reversedBeanProcessors);
         for (BeanPostProcessor beanPostProcessor : reversedBeanProcessors) {
@@ -506,7 +1431,7 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
             return null;
         }
         
-        return (T) beanDefinition.getRequiredInstance();
+        return (T) getInstance(beanDefinition);
     }
 
     @Nullable
@@ -517,39 +1442,24 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
             return null;
         }
 
-        return (T) beanDefinition.getRequiredInstance();
+        return (T) getInstance(beanDefinition);
     }
 
     @Nullable
     @Override
     public BeanDefinition findBeanDefinition(String beanName) {
-        return this.beans.get(beanName);
+        return this.registry.get(beanName);
     }
 
     @Override
     public List<BeanDefinition> findBeanDefinitions(Class<?> requiredType) {
-        return this.beans.values().stream().filter(beanDefinition -> requiredType.isAssignableFrom(beanDefinition.getBeanClass())).sorted().toList();
+        return this.registry.getAll(requiredType);
     }
 
     @Nullable
     @Override
     public BeanDefinition findBeanDefinition(Class<?> type) {
-        List<BeanDefinition> beanDefinitions = findBeanDefinitions(type);
-        if (beanDefinitions.isEmpty()) {
-            return null;
-        }
-        if (beanDefinitions.size() == 1) {
-            return beanDefinitions.get(0);
-        }
-        List<BeanDefinition> primaryDefinitions = beanDefinitions.stream().filter(BeanDefinition::isPrimary).toList();
-        if (primaryDefinitions.size() == 1) {
-            return primaryDefinitions.get(0);
-        }
-        if (primaryDefinitions.isEmpty()) {
-            throw new RuntimeException(String.format("Multiple bean with type '%s' found, but no @Primary specified.", type.getName()));
-        } else {
-            throw new RuntimeException(String.format("Multiple bean with type '%s' found, and multiple @Primary specified.", type.getName()));
-        }
+        return this.registry.getUnique(type);
     }
 
     @Nullable
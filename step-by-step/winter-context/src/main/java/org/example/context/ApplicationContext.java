@@ -29,6 +29,11 @@ public interface ApplicationContext extends AutoCloseable {
      */
     <T> List<T> getBeans(Class<T> requiredType);
 
+    /**
+     * 将prototype Bean放回池中复用，未配置池或池已满时执行destroy方法
+     */
+    void releaseBean(String name, Object bean);
+
     /**
      * 关闭并执行所有bean的destroy方法
      */
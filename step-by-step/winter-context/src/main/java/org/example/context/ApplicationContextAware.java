@@ -0,0 +1,9 @@
+package org.example.context;
+
+/**
+ * Bean which needs the context creating it. Called after the bean is instantiated and before any BeanPostProcessor.
+ */
+public interface ApplicationContextAware {
+
+    void setApplicationContext(ApplicationContext applicationContext);
+}
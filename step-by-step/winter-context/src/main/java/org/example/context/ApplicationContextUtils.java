@@ -3,11 +3,19 @@ package org.example.context;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 
+import java.util.Deque;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedDeque;
 
+/**
+ * Tracks live application contexts, so multiple contexts (e.g. of tests running in parallel) can exist in one JVM.
+ *
+ * getApplicationContext() returns the latest created context which is not closed. Beans should implement
+ * ApplicationContextAware to get their own context instead.
+ */
 public class ApplicationContextUtils {
 
-    private static ApplicationContext applicationContext = null;
+    private static final Deque<ApplicationContext> applicationContexts = new ConcurrentLinkedDeque<>();
 
     @Nonnull
     public static ApplicationContext getRequiredApplicationContext() {
@@ -16,10 +24,14 @@ public class ApplicationContextUtils {
 
     @Nullable
     public static ApplicationContext getApplicationContext() {
-        return applicationContext;
+        return applicationContexts.peekLast();
     }
 
-    static void setApplicationContext(ApplicationContext ctx) {
-        applicationContext = ctx;
+    static void addApplicationContext(ApplicationContext ctx) {
+        applicationContexts.addLast(ctx);
+    }
+
+    static void removeApplicationContext(ApplicationContext ctx) {
+        applicationContexts.remove(ctx);
     }
 }
@@ -1,5 +1,6 @@
 package org.example.context;
 
+import org.example.annotation.Scope;
 import org.example.exception.BeanCreationException;
 
 import java.lang.reflect.Constructor;
@@ -12,7 +13,7 @@ public class BeanDefinition implements Comparable<BeanDefinition> {
 
     private Class<?> beanClass;
 
-    private Object instance;
+    private volatile Object instance;
 
     private Constructor<?> constructor;
 
@@ -24,6 +25,15 @@ public class BeanDefinition implements Comparable<BeanDefinition> {
 
     boolean primary;
 
+    boolean lazy;
+    // defined by context itself, e.g. event publisher:
+    boolean builtin;
+
+    String scope = Scope.SINGLETON;
+    // index in per-thread or per-request instance array of thread or request scoped bean:
+    int scopeSlot = -1;
+    int poolSize;
+
     private String initMethodName;
     private String destroyMethodName;
 
@@ -77,6 +87,26 @@ public class BeanDefinition implements Comparable<BeanDefinition> {
         return primary;
     }
 
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    public boolean isBuiltin() {
+        return builtin;
+    }
+
+    public String getScope() {
+        return scope;
+    }
+
+    public boolean isSingleton() {
+        return Scope.SINGLETON.equals(scope);
+    }
+
+    public boolean isPrototype() {
+        return Scope.PROTOTYPE.equals(scope);
+    }
+
     public String getInitMethodName() {
         return initMethodName;
     }
@@ -109,7 +139,7 @@ public class BeanDefinition implements Comparable<BeanDefinition> {
     public String toString() {
         return "BeanDefinition [name=" + name + ", beanClass=" + beanClass.getName() + ", factory=" + getCreateDetail() + ", init-method="
                 + (initMethod == null ? "null" : initMethod.getName()) + ", destroy-method=" + (destroyMethod == null ? "null" : destroyMethod.getName())
-                + ", primary=" + primary + ", instance=" + instance + "]";
+                + ", primary=" + primary + ", lazy=" + lazy + ", scope=" + scope + ", instance=" + (lazy ? "<lazy>" : instance) + "]";
     }
 
     String getCreateDetail() {
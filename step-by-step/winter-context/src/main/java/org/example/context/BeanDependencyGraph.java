@@ -0,0 +1,119 @@
+package org.example.context;
+
+import org.example.exception.BeanCreationException;
+import org.example.exception.UnsatisfiedDependencyException;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Dependency graph of beans, used to run a task on every bean in parallel while each bean waits for its dependencies.
+ */
+class BeanDependencyGraph {
+
+    final List<BeanDefinition> beans;
+    final Map<String, Set<BeanDefinition>> dependencies = new HashMap<>();
+
+    BeanDependencyGraph(Collection<BeanDefinition> beans) {
+        this.beans = beans.stream().sorted().toList();
+        this.beans.forEach(beanDefinition -> this.dependencies.put(beanDefinition.getName(), new LinkedHashSet<>()));
+    }
+
+    /**
+     * Add dependency. Ignored if bean or dependency is not in graph.
+     */
+    void addDependency(BeanDefinition beanDefinition, BeanDefinition dependency) {
+        Set<BeanDefinition> beanDependencies = this.dependencies.get(beanDefinition.getName());
+        if (dependency != beanDefinition && beanDependencies != null && this.dependencies.containsKey(dependency.getName())) {
+            beanDependencies.add(dependency);
+        }
+    }
+
+    /**
+     * Sort beans so that each bean comes after its dependencies.
+     *
+     * @param breakCycles Remove the edge which closes a cycle if true, otherwise throw UnsatisfiedDependencyException.
+     */
+    List<BeanDefinition> sort(boolean breakCycles) {
+        List<BeanDefinition> sorted = new ArrayList<>(this.beans.size());
+        Map<String, Boolean> visited = new HashMap<>(); // false = visiting, true = done
+        for (BeanDefinition beanDefinition : this.beans) {
+            visit(beanDefinition, visited, new ArrayDeque<>(), sorted, breakCycles);
+        }
+        return sorted;
+    }
+
+    void visit(BeanDefinition beanDefinition, Map<String, Boolean> visited, Deque<String> path, List<BeanDefinition> sorted, boolean breakCycles) {
+        Boolean state = visited.get(beanDefinition.getName());
+        if (state != null) {
+            return;
+        }
+        visited.put(beanDefinition.getName(), Boolean.FALSE);
+        path.addLast(beanDefinition.getName());
+        Iterator<BeanDefinition> it = this.dependencies.get(beanDefinition.getName()).iterator();
+        while (it.hasNext()) {
+            BeanDefinition dependency = it.next();
+            if (visited.get(dependency.getName()) == Boolean.FALSE) {
+                if (!breakCycles) {
+                    throw new UnsatisfiedDependencyException(String.format("Circular dependency detected: %s -> %s", String.join(" -> ", path), dependency.getName()));
+                }
+                it.remove();
+                continue;
+            }
+            visit(dependency, visited, path, sorted, breakCycles);
+        }
+        path.removeLast();
+        visited.put(beanDefinition.getName(), Boolean.TRUE);
+        sorted.add(beanDefinition);
+    }
+
+    /**
+     * Run task on every bean after the task completed on all of its dependencies. Task is not run on a bean if any of
+     * its dependencies failed.
+     *
+     * If tasks failed, the failure of the first bean in bean order is thrown with other failures suppressed, so the
+     * reported error does not depend on thread scheduling.
+     */
+    void execute(Executor executor, Consumer<BeanDefinition> task, boolean breakCycles) {
+        Map<String, CompletableFuture<Void>> futures = new HashMap<>();
+        Map<String, Throwable> failures = new ConcurrentHashMap<>();
+        for (BeanDefinition beanDefinition : sort(breakCycles)) {
+            CompletableFuture<?>[] waitFor = this.dependencies.get(beanDefinition.getName()).stream().map(dependency -> futures.get(dependency.getName()))
+                    .toArray(CompletableFuture[]::new);
+            futures.put(beanDefinition.getName(), CompletableFuture.allOf(waitFor).thenRunAsync(() -> {
+                try {
+                    task.accept(beanDefinition);
+                } catch (RuntimeException | Error e) {
+                    failures.put(beanDefinition.getName(), e);
+                    throw e;
+                }
+            }, executor));
+        }
+        try {
+            CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            // collected in failures
+        }
+        if (failures.isEmpty()) {
+            return;
+        }
+        RuntimeException first = null;
+        for (BeanDefinition beanDefinition : this.beans) {
+            Throwable t = failures.get(beanDefinition.getName());
+            if (t == null) {
+                continue;
+            }
+            if (first == null) {
+                first = t instanceof RuntimeException re ? re
+                        : new BeanCreationException(String.format("Error when process bean '%s': %s", beanDefinition.getName(), beanDefinition.getBeanClass().getName()), t);
+            } else {
+                first.addSuppressed(t);
+            }
+        }
+        throw first;
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.context;
+
+import jakarta.annotation.Nullable;
+
+import java.util.*;
+
+/**
+ * Immutable bean definitions indexed by name and by every superclass and interface of bean class, so lookups by type
+ * need no iteration, sorting or locking.
+ */
+final class BeanRegistry {
+
+    static final BeanRegistry EMPTY = new BeanRegistry(Map.of());
+
+    final Map<String, BeanDefinition> beansByName;
+    final List<BeanDefinition> sortedBeans;
+    final Map<Class<?>, List<BeanDefinition>> beansByType;
+    final Map<Class<?>, Candidate> candidatesByType;
+
+    BeanRegistry(Map<String, BeanDefinition> beans) {
+        this.beansByName = Map.copyOf(beans);
+        this.sortedBeans = beans.values().stream().sorted().toList();
+        Map<Class<?>, List<BeanDefinition>> byType = new HashMap<>();
+        for (BeanDefinition beanDefinition : this.sortedBeans) {
+            for (Class<?> type : allTypes(beanDefinition.getBeanClass())) {
+                byType.computeIfAbsent(type, key -> new ArrayList<>()).add(beanDefinition);
+            }
+        }
+        Map<Class<?>, List<BeanDefinition>> beansByType = new HashMap<>();
+        Map<Class<?>, Candidate> candidatesByType = new HashMap<>();
+        byType.forEach((type, list) -> {
+            beansByType.put(type, List.copyOf(list));
+            candidatesByType.put(type, Candidate.resolve(type, list));
+        });
+        this.beansByType = Map.copyOf(beansByType);
+        this.candidatesByType = Map.copyOf(candidatesByType);
+    }
+
+    @Nullable
+    BeanDefinition get(String name) {
+        return this.beansByName.get(name);
+    }
+
+    /**
+     * Get beans assignable to type, sorted by order and name.
+     */
+    List<BeanDefinition> getAll(Class<?> type) {
+        List<BeanDefinition> list = this.beansByType.get(type);
+        if (list != null) {
+            return list;
+        }
+        if (type.isArray()) {
+            // array types are covariant and not indexed:
+            return this.sortedBeans.stream().filter(beanDefinition -> type.isAssignableFrom(beanDefinition.getBeanClass())).toList();
+        }
+        return List.of();
+    }
+
+    /**
+     * Get the only bean, or the @Primary one if there are multiple beans assignable to type.
+     *
+     * @return BeanDefinition, or null if not found.
+     * @throws RuntimeException If no unique bean can be selected.
+     */
+    @Nullable
+    BeanDefinition getUnique(Class<?> type) {
+        Candidate candidate = this.candidatesByType.get(type);
+        if (candidate == null) {
+            List<BeanDefinition> list = getAll(type);
+            if (list.isEmpty()) {
+                return null;
+            }
+            candidate = Candidate.resolve(type, list);
+        }
+        if (candidate.error != null) {
+            throw new RuntimeException(candidate.error);
+        }
+        return candidate.beanDefinition;
+    }
+
+    static Set<Class<?>> allTypes(Class<?> clazz) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        Deque<Class<?>> queue = new ArrayDeque<>();
+        queue.add(clazz);
+        while (!queue.isEmpty()) {
+            Class<?> type = queue.poll();
+            if (types.add(type)) {
+                if (type.getSuperclass() != null) {
+                    queue.add(type.getSuperclass());
+                }
+                queue.addAll(Arrays.asList(type.getInterfaces()));
+            }
+        }
+        if (clazz.isInterface()) {
+            types.add(Object.class);
+        }
+        return types;
+    }
+
+    /**
+     * Resolved bean of a type, or the error to throw when resolving.
+     */
+    record Candidate(BeanDefinition beanDefinition, String error) {
+
+        static Candidate resolve(Class<?> type, List<BeanDefinition> beanDefinitions) {
+            if (beanDefinitions.size() == 1) {
+                return new Candidate(beanDefinitions.get(0), null);
+            }
+            List<BeanDefinition> primaryDefinitions = beanDefinitions.stream().filter(BeanDefinition::isPrimary).toList();
+            if (primaryDefinitions.size() == 1) {
+                return new Candidate(primaryDefinitions.get(0), null);
+            }
+            if (primaryDefinitions.isEmpty()) {
+                return new Candidate(null, String.format("Multiple bean with type '%s' found, but no @Primary specified.", type.getName()));
+            } else {
+                return new Candidate(null, String.format("Multiple bean with type '%s' found, and multiple @Primary specified.", type.getName()));
+            }
+        }
+    }
+}
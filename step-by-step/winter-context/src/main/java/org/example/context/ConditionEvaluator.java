@@ -0,0 +1,95 @@
+package org.example.context;
+
+import org.example.PropertyResolver;
+import org.example.annotation.ConditionalOnClass;
+import org.example.annotation.ConditionalOnMissingBean;
+import org.example.annotation.ConditionalOnProperty;
+import org.example.annotation.Profile;
+import org.example.util.ClassUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Evaluates @Profile, @ConditionalOnProperty, @ConditionalOnClass and @ConditionalOnMissingBean on @Component classes
+ * and @Bean methods when bean definitions are created, before any bean is instantiated.
+ */
+final class ConditionEvaluator {
+
+    final PropertyResolver propertyResolver;
+    final ClassLoader classLoader;
+    final Set<String> activeProfiles;
+
+    ConditionEvaluator(PropertyResolver propertyResolver, ClassLoader classLoader) {
+        this.propertyResolver = propertyResolver;
+        this.classLoader = classLoader;
+        this.activeProfiles = Arrays.stream(propertyResolver.getProperty("${winter.profiles.active:default}").split(","))
+                .map(String::strip).filter(s -> !s.isEmpty()).collect(Collectors.toUnmodifiableSet());
+    }
+
+    Set<String> getActiveProfiles() {
+        return this.activeProfiles;
+    }
+
+    /**
+     * Check @Profile, @ConditionalOnProperty and @ConditionalOnClass, which do not depend on other beans.
+     */
+    boolean matches(AnnotatedElement element) {
+        Profile profile = findAnnotation(element, Profile.class);
+        if (profile != null && Arrays.stream(profile.value()).noneMatch(this::isProfileActive)) {
+            return false;
+        }
+        ConditionalOnProperty onProperty = findAnnotation(element, ConditionalOnProperty.class);
+        if (onProperty != null && !matchesProperty(onProperty)) {
+            return false;
+        }
+        ConditionalOnClass onClass = findAnnotation(element, ConditionalOnClass.class);
+        return onClass == null || Arrays.stream(onClass.value()).allMatch(this::isClassPresent);
+    }
+
+    /**
+     * Check @ConditionalOnMissingBean against bean definitions already defined.
+     */
+    boolean matchesMissingBean(AnnotatedElement element, Class<?> beanClass, Collection<BeanDefinition> beanDefinitions) {
+        ConditionalOnMissingBean onMissingBean = findAnnotation(element, ConditionalOnMissingBean.class);
+        if (onMissingBean == null) {
+            return true;
+        }
+        Class<?>[] types = onMissingBean.value().length == 0 ? new Class<?>[] { beanClass } : onMissingBean.value();
+        return beanDefinitions.stream().noneMatch(def -> Arrays.stream(types).anyMatch(type -> type.isAssignableFrom(def.getBeanClass())));
+    }
+
+    boolean hasMissingBeanCondition(AnnotatedElement element) {
+        return findAnnotation(element, ConditionalOnMissingBean.class) != null;
+    }
+
+    boolean isProfileActive(String profile) {
+        return profile.startsWith("!") ? !this.activeProfiles.contains(profile.substring(1)) : this.activeProfiles.contains(profile);
+    }
+
+    boolean matchesProperty(ConditionalOnProperty onProperty) {
+        String value = this.propertyResolver.getProperty(onProperty.name());
+        if (value == null) {
+            return onProperty.matchIfMissing();
+        }
+        return onProperty.havingValue().isEmpty() ? !"false".equalsIgnoreCase(value) : onProperty.havingValue().equals(value);
+    }
+
+    boolean isClassPresent(String className) {
+        try {
+            Class.forName(className, false, this.classLoader);
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    <A extends Annotation> A findAnnotation(AnnotatedElement element, Class<A> annotationClass) {
+        return element instanceof Class<?> clazz ? ClassUtils.findAnnotation(clazz, annotationClass) : ((Method) element).getAnnotation(annotationClass);
+    }
+}
@@ -21,4 +21,21 @@ public interface ConfigurableApplicationContext extends ApplicationContext {
     BeanDefinition findBeanDefinition(String name, Class<?> requiredType);
 
     Object createBeanAsEarlySingleton(BeanDefinition def);
+
+    /**
+     * Start request scope on current thread.
+     *
+     * @return True if started, or false if already started or there is no request scoped bean.
+     */
+    boolean beginRequestScope();
+
+    /**
+     * End request scope on current thread and destroy request scoped beans created in it.
+     */
+    void endRequestScope();
+
+    /**
+     * Get profiler which records startup time of context and beans.
+     */
+    StartupProfiler getStartupProfiler();
 }
@@ -0,0 +1,347 @@
+package org.example.context;
+
+import jakarta.annotation.Nonnull;
+import org.example.PropertyResolver;
+import org.example.exception.BeanCreationException;
+import org.example.exception.BeanDefinitionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.*;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Binds @ConfigurationProperties classes and records. How to bind a class (constructor, property names, setters or
+ * fields) is computed once per class and cached, and the bound instance is a plain object which costs nothing to read.
+ *
+ * Supports types converted by PropertyResolver, enums, nested objects and List of them. A list is bound from indexed
+ * properties "hosts[0]", "hosts[1]", as YAML list is flattened, or from a comma separated value. Duration also accepts
+ * "500ms", "30s", "5m", "2h", "1d" (plain number as milliseconds), and int / long also accept data size like "64KB".
+ */
+final class ConfigurationPropertiesBinder {
+
+    static final Logger logger = LoggerFactory.getLogger(ConfigurationPropertiesBinder.class);
+
+    static final Object MISSING = new Object();
+    static final Pattern DURATION = Pattern.compile("\\s*(-?\\d+)\\s*(ns|us|ms|s|m|h|d)?\\s*", Pattern.CASE_INSENSITIVE);
+    static final Pattern SIZE = Pattern.compile("\\s*(\\d+)\\s*(B|KB|MB|GB|TB)\\s*", Pattern.CASE_INSENSITIVE);
+    static final ClassValue<TypeBinder> binders = new ClassValue<>() {
+        @Override
+        protected TypeBinder computeValue(Class<?> type) {
+            return createBinder(type);
+        }
+    };
+
+    final PropertyResolver propertyResolver;
+    // names of current properties, computed again after update():
+    volatile PropertyNames names;
+
+    ConfigurationPropertiesBinder(PropertyResolver propertyResolver) {
+        this.propertyResolver = propertyResolver;
+    }
+
+    PropertyNames names() {
+        Set<String> current = this.propertyResolver.getPropertyNames();
+        PropertyNames names = this.names;
+        if (names == null || names.propertyNames() != current) {
+            names = new PropertyNames(current);
+            this.names = names;
+        }
+        return names;
+    }
+
+    /**
+     * Create instance of class or record bound from properties with prefix.
+     */
+    Object bind(Class<?> type, String prefix) {
+        Set<String> bound = new HashSet<>();
+        Object instance = getBinder(type).create(this, prefix, bound);
+        warnUnbound(prefix, bound, type);
+        return instance;
+    }
+
+    /**
+     * Bind properties with prefix to existing instance, e.g. returned by @Bean method.
+     */
+    void bindTo(Object instance, String prefix) {
+        Class<?> type = instance.getClass();
+        if (type.isRecord()) {
+            throw new BeanCreationException("Cannot bind properties to existing record: " + type.getName());
+        }
+        Set<String> bound = new HashSet<>();
+        getBinder(type).bindTo(this, instance, prefix, bound);
+        warnUnbound(prefix, bound, type);
+    }
+
+    void warnUnbound(String prefix, Set<String> bound, Class<?> type) {
+        String start = prefix + ".";
+        for (String name : names().propertyNames()) {
+            if (name.startsWith(start) && !bound.contains(name)) {
+                logger.atWarn().log("property '{}' is not bound to {}.", name, type.getName());
+            }
+        }
+    }
+
+    Object bindValue(String key, Class<?> type, Type genericType, Set<String> bound) {
+        if (type == List.class || type == Collection.class) {
+            return bindList(key, genericType, bound);
+        }
+        if (isNested(type)) {
+            return names().prefixes().contains(key + ".") ? getBinder(type).create(this, key, bound) : MISSING;
+        }
+        if (!names().propertyNames().contains(key)) {
+            return MISSING;
+        }
+        bound.add(key);
+        return convert(key, this.propertyResolver.getProperty(key), type);
+    }
+
+    Object bindList(String key, Type genericType, Set<String> bound) {
+        Type elementGenericType = genericType instanceof ParameterizedType pt ? pt.getActualTypeArguments()[0] : String.class;
+        Class<?> elementType = elementGenericType instanceof ParameterizedType pt ? (Class<?>) pt.getRawType()
+                : elementGenericType instanceof Class<?> c && c != Object.class ? c : String.class;
+        List<Object> list = new ArrayList<>();
+        if (!isNested(elementType) && names().propertyNames().contains(key)) {
+            bound.add(key);
+            for (String value : this.propertyResolver.getProperty(key).split(",")) {
+                if (!value.isBlank()) {
+                    list.add(convert(key, value.strip(), elementType));
+                }
+            }
+            return List.copyOf(list);
+        }
+        for (int i = 0; ; i++) {
+            Object element = bindValue(key + "[" + i + "]", elementType, elementGenericType, bound);
+            if (element == MISSING) {
+                break;
+            }
+            list.add(element);
+        }
+        return list.isEmpty() ? MISSING : List.copyOf(list);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    Object convert(String key, String value, Class<?> type) {
+        try {
+            if (type.isEnum()) {
+                return Enum.valueOf((Class<? extends Enum>) type, value.strip().toUpperCase().replace('-', '_'));
+            }
+            if (type == Duration.class) {
+                return parseDuration(value);
+            }
+            if (type == int.class || type == Integer.class || type == long.class || type == Long.class) {
+                Matcher matcher = SIZE.matcher(value);
+                if (matcher.matches()) {
+                    long size = parseSize(matcher);
+                    if (type == long.class || type == Long.class) {
+                        return size;
+                    }
+                    return Math.toIntExact(size);
+                }
+            }
+            return this.propertyResolver.convert(value, type);
+        } catch (RuntimeException e) {
+            throw new BeanCreationException(String.format("Cannot bind property '%s' to type %s: %s", key, type.getName(), value), e);
+        }
+    }
+
+    static Duration parseDuration(String value) {
+        Matcher matcher = DURATION.matcher(value);
+        if (!matcher.matches()) {
+            return Duration.parse(value.strip());
+        }
+        long amount = Long.parseLong(matcher.group(1));
+        String unit = matcher.group(2) == null ? "ms" : matcher.group(2).toLowerCase();
+        return Duration.of(amount, switch (unit) {
+            case "ns" -> ChronoUnit.NANOS;
+            case "us" -> ChronoUnit.MICROS;
+            case "ms" -> ChronoUnit.MILLIS;
+            case "s" -> ChronoUnit.SECONDS;
+            case "m" -> ChronoUnit.MINUTES;
+            case "h" -> ChronoUnit.HOURS;
+            default -> ChronoUnit.DAYS;
+        });
+    }
+
+    static long parseSize(Matcher matcher) {
+        long size = Long.parseLong(matcher.group(1));
+        int shift = switch (matcher.group(2).toUpperCase()) {
+            case "KB" -> 10;
+            case "MB" -> 20;
+            case "GB" -> 30;
+            case "TB" -> 40;
+            default -> 0;
+        };
+        if (size > Long.MAX_VALUE >> shift) {
+            throw new ArithmeticException("size overflow");
+        }
+        return size << shift;
+    }
+
+    /**
+     * Bind user class as nested object, and JDK or Java EE class as value.
+     */
+    static boolean isNested(Class<?> type) {
+        if (type.isPrimitive() || type.isEnum() || type.isArray()) {
+            return false;
+        }
+        String name = type.getName();
+        return !name.startsWith("java.") && !name.startsWith("javax.") && !name.startsWith("jakarta.");
+    }
+
+    /**
+     * Get binder computed once per class, which is released with the class loader.
+     */
+    static TypeBinder getBinder(Class<?> type) {
+        return binders.get(type);
+    }
+
+    static TypeBinder createBinder(Class<?> type) {
+        List<PropertyBinder> properties = new ArrayList<>();
+        Constructor<?> constructor;
+        try {
+            if (type.isRecord()) {
+                RecordComponent[] components = type.getRecordComponents();
+                for (RecordComponent component : components) {
+                    properties.add(new PropertyBinder(toPropertyName(component.getName()), component.getType(), component.getGenericType(),
+                            component.isAnnotationPresent(Nonnull.class), null, null));
+                }
+                constructor = type.getDeclaredConstructor(Arrays.stream(components).map(RecordComponent::getType).toArray(Class<?>[]::new));
+            } else {
+                constructor = type.getDeclaredConstructor();
+                for (Class<?> clazz = type; clazz != Object.class; clazz = clazz.getSuperclass()) {
+                    for (Field field : clazz.getDeclaredFields()) {
+                        int mod = field.getModifiers();
+                        if (Modifier.isStatic(mod) || Modifier.isFinal(mod) || Modifier.isTransient(mod) || field.isSynthetic()) {
+                            continue;
+                        }
+                        Method setter = findSetter(clazz, field);
+                        if (setter == null) {
+                            field.setAccessible(true);
+                        }
+                        properties.add(new PropertyBinder(toPropertyName(field.getName()), field.getType(), field.getGenericType(),
+                                field.isAnnotationPresent(Nonnull.class), field, setter));
+                    }
+                }
+            }
+            constructor.setAccessible(true);
+        } catch (NoSuchMethodException | RuntimeException e) {
+            throw new BeanDefinitionException("Cannot bind properties to class " + type.getName() + ", a no-arg constructor is required.", e);
+        }
+        logger.atDebug().log("create properties binder of {}: {}", type.getName(), properties.stream().map(PropertyBinder::name).toList());
+        return new TypeBinder(type, constructor, List.copyOf(properties));
+    }
+
+    static Method findSetter(Class<?> clazz, Field field) {
+        String name = "set" + Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+        try {
+            Method setter = clazz.getDeclaredMethod(name, field.getType());
+            setter.setAccessible(true);
+            return Modifier.isStatic(setter.getModifiers()) ? null : setter;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Convert camel-case name to kebab-case, e.g. "maxPoolSize" to "max-pool-size".
+     */
+    static String toPropertyName(String name) {
+        StringBuilder sb = new StringBuilder(name.length() + 4);
+        for (int i = 0; i < name.length(); i++) {
+            char ch = name.charAt(i);
+            if (Character.isUpperCase(ch)) {
+                if (i > 0) {
+                    sb.append('-');
+                }
+                sb.append(Character.toLowerCase(ch));
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Property names of a snapshot, and all their prefixes ending with '.', e.g. "a." and "a.b[0]." of "a.b[0].c".
+     */
+    record PropertyNames(Set<String> propertyNames, Set<String> prefixes) {
+
+        PropertyNames(Set<String> propertyNames) {
+            this(propertyNames, new HashSet<>());
+            for (String name : propertyNames) {
+                for (int i = name.indexOf('.'); i >= 0; i = name.indexOf('.', i + 1)) {
+                    this.prefixes.add(name.substring(0, i + 1));
+                }
+            }
+        }
+    }
+
+    record TypeBinder(Class<?> type, Constructor<?> constructor, List<PropertyBinder> properties) {
+
+        Object create(ConfigurationPropertiesBinder binder, String prefix, Set<String> bound) {
+            if (!this.type.isRecord()) {
+                Object instance = newInstance();
+                bindTo(binder, instance, prefix, bound);
+                return instance;
+            }
+            Object[] args = new Object[this.properties.size()];
+            for (int i = 0; i < args.length; i++) {
+                PropertyBinder property = this.properties.get(i);
+                Object value = property.bind(binder, prefix, bound);
+                // missing component is null or zero:
+                args[i] = value != MISSING ? value : property.type().isPrimitive() ? Array.get(Array.newInstance(property.type(), 1), 0) : null;
+            }
+            return newInstance(args);
+        }
+
+        void bindTo(ConfigurationPropertiesBinder binder, Object instance, String prefix, Set<String> bound) {
+            for (PropertyBinder property : this.properties) {
+                Object value = property.bind(binder, prefix, bound);
+                if (value != MISSING) {
+                    property.set(instance, value);
+                }
+            }
+        }
+
+        Object newInstance(Object... args) {
+            try {
+                return this.constructor.newInstance(args);
+            } catch (InvocationTargetException e) {
+                throw new BeanCreationException("Exception when create " + this.type.getName(), e.getCause());
+            } catch (ReflectiveOperationException e) {
+                throw new BeanCreationException("Exception when create " + this.type.getName(), e);
+            }
+        }
+    }
+
+    record PropertyBinder(String name, Class<?> type, Type genericType, boolean required, Field field, Method setter) {
+
+        Object bind(ConfigurationPropertiesBinder binder, String prefix, Set<String> bound) {
+            String key = prefix + "." + this.name;
+            Object value = binder.bindValue(key, this.type, this.genericType, bound);
+            if (value == MISSING && this.required) {
+                throw new BeanCreationException("Missing required property: " + key);
+            }
+            return value;
+        }
+
+        void set(Object instance, Object value) {
+            try {
+                if (this.setter != null) {
+                    this.setter.invoke(instance, value);
+                } else {
+                    this.field.set(instance, value);
+                }
+            } catch (InvocationTargetException e) {
+                throw new BeanCreationException("Exception when set property " + this.name + " of " + instance.getClass().getName(), e.getCause());
+            } catch (ReflectiveOperationException e) {
+                throw new BeanCreationException("Exception when set property " + this.name + " of " + instance.getClass().getName(), e);
+            }
+        }
+    }
+}
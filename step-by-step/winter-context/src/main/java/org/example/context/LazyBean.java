@@ -0,0 +1,51 @@
+package org.example.context;
+
+import org.example.exception.UnsatisfiedDependencyException;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Target of a lazy bean proxy, which is created, injected and initialized on first use.
+ */
+final class LazyBean implements Supplier<Object> {
+
+    final BeanDefinition beanDefinition;
+    final Function<BeanDefinition, Object> factory;
+
+    volatile Object target;
+    boolean creating;
+
+    LazyBean(BeanDefinition beanDefinition, Function<BeanDefinition, Object> factory) {
+        this.beanDefinition = beanDefinition;
+        this.factory = factory;
+    }
+
+    @Override
+    public Object get() {
+        Object t = this.target;
+        if (t == null) {
+            synchronized (this) {
+                t = this.target;
+                if (t == null) {
+                    // lazy bean is used again by its own creation:
+                    if (this.creating) {
+                        throw new UnsatisfiedDependencyException(String.format("Circular dependency detected when create lazy bean '%s'.", this.beanDefinition.getName()));
+                    }
+                    this.creating = true;
+                    try {
+                        t = this.factory.apply(this.beanDefinition);
+                    } finally {
+                        this.creating = false;
+                    }
+                    this.target = t;
+                }
+            }
+        }
+        return t;
+    }
+
+    boolean isCreated() {
+        return this.target != null;
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.context;
+
+import java.util.function.Supplier;
+
+/**
+ * Holder of a @ConfigurationProperties bean which always returns the latest bound instance, injected by
+ * "@Autowired Refreshable&lt;T&gt;". When properties change, a new instance is bound and published by a volatile write,
+ * so readers never lock and never see a partially bound instance. The bean is got on first use, so injecting a holder
+ * does not depend on the bean being created.
+ */
+public final class Refreshable<T> implements Supplier<T> {
+
+    private volatile T instance;
+    private Supplier<T> resolver;
+
+    Refreshable(Supplier<T> resolver) {
+        this.resolver = resolver;
+    }
+
+    @Override
+    public T get() {
+        T current = this.instance;
+        return current != null ? current : resolve();
+    }
+
+    private synchronized T resolve() {
+        if (this.instance == null) {
+            this.instance = this.resolver.get();
+        }
+        return this.instance;
+    }
+
+    void set(T instance) {
+        this.instance = instance;
+    }
+
+    @Override
+    public String toString() {
+        return "Refreshable[" + this.instance + "]";
+    }
+}
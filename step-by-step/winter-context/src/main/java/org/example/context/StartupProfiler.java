@@ -0,0 +1,288 @@
+package org.example.context;
+
+import jakarta.annotation.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records startup time of context phases (scan, define, etc.) and of each step of every bean (instantiate,
+ * post-process, inject, init), and exports bean dependency graph with timings as JSON or DOT.
+ *
+ * Time of a step excludes nested steps on the same thread, e.g. creating a constructor dependency is not counted as
+ * instantiation of the bean which depends on it. Enabled by property "winter.context.profile".
+ */
+public class StartupProfiler {
+
+    public static final String SCAN = "scan";
+    public static final String DEFINE = "define";
+    public static final String INSTANTIATE = "instantiate";
+    public static final String POST_PROCESS = "post-process";
+    public static final String INJECT = "inject";
+    public static final String INIT = "init";
+
+    static final Step NOOP = new Step(null, null, null);
+
+    final boolean enabled;
+    // phase -> nanos:
+    final Map<String, Long> phases = new ConcurrentHashMap<>();
+    // bean name -> step -> nanos:
+    final Map<String, Map<String, Long>> beans = new ConcurrentHashMap<>();
+    // bean name -> dependency names:
+    final Map<String, Set<String>> dependencies = new ConcurrentHashMap<>();
+    final ThreadLocal<Step> currentStep = new ThreadLocal<>();
+
+    public StartupProfiler(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Start a step which is recorded when closed.
+     *
+     * @param beanName Bean name, or null for a context phase.
+     * @param name     Step or phase name.
+     */
+    public Step start(@Nullable String beanName, String name) {
+        if (!this.enabled) {
+            return NOOP;
+        }
+        Step step = new Step(this, beanName, name);
+        step.parent = this.currentStep.get();
+        this.currentStep.set(step);
+        step.startTime = System.nanoTime();
+        return step;
+    }
+
+    void record(Step step) {
+        long elapsed = System.nanoTime() - step.startTime;
+        this.currentStep.set(step.parent);
+        if (step.parent != null) {
+            step.parent.nestedTime += elapsed;
+        }
+        long time = elapsed - step.nestedTime;
+        if (step.beanName == null) {
+            this.phases.merge(step.name, time, Long::sum);
+        } else {
+            this.beans.computeIfAbsent(step.beanName, key -> new ConcurrentHashMap<>()).merge(step.name, time, Long::sum);
+        }
+    }
+
+    public void addDependency(String beanName, String dependencyName) {
+        if (this.enabled && !beanName.equals(dependencyName)) {
+            this.dependencies.computeIfAbsent(beanName, key -> ConcurrentHashMap.newKeySet()).add(dependencyName);
+        }
+    }
+
+    public Set<String> getDependencies(String beanName) {
+        return this.dependencies.getOrDefault(beanName, Set.of());
+    }
+
+    /**
+     * Get time of phase in nanoseconds.
+     */
+    public long getPhaseTime(String phase) {
+        return this.phases.getOrDefault(phase, 0L);
+    }
+
+    /**
+     * Get time of all steps of bean in nanoseconds.
+     */
+    public long getBeanTime(String beanName) {
+        return getBeanSteps(beanName).values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Get step -> nanoseconds of bean.
+     */
+    public Map<String, Long> getBeanSteps(String beanName) {
+        return this.beans.getOrDefault(beanName, Map.of());
+    }
+
+    /**
+     * Get the chain of dependent beans with the largest total time, starting from the bean without dependency.
+     */
+    public List<String> getCriticalPath() {
+        Map<String, Long> pathTimes = new HashMap<>();
+        Map<String, String> next = new HashMap<>();
+        String last = null;
+        for (String beanName : getBeanNames()) {
+            pathTime(beanName, pathTimes, next, new HashSet<>());
+            if (last == null || pathTimes.get(beanName) > pathTimes.get(last)) {
+                last = beanName;
+            }
+        }
+        LinkedList<String> path = new LinkedList<>();
+        for (String beanName = last; beanName != null; beanName = next.get(beanName)) {
+            path.addFirst(beanName);
+        }
+        return path;
+    }
+
+    long pathTime(String beanName, Map<String, Long> pathTimes, Map<String, String> next, Set<String> visiting) {
+        Long cached = pathTimes.get(beanName);
+        if (cached != null) {
+            return cached;
+        }
+        visiting.add(beanName);
+        long max = 0;
+        for (String dependency : new TreeSet<>(this.dependencies.getOrDefault(beanName, Set.of()))) {
+            // edge closing a cycle is ignored:
+            if (visiting.contains(dependency)) {
+                continue;
+            }
+            long time = pathTime(dependency, pathTimes, next, visiting);
+            if (time > max) {
+                max = time;
+                next.put(beanName, dependency);
+            }
+        }
+        visiting.remove(beanName);
+        long time = max + getBeanTime(beanName);
+        pathTimes.put(beanName, time);
+        return time;
+    }
+
+    Set<String> getBeanNames() {
+        Set<String> names = new TreeSet<>(this.beans.keySet());
+        names.addAll(this.dependencies.keySet());
+        return names;
+    }
+
+    public String toJson() {
+        StringBuilder sb = new StringBuilder(4096);
+        sb.append("{\n  \"phases\": {");
+        appendTimes(sb, this.phases);
+        sb.append("},\n  \"beans\": [");
+        boolean first = true;
+        for (String beanName : getBeanNames()) {
+            sb.append(first ? "\n" : ",\n");
+            first = false;
+            sb.append("    {\"name\": ").append(quote(beanName)).append(", \"time\": ").append(millis(getBeanTime(beanName)));
+            sb.append(", \"steps\": {");
+            appendTimes(sb, getBeanSteps(beanName));
+            sb.append("}, \"dependencies\": [");
+            sb.append(String.join(", ", new TreeSet<>(this.dependencies.getOrDefault(beanName, Set.of())).stream().map(StartupProfiler::quote).toList()));
+            sb.append("]}");
+        }
+        List<String> criticalPath = getCriticalPath();
+        sb.append("\n  ],\n  \"criticalPath\": [");
+        sb.append(String.join(", ", criticalPath.stream().map(StartupProfiler::quote).toList()));
+        sb.append("],\n  \"criticalPathTime\": ").append(millis(criticalPath.stream().mapToLong(this::getBeanTime).sum()));
+        sb.append("\n}\n");
+        return sb.toString();
+    }
+
+    public String toDot() {
+        List<String> criticalPath = getCriticalPath();
+        StringBuilder sb = new StringBuilder(4096);
+        sb.append("digraph startup {\n");
+        sb.append("  node [shape=box];\n");
+        for (String beanName : getBeanNames()) {
+            sb.append("  ").append(quote(beanName)).append(" [label=").append(quote(beanName + "\n" + millis(getBeanTime(beanName)) + " ms"));
+            if (criticalPath.contains(beanName)) {
+                sb.append(", color=red");
+            }
+            sb.append("];\n");
+        }
+        for (String beanName : getBeanNames()) {
+            for (String dependency : new TreeSet<>(this.dependencies.getOrDefault(beanName, Set.of()))) {
+                sb.append("  ").append(quote(beanName)).append(" -> ").append(quote(dependency));
+                int index = criticalPath.indexOf(beanName);
+                if (index > 0 && criticalPath.get(index - 1).equals(dependency)) {
+                    sb.append(" [color=red]");
+                }
+                sb.append(";\n");
+            }
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    /**
+     * Write startup.json and startup.dot to directory.
+     */
+    public void export(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("startup.json"), toJson(), StandardCharsets.UTF_8);
+        Files.writeString(dir.resolve("startup.dot"), toDot(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Summary of phases, steps, slowest beans and critical path.
+     */
+    public String report(int top) {
+        StringBuilder sb = new StringBuilder(1024);
+        sb.append("Startup profile:");
+        new TreeMap<>(this.phases).forEach((phase, time) -> sb.append("\n  phase ").append(phase).append(": ").append(millis(time)).append(" ms"));
+        Map<String, Long> steps = new TreeMap<>();
+        this.beans.values().forEach(beanSteps -> beanSteps.forEach((step, time) -> steps.merge(step, time, Long::sum)));
+        steps.forEach((step, time) -> sb.append("\n  step ").append(step).append(": ").append(millis(time)).append(" ms"));
+        getBeanNames().stream().sorted(Comparator.comparingLong(this::getBeanTime).reversed()).limit(top)
+                .forEach(beanName -> sb.append("\n  bean ").append(beanName).append(": ").append(millis(getBeanTime(beanName))).append(" ms ").append(getBeanSteps(beanName)));
+        List<String> criticalPath = getCriticalPath();
+        sb.append("\n  critical path (").append(millis(criticalPath.stream().mapToLong(this::getBeanTime).sum())).append(" ms): ").append(String.join(" -> ", criticalPath));
+        return sb.toString();
+    }
+
+    void appendTimes(StringBuilder sb, Map<String, Long> times) {
+        sb.append(String.join(", ", new TreeMap<>(times).entrySet().stream().map(entry -> quote(entry.getKey()) + ": " + millis(entry.getValue())).toList()));
+    }
+
+    static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    static String quote(String s) {
+        StringBuilder sb = new StringBuilder(s.length() + 2);
+        sb.append('"');
+        for (char c : s.toCharArray()) {
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * A running step, which must be closed on the thread started it.
+     */
+    public static class Step implements AutoCloseable {
+
+        final StartupProfiler profiler;
+        final String beanName;
+        final String name;
+        Step parent;
+        long startTime;
+        long nestedTime;
+
+        Step(StartupProfiler profiler, String beanName, String name) {
+            this.profiler = profiler;
+            this.beanName = beanName;
+            this.name = name;
+        }
+
+        @Override
+        public void close() {
+            if (this.profiler != null) {
+                this.profiler.record(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.context.aot;
+
+import java.lang.reflect.Method;
+
+/**
+ * Wiring code of a bean class generated by BeanWiringProcessor, which creates, injects and initializes bean by plain
+ * Java calls instead of reflection.
+ *
+ * Members are identified by key: CONSTRUCTOR for the constructor, field name for a field, and "name/argCount" for a
+ * method. Only non-private members are wired, others are still accessed by reflection.
+ */
+public interface BeanWiring {
+
+    String CLASS_NAME_SUFFIX = "$$WinterWiring";
+
+    String CONSTRUCTOR = "<init>";
+
+    static String key(Method method) {
+        return method.getName() + "/" + method.getParameterCount();
+    }
+
+    /**
+     * Check if member is wired by generated code.
+     */
+    boolean isWired(String member);
+
+    /**
+     * Create bean by constructor.
+     */
+    Object newInstance(Object[] args) throws Exception;
+
+    /**
+     * Invoke method declared in bean class, e.g. @Bean method, setter, init or destroy method.
+     */
+    Object invoke(Object bean, String member, Object[] args) throws Exception;
+
+    /**
+     * Set field declared in bean class.
+     */
+    void set(Object bean, String member, Object value) throws Exception;
+
+}
@@ -0,0 +1,236 @@
+package org.example.context.aot;
+
+import org.example.context.index.ComponentIndexProcessor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Annotation processor which generates a BeanWiring class named "BeanClass$$WinterWiring" for every @Component class,
+ * following the same rules as AnnotationConfigApplicationContext: the only public (or the only) constructor,
+ * @Autowired / @Value fields and setters, @PostConstruct / @PreDestroy methods and @Bean methods of @Configuration.
+ *
+ * Private members cannot be called from generated code and are left to reflection. A component without a constructor
+ * callable from generated code gets no wiring at all, so it is created and wired by reflection.
+ *
+ * Wirings are generated only when the processor option is enabled by javac argument "-Awinter.context.aot=true", the
+ * same name as the property which enables them at runtime.
+ */
+public class BeanWiringProcessor extends AbstractProcessor {
+
+    static final String AUTOWIRED = "org.example.annotation.Autowired";
+    static final String VALUE = "org.example.annotation.Value";
+    static final String BEAN = "org.example.annotation.Bean";
+    static final String CONFIGURATION = "org.example.annotation.Configuration";
+    static final String POST_CONSTRUCT = "jakarta.annotation.PostConstruct";
+    static final String PRE_DESTROY = "jakarta.annotation.PreDestroy";
+
+    public static final String OPTION_AOT = "winter.context.aot";
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Set.of("*");
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        return Set.of(OPTION_AOT);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (!Boolean.parseBoolean(processingEnv.getOptions().get(OPTION_AOT))) {
+            return false;
+        }
+        for (Element element : roundEnv.getRootElements()) {
+            if (element instanceof TypeElement type) {
+                generateWirings(type);
+            }
+        }
+        // do not claim any annotation:
+        return false;
+    }
+
+    void generateWirings(TypeElement type) {
+        if (type.getKind() == ElementKind.CLASS && !type.getModifiers().contains(Modifier.ABSTRACT) && isAccessible(type)
+                && hasAnnotation(type, ComponentIndexProcessor.COMPONENT)) {
+            generateWiring(type);
+        }
+        for (Element enclosed : type.getEnclosedElements()) {
+            if (enclosed instanceof TypeElement nested) {
+                generateWirings(nested);
+            }
+        }
+    }
+
+    void generateWiring(TypeElement type) {
+        ExecutableElement constructor = findConstructor(type);
+        if (constructor == null) {
+            return;
+        }
+        String typeName = typeName(type.asType());
+        // member key -> code, and null if key is ambiguous:
+        Map<String, String> methods = new LinkedHashMap<>();
+        Map<String, String> fields = new LinkedHashMap<>();
+        boolean configuration = hasAnnotation(type, CONFIGURATION);
+        for (Element member : type.getEnclosedElements()) {
+            Set<Modifier> modifiers = member.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC)) {
+                continue;
+            }
+            if (member instanceof VariableElement field && member.getKind() == ElementKind.FIELD) {
+                if (!modifiers.contains(Modifier.FINAL) && (hasDirectAnnotation(field, AUTOWIRED) || hasDirectAnnotation(field, VALUE))) {
+                    String name = field.getSimpleName().toString();
+                    fields.put(name, "target." + name + " = (" + typeName(field.asType()) + ") value;");
+                }
+            } else if (member instanceof ExecutableElement method && member.getKind() == ElementKind.METHOD) {
+                int count = method.getParameters().size();
+                boolean wired = count == 1 && (hasDirectAnnotation(method, AUTOWIRED) || hasDirectAnnotation(method, VALUE))
+                        || count == 0 && (hasDirectAnnotation(method, POST_CONSTRUCT) || hasDirectAnnotation(method, PRE_DESTROY))
+                        || configuration && hasDirectAnnotation(method, BEAN);
+                if (wired) {
+                    String key = method.getSimpleName() + "/" + count;
+                    String call = "target." + method.getSimpleName() + "(" + args(method) + ")";
+                    String code = method.getReturnType().getKind() == TypeKind.VOID ? call + ";\n                return null;" : "return " + call + ";";
+                    // overloaded methods with same argument count are left to reflection:
+                    methods.put(key, methods.containsKey(key) ? null : code);
+                }
+            }
+        }
+        methods.values().removeIf(Objects::isNull);
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String className = binaryName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1) + BeanWiring.CLASS_NAME_SUFFIX;
+
+        List<String> keys = new ArrayList<>();
+        keys.add(BeanWiring.CONSTRUCTOR);
+        keys.addAll(fields.keySet());
+        keys.addAll(methods.keySet());
+
+        StringBuilder sb = new StringBuilder(4096);
+        if (!packageName.isEmpty()) {
+            sb.append("package ").append(packageName).append(";\n\n");
+        }
+        sb.append("/**\n * Generated by ").append(getClass().getName()).append(".\n */\n");
+        sb.append("@SuppressWarnings({ \"unchecked\", \"rawtypes\" })\n");
+        sb.append("public final class ").append(className).append(" implements ").append(BeanWiring.class.getName()).append(" {\n\n");
+
+        sb.append("    @Override\n    public boolean isWired(String member) {\n");
+        sb.append("        return switch (member) {\n");
+        sb.append("            case ").append(String.join(", ", keys.stream().map(key -> "\"" + key + "\"").toList())).append(" -> true;\n");
+        sb.append("            default -> false;\n");
+        sb.append("        };\n");
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n    public Object newInstance(Object[] args) throws Exception {\n");
+        sb.append("        return new ").append(typeName).append("(").append(args(constructor)).append(");\n");
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n    public Object invoke(Object bean, String member, Object[] args) throws Exception {\n");
+        if (!methods.isEmpty()) {
+            sb.append("        ").append(typeName).append(" target = (").append(typeName).append(") bean;\n");
+            sb.append("        switch (member) {\n");
+            methods.forEach((key, code) -> sb.append("            case \"").append(key).append("\":\n                ").append(code).append("\n"));
+            sb.append("        }\n");
+        }
+        sb.append("        throw new IllegalArgumentException(\"Method not wired: \" + member);\n");
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n    public void set(Object bean, String member, Object value) throws Exception {\n");
+        if (!fields.isEmpty()) {
+            sb.append("        ").append(typeName).append(" target = (").append(typeName).append(") bean;\n");
+            sb.append("        switch (member) {\n");
+            fields.forEach((key, code) -> sb.append("            case \"").append(key).append("\":\n                ").append(code).append("\n                return;\n"));
+            sb.append("        }\n");
+        }
+        sb.append("        throw new IllegalArgumentException(\"Field not wired: \" + member);\n");
+        sb.append("    }\n");
+        sb.append("}\n");
+
+        String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(sb.toString());
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write " + qualifiedName + ": " + e.getMessage(), type);
+        }
+    }
+
+    /**
+     * Find constructor in the same way as AnnotationConfigApplicationContext, or null if it cannot be called from
+     * generated code.
+     */
+    ExecutableElement findConstructor(TypeElement type) {
+        if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+            return null;
+        }
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+        List<ExecutableElement> publicConstructors = constructors.stream().filter(c -> c.getModifiers().contains(Modifier.PUBLIC)).toList();
+        List<ExecutableElement> candidates = publicConstructors.isEmpty() ? constructors : publicConstructors;
+        if (candidates.size() != 1 || candidates.get(0).getModifiers().contains(Modifier.PRIVATE)) {
+            return null;
+        }
+        return candidates.get(0);
+    }
+
+    String args(ExecutableElement executable) {
+        List<String> args = new ArrayList<>();
+        List<? extends VariableElement> parameters = executable.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            args.add("(" + typeName(parameters.get(i).asType()) + ") args[" + i + "]");
+        }
+        return String.join(", ", args);
+    }
+
+    String typeName(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    /**
+     * Check if type and all its enclosing types can be accessed from same package.
+     */
+    boolean isAccessible(TypeElement type) {
+        for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            if (e.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean hasAnnotation(TypeElement type, String annotationName) {
+        for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+            if (ComponentIndexProcessor.isAnnotation((TypeElement) annotation.getAnnotationType().asElement(), annotationName, new HashSet<>())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean hasDirectAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.context.classfile;
+
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+/**
+ * Class metadata read from class file without loading the class.
+ *
+ * @param className       Binary class name, e.g. "org.example.Outer$Inner".
+ * @param accessFlags     Access flags of class file.
+ * @param superClassName  Binary name of super class, or null for java.lang.Object and module-info.
+ * @param annotationNames Class names of runtime visible annotations declared on class.
+ */
+public record ClassMetadata(String className, int accessFlags, String superClassName, List<String> annotationNames) {
+
+    static final int ACC_INTERFACE = 0x0200;
+    static final int ACC_ANNOTATION = 0x2000;
+    static final int ACC_ENUM = 0x4000;
+
+    public boolean isInterface() {
+        return (accessFlags & ACC_INTERFACE) != 0;
+    }
+
+    public boolean isAnnotation() {
+        return (accessFlags & ACC_ANNOTATION) != 0;
+    }
+
+    public boolean isEnum() {
+        return (accessFlags & ACC_ENUM) != 0;
+    }
+
+    public boolean isRecord() {
+        return "java.lang.Record".equals(superClassName);
+    }
+
+    public boolean isAbstract() {
+        return Modifier.isAbstract(accessFlags);
+    }
+}
@@ -0,0 +1,183 @@
+package org.example.context.classfile;
+
+import jakarta.annotation.Nullable;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Minimal class file parser which reads class name, access flags, super class and runtime visible annotations, so
+ * scanned classes can be checked for @Component (directly or by meta-annotation) without loading them.
+ *
+ * Meta-annotations are resolved by reading class files of annotation types from the same class loader, and results are
+ * cached per reader.
+ */
+public class ClassMetadataReader {
+
+    static final int MAGIC = 0xCAFEBABE;
+
+    final ClassLoader classLoader;
+    // annotation class name -> meta-annotation names including itself, or empty if not readable:
+    final Map<String, Set<String>> metaAnnotations = new ConcurrentHashMap<>();
+
+    public ClassMetadataReader(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Read metadata of class file by resource name, e.g. "org/example/Hello.class".
+     *
+     * @return ClassMetadata, or null if resource not found.
+     * @throws IOException If class file is invalid or cannot be read.
+     */
+    @Nullable
+    public ClassMetadata read(String resourceName) throws IOException {
+        try (InputStream input = this.classLoader.getResourceAsStream(resourceName)) {
+            if (input == null) {
+                return null;
+            }
+            return read(input);
+        }
+    }
+
+    /**
+     * Check if class is annotated by annotation directly or by meta-annotation.
+     */
+    public boolean hasAnnotation(ClassMetadata metadata, String annotationName) {
+        for (String name : metadata.annotationNames()) {
+            if (getMetaAnnotations(name, new HashSet<>()).contains(annotationName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    Set<String> getMetaAnnotations(String annotationName, Set<String> visiting) {
+        Set<String> cached = this.metaAnnotations.get(annotationName);
+        if (cached != null) {
+            return cached;
+        }
+        Set<String> names = new HashSet<>();
+        names.add(annotationName);
+        // skip JDK annotations such as @Retention, @Documented:
+        if (!annotationName.startsWith("java.") && visiting.add(annotationName)) {
+            try {
+                ClassMetadata metadata = read(annotationName.replace('.', '/') + ".class");
+                if (metadata != null) {
+                    for (String name : metadata.annotationNames()) {
+                        names.addAll(getMetaAnnotations(name, visiting));
+                    }
+                }
+            } catch (IOException e) {
+                // treat unreadable annotation as having no meta-annotation:
+            }
+            visiting.remove(annotationName);
+        }
+        Set<String> result = Set.copyOf(names);
+        this.metaAnnotations.put(annotationName, result);
+        return result;
+    }
+
+    static ClassMetadata read(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(input));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Invalid class file.");
+        }
+        // minor and major version:
+        in.readUnsignedShort();
+        in.readUnsignedShort();
+
+        int count = in.readUnsignedShort();
+        String[] utf8s = new String[count];
+        int[] classes = new int[count];
+        for (int i = 1; i < count; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1 -> utf8s[i] = in.readUTF();
+                case 7 -> classes[i] = in.readUnsignedShort();
+                case 8, 16, 19, 20 -> in.skipNBytes(2);
+                case 15 -> in.skipNBytes(3);
+                case 3, 4, 9, 10, 11, 12, 17, 18 -> in.skipNBytes(4);
+                case 5, 6 -> {
+                    // long and double take two entries:
+                    in.skipNBytes(8);
+                    i++;
+                }
+                default -> throw new IOException("Invalid constant pool tag: " + tag);
+            }
+        }
+
+        int accessFlags = in.readUnsignedShort();
+        String className = toClassName(utf8s[classes[in.readUnsignedShort()]]);
+        int superClass = in.readUnsignedShort();
+        String superClassName = superClass == 0 ? null : toClassName(utf8s[classes[superClass]]);
+        in.skipNBytes(2L * in.readUnsignedShort());
+        // fields and methods:
+        for (int n = 0; n < 2; n++) {
+            int members = in.readUnsignedShort();
+            for (int i = 0; i < members; i++) {
+                in.skipNBytes(6);
+                skipAttributes(in);
+            }
+        }
+
+        List<String> annotationNames = new ArrayList<>();
+        int attributes = in.readUnsignedShort();
+        for (int i = 0; i < attributes; i++) {
+            String name = utf8s[in.readUnsignedShort()];
+            int length = in.readInt();
+            if ("RuntimeVisibleAnnotations".equals(name)) {
+                int annotations = in.readUnsignedShort();
+                for (int j = 0; j < annotations; j++) {
+                    annotationNames.add(readAnnotation(in, utf8s));
+                }
+            } else {
+                in.skipNBytes(length);
+            }
+        }
+        return new ClassMetadata(className, accessFlags, superClassName, List.copyOf(annotationNames));
+    }
+
+    static void skipAttributes(DataInputStream in) throws IOException {
+        int attributes = in.readUnsignedShort();
+        for (int i = 0; i < attributes; i++) {
+            in.skipNBytes(2);
+            in.skipNBytes(Integer.toUnsignedLong(in.readInt()));
+        }
+    }
+
+    /**
+     * Read annotation and return its class name.
+     */
+    static String readAnnotation(DataInputStream in, String[] utf8s) throws IOException {
+        String descriptor = utf8s[in.readUnsignedShort()];
+        int pairs = in.readUnsignedShort();
+        for (int i = 0; i < pairs; i++) {
+            in.skipNBytes(2);
+            skipElementValue(in, utf8s);
+        }
+        // "Lorg/example/Anno;" -> "org.example.Anno":
+        return toClassName(descriptor.substring(1, descriptor.length() - 1));
+    }
+
+    static void skipElementValue(DataInputStream in, String[] utf8s) throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case 'B', 'C', 'D', 'F', 'I', 'J', 'S', 'Z', 's', 'c' -> in.skipNBytes(2);
+            case 'e' -> in.skipNBytes(4);
+            case '@' -> readAnnotation(in, utf8s);
+            case '[' -> {
+                int values = in.readUnsignedShort();
+                for (int i = 0; i < values; i++) {
+                    skipElementValue(in, utf8s);
+                }
+            }
+            default -> throw new IOException("Invalid element value tag: " + tag);
+        }
+    }
+
+    static String toClassName(String internalName) {
+        return internalName.replace('/', '.');
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.context.event;
+
+/**
+ * Publish event to all @EventListener methods whose parameter type accepts the event.
+ */
+public interface ApplicationEventPublisher {
+
+    /**
+     * Publish event. Synchronous listeners are called before return, and their exceptions are thrown to caller.
+     */
+    void publishEvent(Object event);
+
+}
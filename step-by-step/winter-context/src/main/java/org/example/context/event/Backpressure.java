@@ -0,0 +1,26 @@
+package org.example.context.event;
+
+/**
+ * What publisher does when ring buffer of an async listener is full.
+ */
+public enum Backpressure {
+
+    /**
+     * Wait until listener catches up.
+     */
+    BLOCK,
+
+    /**
+     * Drop the event for this listener and count it.
+     */
+    DROP,
+
+    /**
+     * Handle the event on publishing thread.
+     */
+    CALLER_RUNS;
+
+    public static Backpressure of(String name) {
+        return valueOf(name.strip().toUpperCase().replace('-', '_'));
+    }
+}
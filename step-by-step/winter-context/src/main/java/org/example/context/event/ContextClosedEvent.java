@@ -0,0 +1,9 @@
+package org.example.context.event;
+
+import org.example.context.ApplicationContext;
+
+/**
+ * Published when context starts closing, before any bean is destroyed.
+ */
+public record ContextClosedEvent(ApplicationContext applicationContext) {
+}
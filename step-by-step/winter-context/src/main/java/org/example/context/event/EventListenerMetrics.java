@@ -0,0 +1,92 @@
+package org.example.context.event;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Throughput, latency (from publish to handled) and backpressure counters of one @EventListener method.
+ */
+public class EventListenerMetrics {
+
+    final String name;
+    final long startTime = System.nanoTime();
+    final LongAdder handled = new LongAdder();
+    final LongAdder failed = new LongAdder();
+    final LongAdder dropped = new LongAdder();
+    final LongAdder callerRuns = new LongAdder();
+    final LongAdder totalLatency = new LongAdder();
+    final AtomicLong maxLatency = new AtomicLong();
+    final LongSupplier pending;
+
+    EventListenerMetrics(String name, LongSupplier pending) {
+        this.name = name;
+        this.pending = pending;
+    }
+
+    void record(long publishTime, boolean success) {
+        long latency = System.nanoTime() - publishTime;
+        this.handled.increment();
+        if (!success) {
+            this.failed.increment();
+        }
+        this.totalLatency.add(latency);
+        this.maxLatency.accumulateAndGet(latency, Math::max);
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public long getHandled() {
+        return this.handled.sum();
+    }
+
+    public long getFailed() {
+        return this.failed.sum();
+    }
+
+    /**
+     * Get number of events dropped because ring buffer was full.
+     */
+    public long getDropped() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * Get number of async events handled on publishing thread because ring buffer was full.
+     */
+    public long getCallerRuns() {
+        return this.callerRuns.sum();
+    }
+
+    /**
+     * Get number of events waiting in ring buffer, always 0 for synchronous listener.
+     */
+    public long getPending() {
+        return this.pending.getAsLong();
+    }
+
+    /**
+     * Get handled events per second since listener registered.
+     */
+    public double getThroughput() {
+        long elapsed = System.nanoTime() - this.startTime;
+        return elapsed <= 0 ? 0 : getHandled() * 1_000_000_000.0 / elapsed;
+    }
+
+    public double getAverageLatencyMillis() {
+        long count = getHandled();
+        return count == 0 ? 0 : this.totalLatency.sum() / 1_000_000.0 / count;
+    }
+
+    public double getMaxLatencyMillis() {
+        return this.maxLatency.get() / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: handled=%d, failed=%d, dropped=%d, callerRuns=%d, pending=%d, throughput=%.1f/s, avgLatency=%.3fms, maxLatency=%.3fms",
+                this.name, getHandled(), getFailed(), getDropped(), getCallerRuns(), getPending(), getThroughput(), getAverageLatencyMillis(), getMaxLatencyMillis());
+    }
+}
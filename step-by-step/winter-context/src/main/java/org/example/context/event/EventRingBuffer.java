@@ -0,0 +1,177 @@
+package org.example.context.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded ring buffer with pre-allocated slots, written by many publishers and read by one consumer thread.
+ *
+ * Publisher claims a sequence by CAS, fills the slot and marks it published by writing the sequence into the slot.
+ * Consumer handles all published events up to batch size before it moves its sequence, so publishers waiting for space
+ * see one volatile write per batch instead of per event.
+ *
+ * A Throwable thrown by handler is logged and the consumer goes on with next event. If the consumer thread stops anyway,
+ * the buffer is closed so publishers waiting for space return instead of waiting forever.
+ */
+final class EventRingBuffer {
+
+    static final Logger logger = LoggerFactory.getLogger(EventRingBuffer.class);
+
+    interface Handler {
+        void handle(Object event, long publishTime);
+    }
+
+    final int capacity;
+    final int mask;
+    final int batchSize;
+    final WaitStrategy waitStrategy;
+    final Handler handler;
+
+    final Object[] events;
+    final long[] publishTimes;
+    // sequence of event in slot, or -1 if not published:
+    final AtomicLongArray published;
+    // last claimed sequence:
+    final AtomicLong claimed = new AtomicLong(-1);
+    // last handled sequence:
+    volatile long consumed = -1;
+
+    volatile boolean consumerWaiting;
+    volatile boolean closed;
+    final Thread consumer;
+
+    EventRingBuffer(String name, int capacity, int batchSize, WaitStrategy waitStrategy, Handler handler) {
+        // round up to power of 2:
+        this.capacity = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.batchSize = Math.max(1, batchSize);
+        this.waitStrategy = waitStrategy;
+        this.handler = handler;
+        this.events = new Object[this.capacity];
+        this.publishTimes = new long[this.capacity];
+        this.published = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            this.published.set(i, -1);
+        }
+        this.consumer = new Thread(this::consume, name);
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    /**
+     * Try publish event without waiting.
+     *
+     * @return True if published, or false if buffer is full or closed.
+     */
+    boolean tryPublish(Object event, long publishTime) {
+        long sequence;
+        do {
+            if (this.closed) {
+                return false;
+            }
+            sequence = this.claimed.get() + 1;
+            if (sequence - this.capacity > this.consumed) {
+                return false;
+            }
+        } while (!this.claimed.compareAndSet(sequence - 1, sequence));
+        int index = (int) sequence & this.mask;
+        this.events[index] = event;
+        this.publishTimes[index] = publishTime;
+        this.published.set(index, sequence);
+        if (this.consumerWaiting) {
+            LockSupport.unpark(this.consumer);
+        }
+        return true;
+    }
+
+    /**
+     * Publish event, waiting for space if buffer is full.
+     *
+     * @return True if published, or false if closed.
+     */
+    boolean publish(Object event, long publishTime) {
+        for (int counter = 0; !tryPublish(event, publishTime); counter++) {
+            if (this.closed) {
+                return false;
+            }
+            if (counter < WaitStrategy.SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(50_000);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get number of events waiting to be handled.
+     */
+    long getPending() {
+        return this.claimed.get() - this.consumed;
+    }
+
+    void consume() {
+        try {
+            consumeEvents();
+        } finally {
+            this.closed = true;
+        }
+    }
+
+    void consumeEvents() {
+        long next = this.consumed + 1;
+        int counter = 0;
+        while (true) {
+            if (this.published.get((int) next & this.mask) != next) {
+                if (this.closed && this.claimed.get() < next) {
+                    return;
+                }
+                if (this.waitStrategy == WaitStrategy.BLOCKING) {
+                    this.consumerWaiting = true;
+                    // re-check after flag is visible to publishers:
+                    if (this.published.get((int) next & this.mask) != next && !this.closed) {
+                        this.waitStrategy.idle(counter);
+                    }
+                    this.consumerWaiting = false;
+                } else {
+                    this.waitStrategy.idle(counter);
+                }
+                counter++;
+                continue;
+            }
+            counter = 0;
+            long end = next;
+            while (end - next + 1 < this.batchSize && this.published.get((int) (end + 1) & this.mask) == end + 1) {
+                end++;
+            }
+            for (long sequence = next; sequence <= end; sequence++) {
+                int index = (int) sequence & this.mask;
+                Object event = this.events[index];
+                this.events[index] = null;
+                try {
+                    this.handler.handle(event, this.publishTimes[index]);
+                } catch (Throwable t) {
+                    logger.atError().log("Error in consumer {} when handle {}", this.consumer.getName(), event, t);
+                }
+            }
+            this.consumed = end;
+            next = end + 1;
+        }
+    }
+
+    /**
+     * Stop accepting events, and wait for consumer to handle pending events.
+     *
+     * @return True if all pending events are handled before timeout.
+     */
+    boolean close(long timeoutMillis) throws InterruptedException {
+        this.closed = true;
+        LockSupport.unpark(this.consumer);
+        this.consumer.join(timeoutMillis);
+        return !this.consumer.isAlive();
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.context.event;
+
+import java.util.Set;
+
+/**
+ * Published after properties are updated and @ConfigurationProperties beans are rebound.
+ *
+ * @param propertyNames Names of changed, added and removed properties.
+ */
+public record PropertiesChangedEvent(Set<String> propertyNames) {
+
+    /**
+     * Check if any changed property has the prefix, e.g. "winter.datasource".
+     */
+    public boolean hasPrefix(String prefix) {
+        String start = prefix + ".";
+        return this.propertyNames.stream().anyMatch(name -> name.equals(prefix) || name.startsWith(start));
+    }
+}
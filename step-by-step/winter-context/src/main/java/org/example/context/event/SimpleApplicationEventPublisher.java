@@ -0,0 +1,160 @@
+package org.example.context.event;
+
+import org.example.PropertyResolver;
+import org.example.exception.NestedRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * ApplicationEventPublisher which calls synchronous listeners on publishing thread, and feeds each async listener
+ * through its own ring buffer and consumer thread.
+ *
+ * Configured by properties: "winter.event.buffer-size", "winter.event.batch-size", "winter.event.wait-strategy" (
+ * blocking, sleeping, yielding or busy-spin), "winter.event.backpressure" (block, drop or caller-runs) and
+ * "winter.event.shutdown-timeout" (milliseconds to wait for pending events when closing).
+ */
+public class SimpleApplicationEventPublisher implements ApplicationEventPublisher {
+
+    final Logger logger = LoggerFactory.getLogger(getClass());
+
+    final int bufferSize;
+    final int batchSize;
+    final WaitStrategy waitStrategy;
+    final Backpressure backpressure;
+    final long shutdownTimeout;
+    final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    // event class -> listeners accept it:
+    final Map<Class<?>, List<Listener>> listenerCache = new ConcurrentHashMap<>();
+
+    public SimpleApplicationEventPublisher(PropertyResolver propertyResolver) {
+        this(propertyResolver.getProperty("${winter.event.buffer-size:1024}", int.class),
+                propertyResolver.getProperty("${winter.event.batch-size:64}", int.class),
+                WaitStrategy.of(propertyResolver.getProperty("${winter.event.wait-strategy:blocking}")),
+                Backpressure.of(propertyResolver.getProperty("${winter.event.backpressure:block}")),
+                propertyResolver.getProperty("${winter.event.shutdown-timeout:5000}", long.class));
+    }
+
+    public SimpleApplicationEventPublisher(int bufferSize, int batchSize, WaitStrategy waitStrategy, Backpressure backpressure) {
+        this(bufferSize, batchSize, waitStrategy, backpressure, 5000);
+    }
+
+    public SimpleApplicationEventPublisher(int bufferSize, int batchSize, WaitStrategy waitStrategy, Backpressure backpressure, long shutdownTimeout) {
+        this.bufferSize = bufferSize;
+        this.batchSize = batchSize;
+        this.waitStrategy = waitStrategy;
+        this.backpressure = backpressure;
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    /**
+     * Add listener method which has exactly one parameter of event type.
+     *
+     * @param name   Listener name, e.g. "beanName.methodName".
+     * @param target Supplier of object to invoke method on.
+     */
+    public void addListener(String name, Method method, Supplier<Object> target, boolean async) {
+        Listener listener = new Listener(name, method, target, async);
+        this.listeners.add(listener);
+        this.listenerCache.clear();
+        logger.atDebug().log("add {} event listener {} for {}", async ? "async" : "sync", name, listener.eventType.getName());
+    }
+
+    @Override
+    public void publishEvent(Object event) {
+        Objects.requireNonNull(event, "Event must not be null.");
+        long publishTime = System.nanoTime();
+        for (Listener listener : getListeners(event.getClass())) {
+            if (listener.ringBuffer == null) {
+                listener.invoke(event, publishTime, true);
+            } else if (!listener.ringBuffer.tryPublish(event, publishTime)) {
+                switch (this.backpressure) {
+                    case BLOCK -> {
+                        if (!listener.ringBuffer.publish(event, publishTime)) {
+                            listener.metrics.dropped.increment();
+                        }
+                    }
+                    case DROP -> listener.metrics.dropped.increment();
+                    case CALLER_RUNS -> {
+                        listener.metrics.callerRuns.increment();
+                        listener.invoke(event, publishTime, false);
+                    }
+                }
+            }
+        }
+    }
+
+    List<Listener> getListeners(Class<?> eventClass) {
+        return this.listenerCache.computeIfAbsent(eventClass,
+                key -> this.listeners.stream().filter(listener -> listener.eventType.isAssignableFrom(key)).toList());
+    }
+
+    public List<EventListenerMetrics> getMetrics() {
+        return this.listeners.stream().map(listener -> listener.metrics).toList();
+    }
+
+    /**
+     * Stop async listeners after pending events are handled.
+     */
+    public void close() throws InterruptedException {
+        for (Listener listener : this.listeners) {
+            if (listener.ringBuffer != null && !listener.ringBuffer.close(this.shutdownTimeout)) {
+                logger.atWarn().log("event listener {} did not finish {} pending events.", listener.name, listener.ringBuffer.getPending());
+            }
+            logger.atInfo().log("{}", listener.metrics);
+        }
+    }
+
+    class Listener {
+
+        final String name;
+        final Method method;
+        final Class<?> eventType;
+        final Supplier<Object> target;
+        final EventRingBuffer ringBuffer;
+        final EventListenerMetrics metrics;
+
+        Listener(String name, Method method, Supplier<Object> target, boolean async) {
+            this.name = name;
+            this.method = method;
+            this.eventType = method.getParameterTypes()[0];
+            this.target = target;
+            this.ringBuffer = async ? new EventRingBuffer("event-" + name, bufferSize, batchSize, waitStrategy, (event, publishTime) -> invoke(event, publishTime, false)) : null;
+            this.metrics = new EventListenerMetrics(name, this.ringBuffer == null ? () -> 0 : this.ringBuffer::getPending);
+            method.setAccessible(true);
+        }
+
+        /**
+         * Invoke listener.
+         *
+         * @param rethrow Throw exception of listener to caller if true, otherwise log it.
+         */
+        void invoke(Object event, long publishTime, boolean rethrow) {
+            try {
+                this.method.invoke(this.target.get(), event);
+                this.metrics.record(publishTime, true);
+            } catch (InvocationTargetException | RuntimeException | IllegalAccessException e) {
+                this.metrics.record(publishTime, false);
+                Throwable t = e instanceof InvocationTargetException ite ? ite.getCause() : e;
+                if (rethrow) {
+                    if (t instanceof RuntimeException re) {
+                        throw re;
+                    }
+                    if (t instanceof Error error) {
+                        throw error;
+                    }
+                    throw new NestedRuntimeException("Exception in event listener " + this.name, t);
+                }
+                logger.atWarn().log("Exception in event listener {} when handle {}", this.name, event, t);
+            }
+        }
+    }
+}
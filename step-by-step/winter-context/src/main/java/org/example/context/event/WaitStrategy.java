@@ -0,0 +1,66 @@
+package org.example.context.event;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * How a thread waits for the ring buffer: trading CPU usage for latency.
+ */
+public enum WaitStrategy {
+
+    /**
+     * Spin on CPU, lowest latency.
+     */
+    BUSY_SPIN,
+
+    /**
+     * Spin, then yield to other threads.
+     */
+    YIELDING,
+
+    /**
+     * Spin, yield, then sleep shortly.
+     */
+    SLEEPING,
+
+    /**
+     * Park until woken up by producer.
+     */
+    BLOCKING;
+
+    static final int SPIN_TRIES = 100;
+
+    /**
+     * Wait once when nothing is available.
+     *
+     * @param counter Number of previous waits.
+     */
+    void idle(int counter) {
+        switch (this) {
+            case BUSY_SPIN -> Thread.onSpinWait();
+            case YIELDING -> {
+                if (counter < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+            case SLEEPING -> {
+                if (counter < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else if (counter < SPIN_TRIES * 2) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(100_000);
+                }
+            }
+            case BLOCKING -> {
+                // woken up by unpark() from producer, with timeout as safety net:
+                LockSupport.parkNanos(this, 10_000_000);
+            }
+        }
+    }
+
+    public static WaitStrategy of(String name) {
+        return valueOf(name.strip().toUpperCase().replace('-', '_'));
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.context.index;
+
+import jakarta.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Component classes merged from all META-INF/winter.components on classpath, written by ComponentIndexProcessor.
+ *
+ * The index is only complete for a package if every classpath root which contains the package has an index, e.g. a
+ * jar compiled without the processor must still be scanned.
+ */
+public class ComponentIndex {
+
+    public static final String INDEX_LOCATION = "META-INF/winter.components";
+
+    final Set<String> components;
+    // classpath roots which have index, e.g. "file:/app/classes/" or "jar:file:/app/lib/app.jar!/":
+    final Set<String> roots;
+
+    ComponentIndex(Set<String> components, Set<String> roots) {
+        this.components = components;
+        this.roots = roots;
+    }
+
+    /**
+     * Load index from class loader.
+     *
+     * @return ComponentIndex, or null if no index found.
+     */
+    @Nullable
+    public static ComponentIndex load(ClassLoader classLoader) {
+        try {
+            Enumeration<URL> urls = classLoader.getResources(INDEX_LOCATION);
+            if (!urls.hasMoreElements()) {
+                return null;
+            }
+            Set<String> components = new TreeSet<>();
+            Set<String> roots = new HashSet<>();
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                String location = url.toString();
+                roots.add(location.substring(0, location.length() - INDEX_LOCATION.length()));
+                Properties props = new Properties();
+                try (InputStream input = url.openStream()) {
+                    props.load(new InputStreamReader(input, StandardCharsets.UTF_8));
+                }
+                // value is stereotypes of component which are not used for lookup:
+                components.addAll(props.stringPropertyNames());
+            }
+            return new ComponentIndex(components, roots);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Check if every classpath root which contains the package has an index, so the index lists all its components.
+     */
+    public boolean covers(ClassLoader classLoader, String basePackage) {
+        String path = basePackage.replace('.', '/');
+        try {
+            Enumeration<URL> urls = classLoader.getResources(path);
+            while (urls.hasMoreElements()) {
+                String location = urls.nextElement().toString();
+                if (location.endsWith("/")) {
+                    location = location.substring(0, location.length() - 1);
+                }
+                if (!location.endsWith(path) || !this.roots.contains(location.substring(0, location.length() - path.length()))) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Get component class names in package or its sub-packages.
+     */
+    public List<String> getComponents(String basePackage) {
+        String prefix = basePackage + ".";
+        return this.components.stream().filter(className -> className.startsWith(prefix)).toList();
+    }
+}
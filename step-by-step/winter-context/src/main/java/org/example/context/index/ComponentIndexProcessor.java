@@ -0,0 +1,111 @@
+package org.example.context.index;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Annotation processor which writes all @Component classes (including @Configuration and classes annotated by custom
+ * stereotypes) of a compilation into META-INF/winter.components, so the context can find components without scanning.
+ *
+ * The processor is discovered by javac from the classpath of any module depending on winter-context.
+ */
+public class ComponentIndexProcessor extends AbstractProcessor {
+
+    public static final String COMPONENT = "org.example.annotation.Component";
+
+    final Map<String, List<String>> components = new TreeMap<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Set.of("*");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getRootElements()) {
+            if (element instanceof TypeElement type) {
+                addComponents(type);
+            }
+        }
+        if (roundEnv.processingOver() && !this.components.isEmpty()) {
+            writeIndex();
+        }
+        // do not claim any annotation:
+        return false;
+    }
+
+    void addComponents(TypeElement type) {
+        // records are indexed for @ConfigurationProperties:
+        if (type.getKind() == ElementKind.CLASS || type.getKind() == ElementKind.RECORD) {
+            List<String> stereotypes = new ArrayList<>();
+            for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+                TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+                if (isComponent(annotationType, new HashSet<>())) {
+                    stereotypes.add(annotationType.getQualifiedName().toString());
+                }
+            }
+            if (!stereotypes.isEmpty()) {
+                this.components.put(processingEnv.getElementUtils().getBinaryName(type).toString(), stereotypes);
+            }
+        }
+        // nested classes:
+        for (Element enclosed : type.getEnclosedElements()) {
+            if (enclosed instanceof TypeElement nested) {
+                addComponents(nested);
+            }
+        }
+    }
+
+    /**
+     * Check if annotation type is @Component or is meta-annotated by @Component.
+     */
+    static boolean isComponent(TypeElement annotationType, Set<String> visited) {
+        return isAnnotation(annotationType, COMPONENT, visited);
+    }
+
+    /**
+     * Check if annotation type is the named annotation or is meta-annotated by it.
+     */
+    public static boolean isAnnotation(TypeElement annotationType, String annotationName, Set<String> visited) {
+        String name = annotationType.getQualifiedName().toString();
+        if (annotationName.equals(name)) {
+            return true;
+        }
+        if (name.startsWith("java.lang.annotation.") || !visited.add(name)) {
+            return false;
+        }
+        for (AnnotationMirror annotation : annotationType.getAnnotationMirrors()) {
+            if (isAnnotation((TypeElement) annotation.getAnnotationType().asElement(), annotationName, visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void writeIndex() {
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", ComponentIndex.INDEX_LOCATION);
+            try (Writer writer = file.openWriter()) {
+                writer.write("# generated by " + getClass().getName() + "\n");
+                for (Map.Entry<String, List<String>> entry : this.components.entrySet()) {
+                    writer.write(entry.getKey() + "=" + String.join(",", entry.getValue()) + "\n");
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write " + ComponentIndex.INDEX_LOCATION + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.context.scheduling;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Cron expression of 6 fields "second minute hour day-of-month month day-of-week", or 5 fields without second.
+ *
+ * Each field supports "*", "?", values, ranges "a-b", lists "a,b" and steps "* /n" or "a-b/n". Month and day-of-week
+ * also accept names such as "JAN" and "MON", and day-of-week 0 or 7 is Sunday. A time matches when all fields match.
+ */
+public class CronExpression {
+
+    static final List<String> MONTHS = List.of("JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT", "NOV", "DEC");
+    static final List<String> DAYS_OF_WEEK = List.of("SUN", "MON", "TUE", "WED", "THU", "FRI", "SAT");
+
+    final String expression;
+    final BitSet seconds;
+    final BitSet minutes;
+    final BitSet hours;
+    final BitSet daysOfMonth;
+    final BitSet months;
+    final BitSet daysOfWeek;
+
+    public CronExpression(String expression) {
+        this.expression = expression;
+        String[] fields = expression.strip().split("\\s+");
+        if (fields.length == 5) {
+            fields = new String[] { "0", fields[0], fields[1], fields[2], fields[3], fields[4] };
+        }
+        if (fields.length != 6) {
+            throw new IllegalArgumentException("Cron expression must have 5 or 6 fields: " + expression);
+        }
+        this.seconds = parseField(fields[0], 0, 59, null);
+        this.minutes = parseField(fields[1], 0, 59, null);
+        this.hours = parseField(fields[2], 0, 23, null);
+        this.daysOfMonth = parseField(fields[3], 1, 31, null);
+        this.months = parseField(fields[4], 1, 12, MONTHS);
+        this.daysOfWeek = parseField(fields[5], 0, 7, DAYS_OF_WEEK);
+        if (this.daysOfWeek.get(7)) {
+            this.daysOfWeek.set(0);
+        }
+    }
+
+    BitSet parseField(String field, int min, int max, List<String> names) {
+        BitSet bits = new BitSet(max + 1);
+        for (String part : field.split(",")) {
+            int step = 1;
+            int slash = part.indexOf('/');
+            if (slash >= 0) {
+                step = Integer.parseInt(part.substring(slash + 1));
+                part = part.substring(0, slash);
+                if (step <= 0) {
+                    throw new IllegalArgumentException("Invalid step in cron expression: " + this.expression);
+                }
+            }
+            int start;
+            int end;
+            if (part.equals("*") || part.equals("?")) {
+                start = min;
+                end = max;
+            } else {
+                int dash = part.indexOf('-');
+                start = parseValue(dash < 0 ? part : part.substring(0, dash), names);
+                end = dash < 0 ? (slash >= 0 ? max : start) : parseValue(part.substring(dash + 1), names);
+            }
+            if (start < min || end > max || start > end) {
+                throw new IllegalArgumentException("Invalid value '" + part + "' in cron expression: " + this.expression);
+            }
+            for (int i = start; i <= end; i += step) {
+                bits.set(i);
+            }
+        }
+        return bits;
+    }
+
+    int parseValue(String value, List<String> names) {
+        if (names != null) {
+            int index = names.indexOf(value.toUpperCase());
+            if (index >= 0) {
+                // month names start from 1:
+                return names == MONTHS ? index + 1 : index;
+            }
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value '" + value + "' in cron expression: " + this.expression);
+        }
+    }
+
+    /**
+     * Get next matched time after given time.
+     *
+     * @throws IllegalStateException If no time matches in the next 5 years, e.g. "0 0 0 30 FEB ?".
+     */
+    public ZonedDateTime next(ZonedDateTime after) {
+        ZonedDateTime time = after.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+        ZonedDateTime limit = time.plusYears(5);
+        while (time.isBefore(limit)) {
+            if (!this.months.get(time.getMonthValue())) {
+                time = time.withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS).plusMonths(1);
+            } else if (!this.daysOfMonth.get(time.getDayOfMonth()) || !this.daysOfWeek.get(time.getDayOfWeek().getValue() % 7)) {
+                time = time.truncatedTo(ChronoUnit.DAYS).plusDays(1);
+            } else if (!this.hours.get(time.getHour())) {
+                time = time.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+            } else if (!this.minutes.get(time.getMinute())) {
+                time = time.truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+            } else if (!this.seconds.get(time.getSecond())) {
+                time = time.plusSeconds(1);
+            } else {
+                return time;
+            }
+        }
+        throw new IllegalStateException("No time matches cron expression: " + this.expression);
+    }
+
+    @Override
+    public String toString() {
+        return this.expression;
+    }
+}
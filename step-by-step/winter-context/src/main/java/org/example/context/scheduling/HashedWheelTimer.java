@@ -0,0 +1,123 @@
+package org.example.context.scheduling;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+/**
+ * Hashed timing wheel driven by one thread: a timeout is put into bucket (deadline tick % wheel size) with the number of
+ * whole rounds left, so adding a timeout is O(1) and each tick only visits one bucket, however many timeouts there are.
+ *
+ * Timeouts expire on the wheel thread, so callbacks must only hand work over to another thread. Precision is one tick.
+ */
+final class HashedWheelTimer {
+
+    final long tickNanos;
+    final int mask;
+    // buckets are only accessed by wheel thread:
+    final List<List<Timeout>> wheel;
+    // timeouts added by other threads:
+    final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    final long startTime = System.nanoTime();
+    final Thread worker;
+    volatile boolean stopped;
+    long tick;
+
+    HashedWheelTimer(String name, long tickMillis, int wheelSize) {
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, tickMillis));
+        // round up to power of 2:
+        int size = wheelSize <= 2 ? 2 : Integer.highestOneBit(wheelSize - 1) << 1;
+        this.mask = size - 1;
+        this.wheel = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            this.wheel.add(new ArrayList<>());
+        }
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Call task with deadline (as System.nanoTime()) on wheel thread when deadline is reached.
+     */
+    Timeout newTimeout(long deadline, LongConsumer task) {
+        Timeout timeout = new Timeout(deadline, task);
+        this.pending.add(timeout);
+        return timeout;
+    }
+
+    void run() {
+        while (!this.stopped) {
+            long tickDeadline = this.startTime + (this.tick + 1) * this.tickNanos;
+            long sleep = tickDeadline - System.nanoTime();
+            if (sleep > 0) {
+                LockSupport.parkNanos(this, sleep);
+                continue;
+            }
+            transferPending();
+            expire(this.wheel.get((int) (this.tick & this.mask)), tickDeadline);
+            this.tick++;
+        }
+    }
+
+    void transferPending() {
+        Timeout timeout;
+        while ((timeout = this.pending.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            long ticks = Math.max(this.tick, (timeout.deadline - this.startTime) / this.tickNanos);
+            timeout.rounds = (ticks - this.tick) / this.wheel.size();
+            this.wheel.get((int) (ticks & this.mask)).add(timeout);
+        }
+    }
+
+    void expire(List<Timeout> bucket, long now) {
+        Iterator<Timeout> it = bucket.iterator();
+        while (it.hasNext()) {
+            Timeout timeout = it.next();
+            if (timeout.cancelled) {
+                it.remove();
+            } else if (timeout.rounds <= 0) {
+                it.remove();
+                timeout.task.accept(timeout.deadline);
+            } else {
+                timeout.rounds--;
+            }
+        }
+    }
+
+    /**
+     * Get number of timeouts waiting, read from wheel thread or after stopped.
+     */
+    int size() {
+        return this.pending.size() + this.wheel.stream().mapToInt(List::size).sum();
+    }
+
+    void stop() {
+        this.stopped = true;
+        LockSupport.unpark(this.worker);
+    }
+
+    static final class Timeout {
+
+        final long deadline;
+        final LongConsumer task;
+        long rounds;
+        volatile boolean cancelled;
+
+        Timeout(long deadline, LongConsumer task) {
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        void cancel() {
+            this.cancelled = true;
+        }
+    }
+}
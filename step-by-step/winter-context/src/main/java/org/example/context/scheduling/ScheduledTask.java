@@ -0,0 +1,153 @@
+package org.example.context.scheduling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A scheduled task with metrics. Runs of the same task never overlap: a fixed rate or cron run which is due while the
+ * previous run is still running is skipped.
+ */
+public class ScheduledTask {
+
+    static final Logger logger = LoggerFactory.getLogger(ScheduledTask.class);
+
+    final TaskScheduler scheduler;
+    final String name;
+    final Runnable task;
+    final long fixedRate;
+    final long fixedDelay;
+    final CronExpression cron;
+    final AtomicBoolean running = new AtomicBoolean();
+    final AtomicLong runs = new AtomicLong();
+    final AtomicLong skipped = new AtomicLong();
+    final AtomicLong failures = new AtomicLong();
+    volatile long lastDuration;
+    volatile long lastLag;
+    volatile long maxLag;
+    volatile HashedWheelTimer.Timeout timeout;
+    volatile boolean cancelled;
+
+    ScheduledTask(TaskScheduler scheduler, String name, Runnable task, long fixedRate, long fixedDelay, CronExpression cron) {
+        this.scheduler = scheduler;
+        this.name = name;
+        this.task = task;
+        this.fixedRate = fixedRate;
+        this.fixedDelay = fixedDelay;
+        this.cron = cron;
+    }
+
+    void scheduleAt(long deadline) {
+        if (!this.cancelled) {
+            this.timeout = this.scheduler.timer.newTimeout(deadline, this::fire);
+        }
+    }
+
+    void scheduleNextCron() {
+        ZonedDateTime now = ZonedDateTime.now();
+        long delay = now.until(this.cron.next(now), ChronoUnit.NANOS);
+        scheduleAt(System.nanoTime() + delay);
+    }
+
+    /**
+     * Called on wheel thread when due.
+     */
+    void fire(long deadline) {
+        if (this.fixedRate > 0) {
+            scheduleAt(deadline + TimeUnit.MILLISECONDS.toNanos(this.fixedRate));
+        } else if (this.cron != null) {
+            scheduleNextCron();
+        }
+        if (!this.running.compareAndSet(false, true)) {
+            this.skipped.incrementAndGet();
+            return;
+        }
+        try {
+            this.scheduler.executor.execute(() -> run(deadline));
+        } catch (RejectedExecutionException e) {
+            // scheduler closed:
+            this.running.set(false);
+        }
+    }
+
+    void run(long deadline) {
+        long start = System.nanoTime();
+        long lag = start - deadline;
+        this.lastLag = lag;
+        if (lag > this.maxLag) {
+            this.maxLag = lag;
+        }
+        try {
+            this.task.run();
+        } catch (RuntimeException | Error e) {
+            this.failures.incrementAndGet();
+            logger.atWarn().log("scheduled task {} failed.", this.name, e);
+        } finally {
+            long end = System.nanoTime();
+            this.lastDuration = end - start;
+            this.runs.incrementAndGet();
+            this.running.set(false);
+            if (this.fixedDelay > 0) {
+                scheduleAt(end + TimeUnit.MILLISECONDS.toNanos(this.fixedDelay));
+            }
+        }
+    }
+
+    void cancel() {
+        this.cancelled = true;
+        HashedWheelTimer.Timeout timeout = this.timeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public boolean isRunning() {
+        return this.running.get();
+    }
+
+    public long getRuns() {
+        return this.runs.get();
+    }
+
+    /**
+     * Get number of runs skipped because previous run was not finished.
+     */
+    public long getSkipped() {
+        return this.skipped.get();
+    }
+
+    public long getFailures() {
+        return this.failures.get();
+    }
+
+    public double getLastDurationMillis() {
+        return this.lastDuration / 1_000_000.0;
+    }
+
+    /**
+     * Get delay between due time and actual start of last run.
+     */
+    public double getLastLagMillis() {
+        return this.lastLag / 1_000_000.0;
+    }
+
+    public double getMaxLagMillis() {
+        return this.maxLag / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: runs=%d, skipped=%d, failures=%d, lastDuration=%.3fms, lastLag=%.3fms, maxLag=%.3fms",
+                this.name, getRuns(), getSkipped(), getFailures(), getLastDurationMillis(), getLastLagMillis(), getMaxLagMillis());
+    }
+}
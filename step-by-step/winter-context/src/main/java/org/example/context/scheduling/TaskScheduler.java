@@ -0,0 +1,97 @@
+package org.example.context.scheduling;
+
+import org.example.PropertyResolver;
+import org.example.util.ThreadUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared scheduler of @Scheduled methods: one hashed timing wheel finds due tasks, and each run is handed to a virtual
+ * thread (or a cached daemon thread on Java versions without virtual thread).
+ *
+ * The wheel thread starts with the first scheduled task. Configured by "winter.scheduler.tick-duration" in
+ * milliseconds, "winter.scheduler.wheel-size" and "winter.scheduler.shutdown-timeout" in milliseconds.
+ */
+public class TaskScheduler {
+
+    final Logger logger = LoggerFactory.getLogger(getClass());
+
+    final long tickMillis;
+    final int wheelSize;
+    final long shutdownTimeout;
+    final List<ScheduledTask> tasks = new CopyOnWriteArrayList<>();
+    volatile HashedWheelTimer timer;
+    volatile ExecutorService executor;
+
+    public TaskScheduler(PropertyResolver propertyResolver) {
+        this(propertyResolver.getProperty("${winter.scheduler.tick-duration:10}", long.class),
+                propertyResolver.getProperty("${winter.scheduler.wheel-size:512}", int.class),
+                propertyResolver.getProperty("${winter.scheduler.shutdown-timeout:30000}", long.class));
+    }
+
+    public TaskScheduler(long tickMillis, int wheelSize) {
+        this(tickMillis, wheelSize, 30000);
+    }
+
+    public TaskScheduler(long tickMillis, int wheelSize, long shutdownTimeout) {
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    public ScheduledTask scheduleAtFixedRate(String name, Runnable task, long initialDelay, long fixedRate) {
+        ScheduledTask scheduledTask = addTask(new ScheduledTask(this, name, task, fixedRate, -1, null));
+        scheduledTask.scheduleAt(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(initialDelay));
+        return scheduledTask;
+    }
+
+    public ScheduledTask scheduleWithFixedDelay(String name, Runnable task, long initialDelay, long fixedDelay) {
+        ScheduledTask scheduledTask = addTask(new ScheduledTask(this, name, task, -1, fixedDelay, null));
+        scheduledTask.scheduleAt(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(initialDelay));
+        return scheduledTask;
+    }
+
+    public ScheduledTask schedule(String name, Runnable task, CronExpression cron) {
+        ScheduledTask scheduledTask = addTask(new ScheduledTask(this, name, task, -1, -1, cron));
+        scheduledTask.scheduleNextCron();
+        return scheduledTask;
+    }
+
+    synchronized ScheduledTask addTask(ScheduledTask task) {
+        if (this.timer == null) {
+            ExecutorService executor = ThreadUtils.newVirtualThreadPerTaskExecutor();
+            this.executor = executor != null ? executor : Executors.newCachedThreadPool(ThreadUtils.newDaemonThreadFactory("scheduled-task"));
+            this.timer = new HashedWheelTimer("scheduler", this.tickMillis, this.wheelSize);
+        }
+        this.tasks.add(task);
+        logger.atDebug().log("schedule task: {}", task.getName());
+        return task;
+    }
+
+    public List<ScheduledTask> getTasks() {
+        return List.copyOf(this.tasks);
+    }
+
+    /**
+     * Stop scheduling and wait running tasks to complete.
+     */
+    public synchronized void close() throws InterruptedException {
+        if (this.timer == null) {
+            return;
+        }
+        this.tasks.forEach(ScheduledTask::cancel);
+        this.timer.stop();
+        this.executor.shutdown();
+        if (!this.executor.awaitTermination(this.shutdownTimeout, TimeUnit.MILLISECONDS)) {
+            logger.atWarn().log("scheduled tasks not finished in {} ms.", this.shutdownTimeout);
+            this.executor.shutdownNow();
+        }
+        this.tasks.forEach(task -> logger.atInfo().log("{}", task));
+    }
+}
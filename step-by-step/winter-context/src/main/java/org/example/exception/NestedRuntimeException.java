@@ -16,4 +16,11 @@ public class NestedRuntimeException extends RuntimeException {
     public NestedRuntimeException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    /**
+     * Allow subclasses to skip filling the stack trace for expected failures.
+     */
+    protected NestedRuntimeException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
 }
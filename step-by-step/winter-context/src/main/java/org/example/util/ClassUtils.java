@@ -6,30 +6,82 @@ import org.example.exception.BeanDefinitionException;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ClassUtils {
 
+    /**
+     * Annotations of class merged with meta-annotations, resolved once per class.
+     */
+    static final ClassValue<Map<Class<? extends Annotation>, Object>> MERGED_ANNOTATIONS = new ClassValue<>() {
+        @Override
+        protected Map<Class<? extends Annotation>, Object> computeValue(Class<?> type) {
+            return mergeAnnotations(type);
+        }
+    };
+
+    static final ClassValue<String> BEAN_NAMES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            return resolveBeanName(type);
+        }
+    };
+
+    static final ClassValue<Map<Class<? extends Annotation>, Optional<Method>>> ANNOTATION_METHODS = new ClassValue<>() {
+        @Override
+        protected Map<Class<? extends Annotation>, Optional<Method>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * Marks annotation which is found more than once on target.
+     */
+    record DuplicateAnnotation(Class<?> target) {
+    }
+
+    /**
+     * Find annotation on class, or on its annotations recursively.
+     *
+     * @throws BeanDefinitionException If annotation is found more than once.
+     */
     public static <A extends Annotation> A findAnnotation(Class<?> target, Class<A> annoClass) {
-        A a = target.getAnnotation(annoClass);
+        Object found = MERGED_ANNOTATIONS.get(target).get(annoClass);
+        if (found instanceof DuplicateAnnotation duplicate) {
+            throw new BeanDefinitionException("Duplicate @" + annoClass.getSimpleName() + " found on class " + duplicate.target().getSimpleName());
+        }
+        return annoClass.cast(found);
+    }
 
-        for (Annotation annotation : target.getAnnotations()) {
+    static Map<Class<? extends Annotation>, Object> mergeAnnotations(Class<?> target) {
+        Annotation[] annotations = target.getAnnotations();
+        Map<Class<? extends Annotation>, Object> merged = new HashMap<>();
+        for (Annotation annotation : annotations) {
+            merged.put(annotation.annotationType(), annotation);
+        }
+        for (Annotation annotation : annotations) {
             Class<? extends Annotation> type = annotation.annotationType();
-            if (!"java.lang.annotation".equals(type.getPackageName())) {
-                A found = findAnnotation(type, annoClass);
-                if (found != null) {
-                    if (a != null) {
-                        throw new BeanDefinitionException("Duplicate @" + annoClass.getSimpleName() + " found on class " + target.getSimpleName());
-                    }
-                    a = found;
-                }
+            if ("java.lang.annotation".equals(type.getPackageName())) {
+                continue;
             }
+            MERGED_ANNOTATIONS.get(type).forEach((key, value) -> {
+                Object existing = merged.get(key);
+                if (existing instanceof DuplicateAnnotation) {
+                    // keep the first duplicate found:
+                    return;
+                }
+                merged.put(key, existing == null || value instanceof DuplicateAnnotation ? value : new DuplicateAnnotation(target));
+            });
         }
-
-        return a;
+        return Map.copyOf(merged);
     }
+
     public static <A extends Annotation> Method findAnnotationMethod(Class<?> clazz, Class<A> annoClass) {
+        return ANNOTATION_METHODS.get(clazz).computeIfAbsent(annoClass, key -> Optional.ofNullable(scanAnnotationMethod(clazz, annoClass))).orElse(null);
+    }
+
+    static <A extends Annotation> Method scanAnnotationMethod(Class<?> clazz, Class<A> annoClass) {
         List<Method> methodList = Arrays.stream(clazz.getDeclaredMethods())
                 .filter(method -> method.isAnnotationPresent(annoClass))
                 .peek(method -> {
@@ -53,6 +105,10 @@ public class ClassUtils {
     }
 
     public static String getBeanName(Class<?> beanClass) {
+        return BEAN_NAMES.get(beanClass);
+    }
+
+    static String resolveBeanName(Class<?> beanClass) {
         String beanName = "";
 
         Component component = beanClass.getAnnotation(Component.class);
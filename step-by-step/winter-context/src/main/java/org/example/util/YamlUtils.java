@@ -7,6 +7,11 @@ import org.yaml.snakeyaml.constructor.Constructor;
 import org.yaml.snakeyaml.representer.Representer;
 import org.yaml.snakeyaml.resolver.Resolver;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -21,18 +26,39 @@ public class YamlUtils {
 
     @SuppressWarnings("unchecked")
     public static Map<String, Object> loadYaml(String path) {
-        var loaderOptions = new LoaderOptions();
-        var dumperOptions = new DumperOptions();
-        var representer = new Representer(dumperOptions);
-        var resolver = new NoImplicitResolver();
-        var yaml = new Yaml(new Constructor(loaderOptions), representer, dumperOptions, loaderOptions, resolver);
+        var yaml = createYaml();
         return ClassPathUtils.readInputStream(path, (input) -> {
             return (Map<String, Object>) yaml.load(input);
         });
     }
 
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> loadYaml(Path file) {
+        try (InputStream input = Files.newInputStream(file)) {
+            Map<String, Object> data = (Map<String, Object>) createYaml().load(input);
+            return data == null ? Map.of() : data;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     public static Map<String, Object> loadYamlAsPlainMap(String path) {
-        Map<String, Object> data = loadYaml(path);
+        return toPlainMap(loadYaml(path));
+    }
+
+    public static Map<String, Object> loadYamlAsPlainMap(Path file) {
+        return toPlainMap(loadYaml(file));
+    }
+
+    static Yaml createYaml() {
+        var loaderOptions = new LoaderOptions();
+        var dumperOptions = new DumperOptions();
+        var representer = new Representer(dumperOptions);
+        var resolver = new NoImplicitResolver();
+        return new Yaml(new Constructor(loaderOptions), representer, dumperOptions, loaderOptions, resolver);
+    }
+
+    static Map<String, Object> toPlainMap(Map<String, Object> data) {
         Map<String, Object> plain = new LinkedHashMap<>();
         convertTo(data, "", plain);
         return plain;
@@ -40,16 +66,22 @@ public class YamlUtils {
 
     static void convertTo(Map<String, Object> source, String prefix, Map<String, Object> plain) {
         for (String key : source.keySet()) {
-            Object value = source.get(key);
-            if (value instanceof Map) {
-                @SuppressWarnings("unchecked")
-                Map<String, Object> subMap = (Map<String, Object>) value;
-                convertTo(subMap, prefix + key + ".", plain);
-            } else if (value instanceof List) {
-                plain.put(prefix + key, value);
-            } else {
-                plain.put(prefix + key, value.toString());
+            convertTo(prefix + key, source.get(key), plain);
+        }
+    }
+
+    static void convertTo(String name, Object value, Map<String, Object> plain) {
+        if (value instanceof Map) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> subMap = (Map<String, Object>) value;
+            convertTo(subMap, name + ".", plain);
+        } else if (value instanceof List<?> list) {
+            // list is flattened as name[0], name[1], ...
+            for (int i = 0; i < list.size(); i++) {
+                convertTo(name + "[" + i + "]", list.get(i), plain);
             }
+        } else {
+            plain.put(name, value.toString());
         }
     }
 }
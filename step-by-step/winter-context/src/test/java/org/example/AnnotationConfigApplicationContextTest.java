@@ -1,27 +1,77 @@
 package org.example;
 
 import org.example.context.AnnotationConfigApplicationContext;
+import org.example.annotation.Component;
+import org.example.annotation.ComponentScan;
+import org.example.annotation.Configuration;
 import org.example.context.BeanDefinition;
+import org.example.context.BeanPostProcessor;
+import org.example.context.StartupProfiler;
+import org.example.context.ApplicationContext;
+import org.example.context.ApplicationContextUtils;
+import org.example.context.test.ContextCache;
+import org.example.context.aot.BeanWiring;
+import org.example.context.classfile.ClassMetadataReader;
+import org.example.context.event.Backpressure;
+import org.example.context.event.EventListenerMetrics;
+import org.example.context.event.SimpleApplicationEventPublisher;
+import org.example.context.event.WaitStrategy;
+import org.example.context.index.ComponentIndex;
+import org.example.context.scheduling.CronExpression;
+import org.example.context.scheduling.ScheduledTask;
+import org.example.context.scheduling.TaskScheduler;
+import org.example.exception.BeanCreationException;
+import org.example.exception.BeanDefinitionException;
+import org.example.exception.NoSuchBeanDefinitionException;
 import org.example.imported.LocalDateConfiguration;
 import org.example.imported.ZonedDateConfiguration;
 import org.example.scan.ScanApplication;
+import org.example.scan.condition.*;
 import org.example.scan.convert.ValueConverterBean;
+import org.example.scan.custom.annotation.CustomAnnotation;
 import org.example.scan.custom.annotation.CustomAnnotationBean;
+import org.example.scan.destroy.DestroyRecorder;
+import org.example.scan.event.OrderEventListener;
+import org.example.scan.event.OrderService;
 import org.example.scan.init.AnnotationInitBean;
 import org.example.scan.init.SpecifyInitBean;
+import org.example.scan.lazy.LazyCycleFirstBean;
+import org.example.scan.lazy.LazyReportBean;
+import org.example.scan.lazy.LazyUserBean;
 import org.example.scan.nested.OuterBean;
 import org.example.scan.primary.PersonBean;
 import org.example.scan.primary.StudentBean;
 import org.example.scan.primary.TeacherBean;
+import org.example.scan.properties.ClientProperties;
+import org.example.scan.properties.ServerProperties;
+import org.example.scan.properties.ServerPropertiesUser;
+import org.example.scan.properties.StrictProperties;
 import org.example.scan.proxy.InjectProxyOnConstructorBean;
 import org.example.scan.proxy.InjectProxyOnPropertyBean;
 import org.example.scan.proxy.OriginBean;
 import org.example.scan.proxy.SecondProxyBean;
+import org.example.scan.scope.PrototypeBean;
+import org.example.scan.scope.RequestScopedBean;
+import org.example.scan.scope.ScopeUserBean;
+import org.example.scan.scope.ThreadScopedBean;
+import org.example.scheduling.ScheduledApplication;
+import org.example.scheduling.ScheduledBean;
+import org.example.util.ClassUtils;
 import org.junit.jupiter.api.Test;
 
 import java.time.*;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -143,7 +193,578 @@ public class AnnotationConfigApplicationContextTest {
         assertSame(proxy, inject2.injected);
     }
 
+    @Test
+    public void testParallel() {
+        var ps = createProperties();
+        ps.put("winter.context.parallel", "true");
+        ps.put("winter.context.parallel-threads", "4");
+        var ctx = new AnnotationConfigApplicationContext(ScanApplication.class, new PropertyResolver(ps));
+        // init after injection:
+        assertEquals("Scan App / v1.0", ctx.getBean(AnnotationInitBean.class).appName);
+        assertEquals("Scan App / v1.0", ctx.getBean(SpecifyInitBean.class).appName);
+        // proxy injected:
+        OriginBean proxy = ctx.getBean(OriginBean.class);
+        assertSame(SecondProxyBean.class, proxy.getClass());
+        assertSame(proxy, ctx.getBean(InjectProxyOnPropertyBean.class).injected);
+        assertSame(proxy, ctx.getBean(InjectProxyOnConstructorBean.class).injected);
+        // same bean definitions as sequential creation:
+        assertSame(ctx.findBeanDefinition(TeacherBean.class), ctx.findBeanDefinition(PersonBean.class));
+        assertNotNull(ctx.getBean("startZonedDateTime"));
+    }
+
+    @Test
+    public void testLazy() {
+        var ctx = new AnnotationConfigApplicationContext(ScanApplication.class, createPropertyResolver());
+        assertTrue(ctx.findBeanDefinition(LazyReportBean.class).isLazy());
+        assertEquals(List.of("lazyReportBean"), ctx.getUnusedLazyBeanNames());
+
+        var user = ctx.getBean(LazyUserBean.class);
+        // lazy bean is proxy:
+        assertNotSame(LazyReportBean.class, user.reportBean.getClass());
+        assertSame(user.reportBean, ctx.getBean(LazyReportBean.class));
+        // created, injected and initialized on first use:
+        assertEquals("Report of Scan App", user.reportBean.getReport());
+        assertTrue(ctx.getUnusedLazyBeanNames().isEmpty());
+
+        // lazy injection point:
+        assertNotSame(ctx.getBean(OriginBean.class), user.originBean);
+        assertEquals("Scan App", user.originBean.getName());
+        ctx.close();
+    }
+
+    @Test
+    public void testLazyInit() {
+        var ps = createProperties();
+        ps.put("winter.context.lazy-init", "true");
+        var ctx = new AnnotationConfigApplicationContext(ScanApplication.class, new PropertyResolver(ps));
+        // configurations and post processors are not lazy:
+        assertFalse(ctx.findBeanDefinition(LocalDateConfiguration.class).isLazy());
+        assertFalse(ctx.findBeanDefinition("firstProxyBeanPostProcessor").isLazy());
+        // final class is not lazy:
+        assertFalse(ctx.findBeanDefinition("startLocalDate").isLazy());
+        assertTrue(ctx.getUnusedLazyBeanNames().contains("lazyUserBean"));
+
+        // public fields of proxy are not set:
+        assertEquals("Scan App", ctx.getBean(LazyUserBean.class).getOriginBean().getName());
+        assertFalse(ctx.getUnusedLazyBeanNames().contains("lazyUserBean"));
+        ctx.close();
+    }
+
+    @Test
+    public void testLazyCycle() {
+        // constructor cycle broken by @Lazy is created in both sequential and parallel mode:
+        for (String parallel : List.of("false", "true")) {
+            var ps = createProperties();
+            ps.put("winter.context.parallel", parallel);
+            var ctx = new AnnotationConfigApplicationContext(ScanApplication.class, new PropertyResolver(ps));
+            assertEquals("second of first", ctx.getBean(LazyCycleFirstBean.class).getSecondName());
+            ctx.close();
+        }
+    }
+
+    @Test
+    public void testScope() throws InterruptedException {
+        var ctx = new AnnotationConfigApplicationContext(ScanApplication.class, createPropertyResolver());
+        var user = ctx.getBean(ScopeUserBean.class);
+
+        // prototype:
+        var prototype1 = ctx.getBean(PrototypeBean.class);
+        var prototype2 = ctx.getBean(PrototypeBean.class);
+        assertNotSame(prototype1, prototype2);
+        assertNotSame(user.prototypeBean, prototype1);
+        // reused from pool:
+        ctx.releaseBean("prototypeBean", prototype2);
+        assertSame(prototype2, ctx.getBean(PrototypeBean.class));
+
+        // thread:
+        assertEquals(Thread.currentThread().getName(), user.threadScopedBean.getThreadName());
+        String[] threadName = new String[1];
+        Thread t = new Thread(() -> threadName[0] = user.threadScopedBean.getThreadName(), "scope-test");
+        t.start();
+        t.join();
+        assertEquals("scope-test", threadName[0]);
+
+        // request:
+        assertThrows(BeanCreationException.class, () -> user.requestScopedBean.getUser());
+        assertTrue(ctx.beginRequestScope());
+        assertFalse(ctx.beginRequestScope());
+        user.requestScopedBean.setUser("Bob");
+        assertEquals("Bob", ctx.getBean(RequestScopedBean.class).getUser());
+        ctx.endRequestScope();
+        assertTrue(RequestScopedBean.DESTROYED.contains("Bob"));
+
+        ctx.beginRequestScope();
+        assertNull(user.requestScopedBean.getUser());
+        ctx.endRequestScope();
+        ctx.close();
+
+        // thread scoped beans of all threads are destroyed:
+        assertTrue(ThreadScopedBean.DESTROYED.containsAll(List.of(Thread.currentThread().getName(), "scope-test")));
+    }
+
+    @Test
+    public void testFindByType() {
+        var ctx = new AnnotationConfigApplicationContext(ScanApplication.class, createPropertyResolver());
+        // precomputed, sorted by order and name:
+        List<BeanDefinition> defs = ctx.findBeanDefinitions(PersonBean.class);
+        assertSame(defs, ctx.findBeanDefinitions(PersonBean.class));
+        assertEquals(List.of(ctx.findBeanDefinition(StudentBean.class), ctx.findBeanDefinition(TeacherBean.class)), defs);
+        assertTrue(ctx.findBeanDefinitions(Object.class).containsAll(defs));
+        // interface:
+        assertTrue(ctx.findBeanDefinitions(BeanPostProcessor.class).size() >= 2);
+        // not found:
+        assertTrue(ctx.findBeanDefinitions(Runnable.class).isEmpty());
+        assertNull(ctx.findBeanDefinition(Runnable.class));
+        assertThrows(RuntimeException.class, () -> ctx.findBeanDefinition(BeanPostProcessor.class));
+
+        ctx.close();
+        assertFalse(ctx.containsBean("annotationInitBean"));
+        assertTrue(ctx.findBeanDefinitions(PersonBean.class).isEmpty());
+    }
+
+    @Test
+    public void testAot() throws ReflectiveOperationException {
+        var wiring = (BeanWiring) Class.forName(AnnotationInitBean.class.getName() + BeanWiring.CLASS_NAME_SUFFIX).getConstructor().newInstance();
+        assertTrue(wiring.isWired(BeanWiring.CONSTRUCTOR));
+        assertTrue(wiring.isWired("appTitle"));
+        assertTrue(wiring.isWired("init/0"));
+        assertFalse(wiring.isWired("appName"));
+        // nested:
+        assertNotNull(Class.forName(OuterBean.NestedBean.class.getName() + BeanWiring.CLASS_NAME_SUFFIX));
+
+        var ps = createProperties();
+        ps.put("winter.context.aot", "true");
+        var ctx = new AnnotationConfigApplicationContext(ScanApplication.class, new PropertyResolver(ps));
+        assertEquals("Scan App / v1.0", ctx.getBean(AnnotationInitBean.class).appName);
+        assertEquals("Scan App / v1.0", ctx.getBean(SpecifyInitBean.class).appName);
+        OriginBean proxy = ctx.getBean(OriginBean.class);
+        assertSame(SecondProxyBean.class, proxy.getClass());
+        assertSame(proxy, ctx.getBean(InjectProxyOnPropertyBean.class).injected);
+        assertSame(proxy, ctx.getBean(InjectProxyOnConstructorBean.class).injected);
+        assertNotNull(ctx.getBean(ValueConverterBean.class).injectedBoolean);
+        assertNotNull(ctx.getBean("startZonedDateTime"));
+    }
+
+    @Test
+    public void testAnnotationCache() {
+        // meta-annotation resolved once:
+        Component component = ClassUtils.findAnnotation(CustomAnnotationBean.class, Component.class);
+        assertNotNull(component);
+        assertSame(component, ClassUtils.findAnnotation(CustomAnnotationBean.class, Component.class));
+        assertNotNull(ClassUtils.findAnnotation(LocalDateConfiguration.class, Component.class));
+        assertNull(ClassUtils.findAnnotation(LocalDateConfiguration.class, ComponentScan.class));
+        assertEquals("customAnnotation", ClassUtils.getBeanName(CustomAnnotationBean.class));
+        // duplicate is reported on every lookup:
+        assertThrows(BeanDefinitionException.class, () -> ClassUtils.findAnnotation(DuplicateComponentBean.class, Component.class));
+        assertThrows(BeanDefinitionException.class, () -> ClassUtils.findAnnotation(DuplicateComponentBean.class, Component.class));
+    }
+
+    @Component
+    @Configuration
+    static class DuplicateComponentBean {
+    }
+
+    @Test
+    public void testComponentIndex() {
+        ComponentIndex index = ComponentIndex.load(getClass().getClassLoader());
+        assertNotNull(index);
+        assertTrue(index.getComponents("org.example.scan").contains(OuterBean.NestedBean.class.getName()));
+        assertFalse(index.getComponents("org.example.scan").contains(OuterBean.class.getName() + ".NestedBean"));
+        assertTrue(index.getComponents("org.example").contains(LocalDateConfiguration.class.getName()));
+        assertTrue(index.covers(getClass().getClassLoader(), "org.example.scan"));
+        // jar compiled without processor must be scanned:
+        assertFalse(index.covers(getClass().getClassLoader(), "org.junit.jupiter.api"));
+
+        // same bean definitions as scanning:
+        var ps = createProperties();
+        ps.put("winter.context.component-index", "false");
+        var scanned = new AnnotationConfigApplicationContext(ScanApplication.class, new PropertyResolver(ps));
+        var indexed = new AnnotationConfigApplicationContext(ScanApplication.class, createPropertyResolver());
+        assertEquals(scanned.findBeanDefinitions(Object.class).stream().map(BeanDefinition::getName).sorted().toList(),
+                indexed.findBeanDefinitions(Object.class).stream().map(BeanDefinition::getName).sorted().toList());
+    }
+
+    @Test
+    public void testClassFileScan() throws Exception {
+        var reader = new ClassMetadataReader(getClass().getClassLoader());
+        var custom = reader.read(CustomAnnotationBean.class.getName().replace('.', '/') + ".class");
+        assertEquals(CustomAnnotationBean.class.getName(), custom.className());
+        assertEquals(List.of(CustomAnnotation.class.getName()), custom.annotationNames());
+        assertTrue(reader.hasAnnotation(custom, Component.class.getName()));
+        var nested = reader.read(OuterBean.NestedBean.class.getName().replace('.', '/') + ".class");
+        assertEquals(OuterBean.NestedBean.class.getName(), nested.className());
+        assertTrue(reader.hasAnnotation(nested, Component.class.getName()));
+        var annotation = reader.read(CustomAnnotation.class.getName().replace('.', '/') + ".class");
+        assertTrue(annotation.isAnnotation());
+        assertNull(reader.read("org/example/scan/NotExist.class"));
+
+        // scan without index must not initialize non-component classes:
+        var ps = createProperties();
+        ps.put("winter.context.component-index", "false");
+        var ctx = new AnnotationConfigApplicationContext(ScanApplication.class, new PropertyResolver(ps));
+        assertNotNull(ctx.getBean(CustomAnnotationBean.class));
+        ctx.close();
+    }
+
+    @Test
+    public void testStartupProfiler() {
+        var ps = createProperties();
+        ps.put("winter.context.profile", "true");
+        var ctx = new AnnotationConfigApplicationContext(ScanApplication.class, new PropertyResolver(ps));
+        StartupProfiler profiler = ctx.getStartupProfiler();
+        assertTrue(profiler.getPhaseTime(StartupProfiler.SCAN) > 0);
+        assertTrue(profiler.getPhaseTime(StartupProfiler.DEFINE) > 0);
+        String name = ctx.findBeanDefinition(InjectProxyOnConstructorBean.class).getName();
+        assertTrue(profiler.getBeanSteps(name).containsKey(StartupProfiler.INSTANTIATE));
+        assertTrue(profiler.getBeanSteps(name).containsKey(StartupProfiler.INJECT));
+        assertTrue(profiler.getBeanSteps(name).containsKey(StartupProfiler.INIT));
+
+        // each bean on critical path depends on the previous one:
+        List<String> path = profiler.getCriticalPath();
+        assertFalse(path.isEmpty());
+        for (int i = 1; i < path.size(); i++) {
+            assertTrue(profiler.getDependencies(path.get(i)).contains(path.get(i - 1)));
+        }
+        assertTrue(profiler.toJson().contains("\"criticalPath\": ["));
+        assertTrue(profiler.toDot().startsWith("digraph startup {"));
+        ctx.close();
+
+        // disabled by default:
+        var disabled = new AnnotationConfigApplicationContext(ScanApplication.class, createPropertyResolver());
+        assertEquals(0, disabled.getStartupProfiler().getPhaseTime(StartupProfiler.SCAN));
+        disabled.close();
+    }
+
+    @Test
+    public void testEvent() {
+        var ctx = new AnnotationConfigApplicationContext(ScanApplication.class, createPropertyResolver());
+        var service = ctx.getBean(OrderService.class);
+        var listener = ctx.getBean(OrderEventListener.class);
+        for (long i = 0; i < 100; i++) {
+            service.createOrder(i);
+        }
+        // sync listener is called before publish returns:
+        assertEquals(100, listener.syncOrderIds.size());
+        SimpleApplicationEventPublisher publisher = ctx.getBean(SimpleApplicationEventPublisher.class);
+        EventListenerMetrics asyncMetrics = publisher.getMetrics().stream().filter(m -> m.getName().endsWith(".onOrderCreatedAsync")).findFirst().orElseThrow();
+        // close waits for async listener:
+        ctx.close();
+        assertEquals(LongStream.range(0, 100).boxed().toList(), listener.asyncOrderIds);
+        assertTrue(listener.asyncThreadNames.stream().allMatch(name -> name.startsWith("event-")));
+        assertEquals(100, asyncMetrics.getHandled());
+        assertEquals(0, asyncMetrics.getPending());
+    }
+
+    @Test
+    public void testEventBackpressure() throws Exception {
+        var publisher = new SimpleApplicationEventPublisher(2, 1, WaitStrategy.SLEEPING, Backpressure.DROP);
+        var listener = new BlockingListener();
+        publisher.addListener("blocking.onEvent", BlockingListener.class.getMethod("onEvent", String.class), () -> listener, true);
+        for (int i = 0; i < 10; i++) {
+            publisher.publishEvent("event-" + i);
+        }
+        EventListenerMetrics metrics = publisher.getMetrics().get(0);
+        // consumer holds at most one event and buffer holds two:
+        assertTrue(metrics.getDropped() >= 7, "dropped: " + metrics.getDropped());
+        listener.latch.countDown();
+        publisher.close();
+        assertEquals(10, metrics.getHandled() + metrics.getDropped());
+        assertEquals(metrics.getHandled(), listener.events.size());
+    }
+
+    @Test
+    public void testEventConsumerSurvivesError() throws Exception {
+        var publisher = new SimpleApplicationEventPublisher(2, 1, WaitStrategy.SLEEPING, Backpressure.BLOCK, 1000);
+        var listener = new BlockingListener();
+        listener.latch.countDown();
+        var calls = new AtomicInteger();
+        // Error thrown outside listener method reaches consumer thread:
+        publisher.addListener("failing.onEvent", BlockingListener.class.getMethod("onEvent", String.class), () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new NoClassDefFoundError("failing");
+            }
+            return listener;
+        }, true);
+        for (int i = 0; i < 10; i++) {
+            publisher.publishEvent("event-" + i);
+        }
+        publisher.close();
+        assertEquals(IntStream.range(1, 10).mapToObj(i -> "event-" + i).toList(), listener.events);
+    }
+
+    public static class BlockingListener {
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        final List<String> events = new CopyOnWriteArrayList<>();
+
+        public void onEvent(String event) throws InterruptedException {
+            latch.await();
+            events.add(event);
+        }
+    }
+
+    @Test
+    public void testScheduled() throws Exception {
+        var ctx = new AnnotationConfigApplicationContext(ScheduledApplication.class, createPropertyResolver());
+        var bean = ctx.getBean(ScheduledBean.class);
+        TaskScheduler scheduler = ctx.getBean(TaskScheduler.class);
+        Map<String, ScheduledTask> tasks = scheduler.getTasks().stream().collect(Collectors.toMap(ScheduledTask::getName, t -> t));
+        try {
+            assertTrue(bean.rateCalls.await(10, TimeUnit.SECONDS));
+            assertTrue(bean.delayCalls.await(10, TimeUnit.SECONDS));
+            // slow run blocks while other tasks keep running, and its due runs are skipped:
+            assertTrue(bean.slowEntered.await(10, TimeUnit.SECONDS));
+            assertTrue(bean.rateCallsWhileSlow.await(10, TimeUnit.SECONDS));
+            assertTrue(tasks.get("scheduledBean.slow").isRunning());
+        } finally {
+            bean.slowRelease.countDown();
+        }
+        assertTrue(bean.slowExited.await(10, TimeUnit.SECONDS));
+        ctx.close();
+        // slow runs never overlap:
+        assertEquals(1, bean.maxSlowRunning.get());
+        ScheduledTask slow = tasks.get("scheduledBean.slow");
+        assertTrue(slow.getSkipped() > 0);
+        assertTrue(slow.getLastDurationMillis() > 0);
+        assertEquals(0, slow.getFailures());
+        // running tasks are finished when closed:
+        assertTrue(tasks.values().stream().noneMatch(ScheduledTask::isRunning));
+    }
+
+    @Test
+    public void testCronExpression() {
+        var time = ZonedDateTime.of(2024, 1, 31, 23, 50, 10, 0, ZoneId.of("UTC"));
+        assertEquals(time.withMinute(0).plusHours(1).withSecond(0), new CronExpression("0 */15 * * * *").next(time.withMinute(59)));
+        assertEquals(time.withSecond(0).withMinute(0).withHour(9).withDayOfMonth(5).withMonth(2), new CronExpression("0 0 9 * * MON").next(time));
+        assertEquals(time.withSecond(0).plusMinutes(5), new CronExpression("*/5 * * * *").next(time));
+        assertEquals(ZonedDateTime.of(2024, 2, 29, 0, 0, 0, 0, ZoneId.of("UTC")), new CronExpression("0 0 0 29 FEB ?").next(time));
+        assertThrows(IllegalArgumentException.class, () -> new CronExpression("0 0 25 * * *"));
+        assertThrows(IllegalArgumentException.class, () -> new CronExpression("* * *"));
+    }
+
+    @Test
+    public void testConditions() {
+        var ps = createProperties();
+        ps.put("winter.profiles.active", "dev, test");
+        ps.put("condition.cache", "redis");
+        var ctx = new AnnotationConfigApplicationContext(ScanApplication.class, new PropertyResolver(ps));
+        assertNotNull(ctx.findBeanDefinition(DevOnlyBean.class));
+        assertNotNull(ctx.findBeanDefinition(NonProductionBean.class));
+        // default bean is replaced by component:
+        assertEquals("Hi, Bob", ctx.getBean(GreetingService.class).greet("Bob"));
+        assertFalse(ctx.containsBean("defaultGreetingService"));
+        assertNotNull(ctx.getBean(Clock.class));
+        assertEquals("redis", ctx.getBean(CacheService.class).type());
+        assertFalse(ctx.containsBean("localCache"));
+        assertFalse(ctx.containsBean("missingClassTask"));
+        // @Bean methods of skipped configuration are not defined:
+        assertFalse(ctx.containsBean("disabledConfiguration"));
+        assertFalse(ctx.containsBean("disabledBean"));
+        ctx.close();
+
+        ps.put("winter.profiles.active", "prod");
+        ps.remove("condition.cache");
+        ctx = new AnnotationConfigApplicationContext(ScanApplication.class, new PropertyResolver(ps));
+        assertNull(ctx.findBeanDefinition(DevOnlyBean.class));
+        assertNull(ctx.findBeanDefinition(NonProductionBean.class));
+        assertEquals("local", ctx.getBean(CacheService.class).type());
+        ctx.close();
+    }
+
+    @Test
+    public void testConfigurationProperties() {
+        var ps = createProperties();
+        ps.put("test.server.host", "${test.host:localhost}");
+        ps.put("test.server.port", "8443");
+        ps.put("test.server.timeout", "30s");
+        ps.put("test.server.buffer-size", "64KB");
+        ps.put("test.server.hosts", "a.example.com, b.example.com");
+        ps.put("test.server.mode", "read-only");
+        ps.put("test.server.ssl.enabled", "true");
+        ps.put("test.server.ssl.key-store", "keys.p12");
+        ps.put("test.client.name", "client");
+        ps.put("test.client.tags[0]", "x");
+        ps.put("test.client.tags[1]", "y");
+        ps.put("test.client.endpoints[0].path", "/a");
+        ps.put("test.client.endpoints[1].path", "/b");
+        ps.put("test.client.endpoints[1].retries", "3");
+        var ctx = new AnnotationConfigApplicationContext(ScanApplication.class, new PropertyResolver(ps));
+        ServerProperties server = ctx.getBean(ServerProperties.class);
+        assertEquals("localhost", server.host());
+        assertEquals(8443, server.port());
+        assertEquals(Duration.ofSeconds(30), server.timeout());
+        assertEquals(64 * 1024, server.bufferSize());
+        assertEquals(List.of("a.example.com", "b.example.com"), server.hosts());
+        assertEquals(ServerProperties.Mode.READ_ONLY, server.mode());
+        assertEquals(new ServerProperties.Ssl(true, "keys.p12"), server.ssl());
+
+        ClientProperties client = ctx.getBean(ClientProperties.class);
+        assertEquals("client", client.getName());
+        assertTrue(client.isSetterCalled());
+        // default value is kept:
+        assertEquals(10, client.getMaxConnections());
+        assertEquals(List.of("x", "y"), client.getTags());
+        assertEquals(2, client.getEndpoints().size());
+        assertEquals("/a", client.getEndpoints().get(0).getPath());
+        assertEquals(1, client.getEndpoints().get(0).getRetries());
+        assertEquals(3, client.getEndpoints().get(1).getRetries());
+        assertFalse(ctx.containsBean("strictProperties"));
+        ctx.close();
+
+        // required property is validated at startup:
+        ps.put("test.strict-binding", "true");
+        assertThrows(BeanCreationException.class, () -> new AnnotationConfigApplicationContext(ScanApplication.class, new PropertyResolver(ps)));
+        ps.put("test.strict.name", "strict");
+        ps.put("test.strict.max-size", "10MB");
+        ctx = new AnnotationConfigApplicationContext(ScanApplication.class, new PropertyResolver(ps));
+        assertEquals(10L << 20, ctx.getBean(StrictProperties.class).getMaxSize());
+        ctx.close();
+
+        // invalid value:
+        ps.put("test.server.port", "http");
+        assertThrows(BeanCreationException.class, () -> new AnnotationConfigApplicationContext(ScanApplication.class, new PropertyResolver(ps)));
+    }
+
+    @Test
+    public void testRefreshProperties() {
+        var ps = createProperties();
+        ps.put("test.server.port", "8080");
+        ps.put("test.server.mode", "read-write");
+        ps.put("test.strict-binding", "true");
+        ps.put("test.strict.name", "strict");
+        var pr = new PropertyResolver(ps);
+        var ctx = new AnnotationConfigApplicationContext(ScanApplication.class, pr);
+        ServerPropertiesUser user = ctx.getBean(ServerPropertiesUser.class);
+        ServerProperties server = user.server.get();
+        assertSame(server, ctx.getBean(ServerProperties.class));
+        assertEquals(8080, server.port());
+        assertNull(server.ssl());
+
+        // nested prefix added by update is bound:
+        ps.put("test.server.port", "9090");
+        ps.put("test.server.mode", "read-only");
+        ps.put("test.server.ssl.enabled", "true");
+        pr.update(ps);
+        ServerProperties refreshed = user.server.get();
+        assertNotSame(server, refreshed);
+        assertSame(refreshed, ctx.getBean(ServerProperties.class));
+        assertEquals(9090, refreshed.port());
+        assertEquals(ServerProperties.Mode.READ_ONLY, refreshed.mode());
+        assertTrue(refreshed.ssl().enabled());
+        assertEquals(1, user.events.size());
+        assertEquals(Set.of("test.server.port", "test.server.mode", "test.server.ssl.enabled"), user.events.get(0).propertyNames());
+
+        // @Bean method is called again, the new instance is initialized and the replaced one is destroyed:
+        StrictProperties replaced = ctx.getBean(StrictProperties.class);
+        ps.put("test.strict.name", "changed");
+        pr.update(ps);
+        StrictProperties strict = ctx.getBean(StrictProperties.class);
+        assertEquals("changed", strict.getName());
+        assertTrue(strict.isInitialized());
+        assertFalse(strict.isDestroyed());
+        assertTrue(replaced.isDestroyed());
+
+        // invalid value keeps current instance:
+        ps.put("test.server.port", "http");
+        pr.update(ps);
+        assertSame(refreshed, user.server.get());
+
+        // closed context does not receive changes:
+        ctx.close();
+        ps.put("test.server.port", "7070");
+        pr.update(ps);
+        assertEquals(2, user.events.size());
+    }
+
+    @Test
+    public void testDestroyOrderAndTimeout() {
+        var ps = createProperties();
+        ps.put("winter.context.destroy-timeout.slowDestroyBean", "100");
+        var ctx = new AnnotationConfigApplicationContext(ScanApplication.class, new PropertyResolver(ps));
+        DestroyRecorder.destroyed.clear();
+        DestroyRecorder.slowDestroyMillis = 5000;
+        long start = System.currentTimeMillis();
+        try {
+            ctx.close();
+        } finally {
+            DestroyRecorder.slowDestroyMillis = 0;
+        }
+        // slow bean is abandoned:
+        assertTrue(System.currentTimeMillis() - start < 2000);
+        assertFalse(DestroyRecorder.destroyed.contains("slow"));
+        // dependency is destroyed after bean which depends on it:
+        assertEquals(List.of("service", "repository"), DestroyRecorder.destroyed);
+    }
+
+    @Test
+    public void testMultipleContexts() {
+        var ctx1 = new AnnotationConfigApplicationContext(ScanApplication.class, createPropertyResolver());
+        var ctx2 = new AnnotationConfigApplicationContext(ScanApplication.class, createPropertyResolver());
+        assertSame(ctx2, ApplicationContextUtils.getApplicationContext());
+        assertNotSame(ctx1.getBean(OrderService.class), ctx2.getBean(OrderService.class));
+        // closing one context does not affect the other:
+        ctx2.close();
+        assertSame(ctx1, ApplicationContextUtils.getApplicationContext());
+        assertNotNull(ctx1.getBean(OrderService.class));
+        ctx1.close();
+    }
+
+    @Test
+    public void testContextCache() throws Exception {
+        var cache = new ContextCache(2);
+        var ps1 = createProperties();
+        var ps2 = createProperties();
+        ps2.put("app.title", "Another App");
+        try {
+            // created once when requested in parallel:
+            List<Thread> threads = new ArrayList<>();
+            List<ApplicationContext> results = new CopyOnWriteArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                Thread t = new Thread(() -> results.add(cache.acquire(ScanApplication.class, ps1)));
+                t.start();
+                threads.add(t);
+            }
+            for (Thread t : threads) {
+                t.join();
+            }
+            ApplicationContext ctx1 = results.get(0);
+            assertTrue(results.stream().allMatch(ctx -> ctx == ctx1));
+            assertEquals(1, cache.getMisses());
+            assertEquals(3, cache.getHits());
+
+            ApplicationContext ctx2 = cache.acquire(ScanApplication.class, ps2);
+            assertNotSame(ctx1, ctx2);
+            assertSame(ctx1, cache.acquire(ScanApplication.class, createProperties()));
+
+            // dirty context is closed after released, and created again:
+            cache.markDirty(ctx2);
+            assertNotNull(ctx2.getBean(OrderService.class));
+            cache.release(ctx2);
+            assertThrows(NoSuchBeanDefinitionException.class, () -> ctx2.getBean(OrderService.class));
+            ApplicationContext ctx3 = cache.acquire(ScanApplication.class, ps2);
+            assertNotSame(ctx2, ctx3);
+
+            // least recently used ctx1 is evicted, and closed after released by all 5 users:
+            var ps3 = createProperties();
+            ps3.put("app.version", "v2.0");
+            cache.acquire(ScanApplication.class, ps3);
+            assertEquals(2, cache.size());
+            for (int i = 0; i < 5; i++) {
+                assertNotNull(ctx1.getBean(OrderService.class));
+                cache.release(ctx1);
+            }
+            assertThrows(NoSuchBeanDefinitionException.class, () -> ctx1.getBean(OrderService.class));
+            assertSame(ctx3, cache.acquire(ScanApplication.class, ps2));
+        } finally {
+            cache.clear();
+        }
+    }
+
     PropertyResolver createPropertyResolver() {
+        return new PropertyResolver(createProperties());
+    }
+
+    Properties createProperties() {
         var ps = new Properties();
         ps.put("app.title", "Scan App");
         ps.put("app.version", "v1.0");
@@ -163,8 +784,7 @@ public class AnnotationConfigApplicationContextTest {
         ps.put("convert.zoneddatetime", "2023-03-29T20:45:01+08:00[Asia/Shanghai]");
         ps.put("convert.duration", "P2DT3H4M");
         ps.put("convert.zoneid", "Asia/Shanghai");
-        var pr = new PropertyResolver(ps);
-        return pr;
+        return ps;
     }
 
 }
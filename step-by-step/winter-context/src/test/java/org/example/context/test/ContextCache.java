@@ -0,0 +1,223 @@
+package org.example.context.test;
+
+import org.example.PropertyResolver;
+import org.example.context.AnnotationConfigApplicationContext;
+import org.example.context.ApplicationContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test support which reuses application contexts across tests, keyed by config class and properties, so a test suite
+ * does not scan and create all beans for every test. It is shipped in the test-jar of winter-context.
+ *
+ * A test acquires a context and releases it when finished. At most maxSize contexts are kept: the least recently used
+ * one is removed when another is created. A test which changes state of beans should call markDirty() so the next test
+ * gets a new context. A removed context is closed when it is released by all tests, so tests running in parallel can
+ * share contexts safely, and a context is created only once when requested by multiple threads.
+ */
+public class ContextCache {
+
+    static final Logger logger = LoggerFactory.getLogger(ContextCache.class);
+
+    /**
+     * Shared cache of JVM, sized by system property "winter.test.context-cache-size" (default 32), and cleared by one
+     * shutdown hook. Other instances must be cleared by their owner.
+     */
+    public static final ContextCache DEFAULT = new ContextCache(Integer.getInteger("winter.test.context-cache-size", 32));
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DEFAULT::clear, "context-cache-shutdown"));
+    }
+
+    final int maxSize;
+    // access ordered for LRU:
+    final LinkedHashMap<Key, Entry> contexts = new LinkedHashMap<>(16, 0.75f, true);
+    // created contexts which are cached or still acquired:
+    final Map<ApplicationContext, Entry> entries = new IdentityHashMap<>();
+    final AtomicLong hits = new AtomicLong();
+    final AtomicLong misses = new AtomicLong();
+
+    public ContextCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Invalid max size of context cache: " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get cached context, or create one and wait if another thread is creating it. The context must be released by
+     * release() when the test is finished.
+     */
+    public ApplicationContext acquire(Class<?> configClass, Properties properties) {
+        Key key = new Key(configClass, toMap(properties));
+        Entry entry;
+        boolean create = false;
+        List<Entry> evicted = new ArrayList<>();
+        synchronized (this) {
+            entry = this.contexts.get(key);
+            if (entry == null) {
+                entry = new Entry();
+                this.contexts.put(key, entry);
+                create = true;
+                Iterator<Entry> it = this.contexts.values().iterator();
+                while (this.contexts.size() > this.maxSize) {
+                    Entry eldest = it.next();
+                    it.remove();
+                    if (remove(eldest)) {
+                        evicted.add(eldest);
+                    }
+                }
+            }
+            entry.refs++;
+        }
+        evicted.forEach(this::close);
+        if (!create) {
+            this.hits.incrementAndGet();
+            try {
+                return entry.future.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException re ? re : e;
+            }
+        }
+        this.misses.incrementAndGet();
+        logger.atDebug().log("create context for {}", configClass.getName());
+        try {
+            ApplicationContext ctx = new AnnotationConfigApplicationContext(configClass, new PropertyResolver(properties));
+            synchronized (this) {
+                if (!entry.closed) {
+                    this.entries.put(ctx, entry);
+                }
+            }
+            entry.future.complete(ctx);
+            return ctx;
+        } catch (RuntimeException | Error e) {
+            // do not cache failure:
+            synchronized (this) {
+                this.contexts.remove(key, entry);
+            }
+            entry.future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Release context acquired from this cache, and close it if it is removed and not used by other tests. A context
+     * already closed by clear() is ignored.
+     */
+    public void release(ApplicationContext ctx) {
+        Entry entry;
+        synchronized (this) {
+            entry = this.entries.get(ctx);
+            if (entry == null) {
+                return;
+            }
+            entry.refs--;
+            if (!entry.removed || entry.refs > 0) {
+                return;
+            }
+            this.entries.remove(ctx);
+        }
+        close(entry);
+    }
+
+    /**
+     * Remove context so it is created again on next acquire(), and close it once released by all tests.
+     */
+    public void markDirty(ApplicationContext ctx) {
+        Entry entry;
+        synchronized (this) {
+            entry = this.entries.get(ctx);
+            if (entry == null) {
+                return;
+            }
+            this.contexts.values().remove(entry);
+            if (!remove(entry)) {
+                return;
+            }
+        }
+        close(entry);
+    }
+
+    /**
+     * Remove context of config class and properties if cached, and close it once released by all tests.
+     */
+    public void markDirty(Class<?> configClass, Properties properties) {
+        Entry entry;
+        synchronized (this) {
+            entry = this.contexts.remove(new Key(configClass, toMap(properties)));
+            if (entry == null || !remove(entry)) {
+                return;
+            }
+        }
+        close(entry);
+    }
+
+    /**
+     * Close and remove all contexts, including contexts still acquired. Called when all tests are finished.
+     */
+    public void clear() {
+        Set<Entry> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        synchronized (this) {
+            removed.addAll(this.contexts.values());
+            removed.addAll(this.entries.values());
+            this.contexts.clear();
+            this.entries.clear();
+            removed.forEach(entry -> entry.removed = entry.closed = true);
+        }
+        removed.forEach(this::close);
+    }
+
+    public synchronized int size() {
+        return this.contexts.size();
+    }
+
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    /**
+     * Mark entry removed from cache, and return true if it can be closed now.
+     */
+    boolean remove(Entry entry) {
+        entry.removed = true;
+        if (entry.refs > 0) {
+            return false;
+        }
+        this.entries.values().remove(entry);
+        return true;
+    }
+
+    void close(Entry entry) {
+        // context being created is closed once created:
+        entry.future.thenAccept(ApplicationContext::close);
+    }
+
+    static Map<String, String> toMap(Properties properties) {
+        Map<String, String> map = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            map.put(name, properties.getProperty(name));
+        }
+        return Map.copyOf(map);
+    }
+
+    record Key(Class<?> configClass, Map<String, String> properties) {
+    }
+
+    static class Entry {
+
+        final CompletableFuture<ApplicationContext> future = new CompletableFuture<>();
+        // guarded by cache:
+        int refs;
+        boolean removed;
+        boolean closed;
+    }
+}
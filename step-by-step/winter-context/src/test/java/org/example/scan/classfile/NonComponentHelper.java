@@ -0,0 +1,14 @@
+package org.example.scan.classfile;
+
+public class NonComponentHelper {
+
+    static {
+        if (Boolean.TRUE) {
+            throw new IllegalStateException("Non-component class must not be initialized by scan.");
+        }
+    }
+
+    public static String hello() {
+        return "hello";
+    }
+}
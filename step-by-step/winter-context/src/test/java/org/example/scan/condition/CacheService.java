@@ -0,0 +1,4 @@
+package org.example.scan.condition;
+
+public record CacheService(String type) {
+}
@@ -0,0 +1,39 @@
+package org.example.scan.condition;
+
+import org.example.annotation.*;
+
+import java.time.Clock;
+
+@Configuration
+public class ConditionConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    GreetingService defaultGreetingService() {
+        return name -> "Hello, " + name;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    Clock conditionClock() {
+        return Clock.systemUTC();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "condition.cache", havingValue = "redis")
+    CacheService redisCache() {
+        return new CacheService("redis");
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "condition.cache", havingValue = "local", matchIfMissing = true)
+    CacheService localCache() {
+        return new CacheService("local");
+    }
+
+    @Bean
+    @ConditionalOnClass("org.example.NotExistClass")
+    Runnable missingClassTask() {
+        throw new IllegalStateException("Should not be created.");
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.scan.condition;
+
+import org.example.annotation.Component;
+
+@Component
+public class CustomGreetingService implements GreetingService {
+
+    @Override
+    public String greet(String name) {
+        return "Hi, " + name;
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.scan.condition;
+
+import org.example.annotation.Component;
+import org.example.annotation.Profile;
+
+@Component
+@Profile("dev")
+public class DevOnlyBean {
+}
@@ -0,0 +1,15 @@
+package org.example.scan.condition;
+
+import org.example.annotation.Bean;
+import org.example.annotation.Configuration;
+import org.example.annotation.ConditionalOnProperty;
+
+@Configuration
+@ConditionalOnProperty(name = "condition.disabled-configuration.enabled")
+public class DisabledConfiguration {
+
+    @Bean
+    StringBuilder disabledBean() {
+        throw new IllegalStateException("Should not be created.");
+    }
+}
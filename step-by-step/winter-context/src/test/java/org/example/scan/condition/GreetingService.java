@@ -0,0 +1,6 @@
+package org.example.scan.condition;
+
+public interface GreetingService {
+
+    String greet(String name);
+}
@@ -0,0 +1,11 @@
+package org.example.scan.destroy;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class DestroyRecorder {
+
+    public static final List<String> destroyed = new CopyOnWriteArrayList<>();
+
+    public static volatile long slowDestroyMillis = 0;
+}
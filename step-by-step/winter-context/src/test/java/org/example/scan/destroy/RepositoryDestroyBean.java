@@ -0,0 +1,16 @@
+package org.example.scan.destroy;
+
+import jakarta.annotation.PreDestroy;
+import org.example.annotation.Component;
+import org.example.annotation.Order;
+
+// lowest order must not make it destroyed as a built-in bean:
+@Order(Integer.MIN_VALUE)
+@Component
+public class RepositoryDestroyBean {
+
+    @PreDestroy
+    void destroy() {
+        DestroyRecorder.destroyed.add("repository");
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.scan.destroy;
+
+import jakarta.annotation.PreDestroy;
+import org.example.annotation.Autowired;
+import org.example.annotation.Component;
+
+@Component
+public class ServiceDestroyBean {
+
+    final RepositoryDestroyBean repository;
+
+    public ServiceDestroyBean(@Autowired RepositoryDestroyBean repository) {
+        this.repository = repository;
+    }
+
+    @PreDestroy
+    void destroy() throws InterruptedException {
+        // repository must wait for service:
+        Thread.sleep(50);
+        DestroyRecorder.destroyed.add("service");
+    }
+}
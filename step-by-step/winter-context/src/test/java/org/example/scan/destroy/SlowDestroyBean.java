@@ -0,0 +1,14 @@
+package org.example.scan.destroy;
+
+import jakarta.annotation.PreDestroy;
+import org.example.annotation.Component;
+
+@Component
+public class SlowDestroyBean {
+
+    @PreDestroy
+    void destroy() throws InterruptedException {
+        Thread.sleep(DestroyRecorder.slowDestroyMillis);
+        DestroyRecorder.destroyed.add("slow");
+    }
+}
@@ -0,0 +1,4 @@
+package org.example.scan.event;
+
+public record OrderCreatedEvent(long orderId) {
+}
@@ -0,0 +1,31 @@
+package org.example.scan.event;
+
+import org.example.annotation.Component;
+import org.example.annotation.EventListener;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@Component
+public class OrderEventListener {
+
+    public final List<Long> syncOrderIds = new CopyOnWriteArrayList<>();
+    public final List<Long> asyncOrderIds = new CopyOnWriteArrayList<>();
+    public final List<String> asyncThreadNames = new CopyOnWriteArrayList<>();
+
+    @EventListener
+    void onOrderCreated(OrderCreatedEvent event) {
+        syncOrderIds.add(event.orderId());
+    }
+
+    @EventListener(async = true)
+    public void onOrderCreatedAsync(OrderCreatedEvent event) {
+        asyncOrderIds.add(event.orderId());
+        asyncThreadNames.add(Thread.currentThread().getName());
+    }
+
+    @EventListener
+    public void onString(String event) {
+        throw new IllegalStateException("Should not receive order event.");
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.scan.event;
+
+import org.example.annotation.Autowired;
+import org.example.annotation.Component;
+import org.example.context.event.ApplicationEventPublisher;
+
+@Component
+public class OrderService {
+
+    @Autowired
+    ApplicationEventPublisher publisher;
+
+    public void createOrder(long orderId) {
+        publisher.publishEvent(new OrderCreatedEvent(orderId));
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.scan.lazy;
+
+import org.example.annotation.Autowired;
+import org.example.annotation.Component;
+import org.example.annotation.Lazy;
+
+@Component
+public class LazyCycleFirstBean {
+
+    final LazyCycleSecondBean second;
+
+    // @Lazy breaks the constructor cycle:
+    public LazyCycleFirstBean(@Autowired @Lazy LazyCycleSecondBean second) {
+        this.second = second;
+    }
+
+    public String getName() {
+        return "first";
+    }
+
+    public String getSecondName() {
+        return this.second.getName();
+    }
+}
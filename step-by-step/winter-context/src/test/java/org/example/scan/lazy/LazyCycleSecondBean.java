@@ -0,0 +1,18 @@
+package org.example.scan.lazy;
+
+import org.example.annotation.Autowired;
+import org.example.annotation.Component;
+
+@Component
+public class LazyCycleSecondBean {
+
+    final LazyCycleFirstBean first;
+
+    public LazyCycleSecondBean(@Autowired LazyCycleFirstBean first) {
+        this.first = first;
+    }
+
+    public String getName() {
+        return "second of " + this.first.getName();
+    }
+}
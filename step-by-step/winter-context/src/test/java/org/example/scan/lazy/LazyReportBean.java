@@ -0,0 +1,25 @@
+package org.example.scan.lazy;
+
+import jakarta.annotation.PostConstruct;
+import org.example.annotation.Component;
+import org.example.annotation.Lazy;
+import org.example.annotation.Value;
+
+@Lazy
+@Component
+public class LazyReportBean {
+
+    @Value("${app.title}")
+    String appTitle;
+
+    String report;
+
+    @PostConstruct
+    void init() {
+        this.report = "Report of " + this.appTitle;
+    }
+
+    public String getReport() {
+        return this.report;
+    }
+}
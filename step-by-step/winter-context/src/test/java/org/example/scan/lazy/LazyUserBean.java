@@ -0,0 +1,23 @@
+package org.example.scan.lazy;
+
+import org.example.annotation.Autowired;
+import org.example.annotation.Component;
+import org.example.annotation.Lazy;
+import org.example.scan.proxy.OriginBean;
+
+@Component
+public class LazyUserBean {
+
+    @Autowired
+    public LazyReportBean reportBean;
+
+    public final OriginBean originBean;
+
+    public LazyUserBean(@Autowired @Lazy OriginBean originBean) {
+        this.originBean = originBean;
+    }
+
+    public OriginBean getOriginBean() {
+        return this.originBean;
+    }
+}
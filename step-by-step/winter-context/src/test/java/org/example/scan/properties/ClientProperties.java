@@ -0,0 +1,54 @@
+package org.example.scan.properties;
+
+import org.example.annotation.ConfigurationProperties;
+
+import java.util.List;
+
+@ConfigurationProperties(prefix = "test.client")
+public class ClientProperties {
+
+    String name = "default";
+    int maxConnections = 10;
+    List<String> tags = List.of();
+    List<Endpoint> endpoints = List.of();
+    boolean setterCalled;
+
+    public void setName(String name) {
+        this.name = name;
+        this.setterCalled = true;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public boolean isSetterCalled() {
+        return setterCalled;
+    }
+
+    public static class Endpoint {
+
+        String path;
+        int retries = 1;
+
+        public String getPath() {
+            return path;
+        }
+
+        public int getRetries() {
+            return retries;
+        }
+    }
+}
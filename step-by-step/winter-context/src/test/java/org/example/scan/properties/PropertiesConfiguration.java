@@ -0,0 +1,17 @@
+package org.example.scan.properties;
+
+import org.example.annotation.Bean;
+import org.example.annotation.ConditionalOnProperty;
+import org.example.annotation.Configuration;
+import org.example.annotation.ConfigurationProperties;
+
+@Configuration
+public class PropertiesConfiguration {
+
+    @Bean(initMethod = "init", destroyMethod = "destroy")
+    @ConditionalOnProperty(name = "test.strict-binding")
+    @ConfigurationProperties(prefix = "test.strict")
+    StrictProperties strictProperties() {
+        return new StrictProperties();
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.scan.properties;
+
+import org.example.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "test.server")
+public record ServerProperties(String host, int port, Duration timeout, int bufferSize, List<String> hosts, Mode mode, Ssl ssl) {
+
+    public enum Mode {
+        READ_WRITE, READ_ONLY
+    }
+
+    public record Ssl(boolean enabled, String keyStore) {
+    }
+}
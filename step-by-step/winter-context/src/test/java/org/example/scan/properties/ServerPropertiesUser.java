@@ -0,0 +1,26 @@
+package org.example.scan.properties;
+
+import org.example.annotation.Autowired;
+import org.example.annotation.Component;
+import org.example.annotation.EventListener;
+import org.example.context.Refreshable;
+import org.example.context.event.PropertiesChangedEvent;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@Component
+public class ServerPropertiesUser {
+
+    @Autowired
+    public Refreshable<ServerProperties> server;
+
+    public final List<PropertiesChangedEvent> events = new CopyOnWriteArrayList<>();
+
+    @EventListener
+    void onPropertiesChanged(PropertiesChangedEvent event) {
+        if (event.hasPrefix("test.server")) {
+            events.add(event);
+        }
+    }
+}
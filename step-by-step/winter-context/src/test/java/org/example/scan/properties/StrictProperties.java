@@ -0,0 +1,39 @@
+package org.example.scan.properties;
+
+import jakarta.annotation.Nonnull;
+
+public class StrictProperties {
+
+    @Nonnull
+    String name;
+
+    long maxSize;
+
+    boolean initialized;
+
+    boolean destroyed;
+
+    void init() {
+        this.initialized = true;
+    }
+
+    void destroy() {
+        this.destroyed = true;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+}
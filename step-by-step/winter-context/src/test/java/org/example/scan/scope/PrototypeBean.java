@@ -0,0 +1,9 @@
+package org.example.scan.scope;
+
+import org.example.annotation.Component;
+import org.example.annotation.Scope;
+
+@Component
+@Scope(value = Scope.PROTOTYPE, poolSize = 1)
+public class PrototypeBean {
+}
@@ -0,0 +1,30 @@
+package org.example.scan.scope;
+
+import jakarta.annotation.PreDestroy;
+import org.example.annotation.Component;
+import org.example.annotation.Scope;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@Scope(Scope.REQUEST)
+public class RequestScopedBean {
+
+    public static final List<String> DESTROYED = new ArrayList<>();
+
+    String user;
+
+    public String getUser() {
+        return this.user;
+    }
+
+    public void setUser(String user) {
+        this.user = user;
+    }
+
+    @PreDestroy
+    void destroy() {
+        DESTROYED.add(this.user);
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.scan.scope;
+
+import org.example.annotation.Autowired;
+import org.example.annotation.Component;
+
+@Component
+public class ScopeUserBean {
+
+    @Autowired
+    public PrototypeBean prototypeBean;
+
+    @Autowired
+    public ThreadScopedBean threadScopedBean;
+
+    @Autowired
+    public RequestScopedBean requestScopedBean;
+}
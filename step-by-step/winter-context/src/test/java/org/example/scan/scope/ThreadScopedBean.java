@@ -0,0 +1,26 @@
+package org.example.scan.scope;
+
+import jakarta.annotation.PreDestroy;
+import org.example.annotation.Component;
+import org.example.annotation.Scope;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@Component
+@Scope(Scope.THREAD)
+public class ThreadScopedBean {
+
+    public static final List<String> DESTROYED = new CopyOnWriteArrayList<>();
+
+    final String threadName = Thread.currentThread().getName();
+
+    public String getThreadName() {
+        return this.threadName;
+    }
+
+    @PreDestroy
+    void destroy() {
+        DESTROYED.add(this.threadName);
+    }
+}
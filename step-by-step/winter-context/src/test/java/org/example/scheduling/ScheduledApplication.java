@@ -0,0 +1,11 @@
+package org.example.scheduling;
+
+import org.example.annotation.ComponentScan;
+
+/**
+ * Scheduled beans are not in scan package, so other tests do not start schedulers.
+ */
+@ComponentScan
+public class ScheduledApplication {
+
+}
@@ -0,0 +1,43 @@
+package org.example.scheduling;
+
+import org.example.annotation.Component;
+import org.example.annotation.Scheduled;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class ScheduledBean {
+
+    public final CountDownLatch rateCalls = new CountDownLatch(5);
+    public final CountDownLatch delayCalls = new CountDownLatch(3);
+    // rate calls while first slow call is blocked:
+    public final CountDownLatch rateCallsWhileSlow = new CountDownLatch(3);
+    public final CountDownLatch slowEntered = new CountDownLatch(1);
+    public final CountDownLatch slowRelease = new CountDownLatch(1);
+    public final CountDownLatch slowExited = new CountDownLatch(1);
+    public final AtomicInteger slowRunning = new AtomicInteger();
+    public final AtomicInteger maxSlowRunning = new AtomicInteger();
+
+    @Scheduled(fixedRate = 20)
+    public void rate() {
+        rateCalls.countDown();
+        if (slowEntered.getCount() == 0 && slowExited.getCount() > 0) {
+            rateCallsWhileSlow.countDown();
+        }
+    }
+
+    @Scheduled(fixedDelay = 20, initialDelay = 10)
+    void delay() {
+        delayCalls.countDown();
+    }
+
+    @Scheduled(fixedRate = 10)
+    public void slow() throws InterruptedException {
+        maxSlowRunning.accumulateAndGet(slowRunning.incrementAndGet(), Math::max);
+        slowEntered.countDown();
+        slowRelease.await();
+        slowRunning.decrementAndGet();
+        slowExited.countDown();
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Enable JSON projection for a REST handler. Unselected properties are skipped when serializing the result.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface JsonView {
+
+    /**
+     * Name of the view declared by @JsonViewDefinition on the result type, or empty to serialize all properties by
+     * default.
+     */
+    String value() default "";
+
+    /**
+     * Allow client to select properties by request parameter like "?fields=id,name,address.city".
+     */
+    boolean allowFields() default true;
+}
@@ -0,0 +1,20 @@
+package org.example.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Declare a named view of a type, which is referenced by @JsonView.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Repeatable(JsonViewDefinitions.class)
+public @interface JsonViewDefinition {
+
+    String name();
+
+    /**
+     * Property paths included in view, e.g. "id", "address.city".
+     */
+    String[] fields();
+}
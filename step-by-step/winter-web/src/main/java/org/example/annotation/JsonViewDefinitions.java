@@ -0,0 +1,11 @@
+package org.example.annotation;
+
+import java.lang.annotation.*;
+
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface JsonViewDefinitions {
+
+    JsonViewDefinition[] value();
+}
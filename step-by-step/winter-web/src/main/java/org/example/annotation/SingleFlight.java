@@ -0,0 +1,20 @@
+package org.example.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Coalesce concurrent identical requests to a REST @GetMapping handler: requests with same URL and same request
+ * parameters wait for one in-flight execution and share its serialized result.
+ *
+ * Handler must not take HttpServletRequest, HttpServletResponse, HttpSession or ServletContext as argument.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SingleFlight {
+
+    /**
+     * Max milliseconds to wait for the in-flight execution before responding 503.
+     */
+    long timeout() default 5000;
+}
@@ -1,25 +1,34 @@
 package org.example.exception;
 
+/**
+ * Exception which maps to a HTTP error status. Client errors (status < 500) are expected and do not fill the stack
+ * trace.
+ */
 public class ErrorResponseException extends NestedRuntimeException {
 
     public final int statusCode;
 
     public ErrorResponseException(int statusCode) {
+        super(null, null, true, isServerError(statusCode));
         this.statusCode = statusCode;
     }
 
     public ErrorResponseException(int statusCode, String message) {
-        super(message);
+        super(message, null, true, isServerError(statusCode));
         this.statusCode = statusCode;
     }
 
     public ErrorResponseException(int statusCode, Throwable cause) {
-        super(cause);
+        super(cause == null ? null : cause.toString(), cause, true, isServerError(statusCode));
         this.statusCode = statusCode;
     }
 
     public ErrorResponseException(int statusCode, String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, true, isServerError(statusCode));
         this.statusCode = statusCode;
     }
+
+    static boolean isServerError(int statusCode) {
+        return statusCode >= 500;
+    }
 }
@@ -7,10 +7,13 @@ import org.example.PropertyResolver;
 import org.example.context.AnnotationConfigApplicationContext;
 import org.example.context.ApplicationContext;
 import org.example.exception.NestedRuntimeException;
+import org.example.web.utils.PropertyFileWatcher;
 import org.example.web.utils.WebUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+
 public class ContextLoaderListener implements ServletContextListener {
 
     final Logger logger = LoggerFactory.getLogger(getClass());
@@ -30,10 +33,11 @@ public class ContextLoaderListener implements ServletContextListener {
         
         ApplicationContext applicationContext = createApplicationContext(servletContext.getInitParameter("configuration"), propertyResolver);
         servletContext.setAttribute("applicationContext", applicationContext);
+        servletContext.setAttribute("propertyFileWatcher", WebUtils.watchProperties(propertyResolver));
         
-        WebUtils.registerFilters(servletContext);
+        WebUtils.registerFilters(servletContext, applicationContext);
         
-        WebUtils.registerDispatcherServlet(servletContext, propertyResolver);
+        WebUtils.registerDispatcherServlet(servletContext, applicationContext, propertyResolver);
     }
 
     @Override
@@ -41,6 +45,13 @@ public class ContextLoaderListener implements ServletContextListener {
         if (sce.getServletContext().getAttribute("applicationContext") instanceof ApplicationContext applicationContext) {
             applicationContext.close();
         }
+        if (sce.getServletContext().getAttribute("propertyFileWatcher") instanceof PropertyFileWatcher propertyFileWatcher) {
+            try {
+                propertyFileWatcher.close();
+            } catch (IOException e) {
+                logger.atWarn().log("close config watcher failed.", e);
+            }
+        }
     }
 
     public ApplicationContext createApplicationContext(String configClassName, PropertyResolver propertyResolver) {
@@ -1,5 +1,7 @@
 package org.example.web;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import jakarta.servlet.ServletConfig;
 import jakarta.servlet.ServletContext;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletOutputStream;
@@ -16,22 +18,38 @@ import org.example.exception.ErrorResponseException;
 import org.example.exception.NestedRuntimeException;
 import org.example.exception.ServerErrorException;
 import org.example.exception.ServerWebInputException;
+import org.example.util.ClassUtils;
+import org.example.web.utils.FailureLogLimiter;
+import org.example.web.utils.JsonFields;
 import org.example.web.utils.JsonUtils;
 import org.example.web.utils.PathUtils;
+import org.example.web.utils.ResponseSizeEstimator;
+import org.example.web.utils.SingleFlightExecutor;
 import org.example.web.utils.WebUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.PrintWriter;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.*;
+import java.lang.management.ManagementFactory;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -44,6 +62,10 @@ public class DispatcherServlet extends HttpServlet {
 
     String resourcePath;
     String faviconPath;
+    int failureLogRate;
+    String fieldsParameter;
+    int maxResponseBufferSize;
+    ObjectName responseSizeMBeanName;
 
     List<Dispatcher> getDispatchers = new ArrayList<>();
     List<Dispatcher> postDispatchers = new ArrayList<>();
@@ -53,31 +75,42 @@ public class DispatcherServlet extends HttpServlet {
         this.viewResolver = applicationContext.getBean(ViewResolver.class);
         this.resourcePath = propertyResolver.getProperty("${winter.web.static-path:/static/}");
         this.faviconPath = propertyResolver.getProperty("${winter.web.favicon-path:/favicon.ico}");
+        this.failureLogRate = propertyResolver.getProperty("${winter.web.failure-log-rate:5}", int.class);
+        this.fieldsParameter = propertyResolver.getProperty("${winter.web.fields-parameter:fields}");
+        this.maxResponseBufferSize = propertyResolver.getProperty("${winter.web.max-response-buffer-size:1048576}", int.class);
         if (!this.resourcePath.endsWith("/")) {
             this.resourcePath = this.resourcePath + "/";
         }
     }
 
     @Override
+    @SuppressWarnings("try")
     public void init() throws ServletException {
         logger.atInfo().log("init {}.", getClass().getName());
-        for (BeanDefinition beanDefinition : ((ConfigurableApplicationContext) this.applicationContext).findBeanDefinitions(Object.class)) {
+        ConfigurableApplicationContext ctx = (ConfigurableApplicationContext) this.applicationContext;
+        try (var step = ctx.getStartupProfiler().start(null, "dispatcher-servlet-init")) {
+            initControllers(ctx);
+        }
+        registerResponseSizeMBean();
+    }
+
+    void initControllers(ConfigurableApplicationContext ctx) throws ServletException {
+        for (BeanDefinition beanDefinition : ctx.findBeanDefinitions(Object.class)) {
             Class<?> beanClass = beanDefinition.getBeanClass();
-            Object instance = beanDefinition.getRequiredInstance();
             
-            Controller controller = beanClass.getAnnotation(Controller.class);
-            RestController restController = beanClass.getAnnotation(RestController.class);
+            Controller controller = ClassUtils.findAnnotation(beanClass, Controller.class);
+            RestController restController = ClassUtils.findAnnotation(beanClass, RestController.class);
             
             if (controller != null && restController != null) {
                 throw new ServletException("Found @Controller and @RestController on class: " + beanClass.getName());
             }
             
             if (controller != null) {
-                addController(false, beanDefinition.getName(), instance);
+                addController(false, beanDefinition);
             }
             
             if (restController != null) {
-                addController(true, beanDefinition.getName(), instance);
+                addController(true, beanDefinition);
             }
         }
     }
@@ -100,14 +133,79 @@ public class DispatcherServlet extends HttpServlet {
 
     @Override
     public void destroy() {
+        unregisterResponseSizeMBean();
         this.applicationContext.close();
     }
+
+    /**
+     * Register MBean named by context path and servlet name. Servlets of other live contexts keep their own MBean, and
+     * a duplicated name gets a sequence suffix.
+     */
+    void registerResponseSizeMBean() {
+        String servletName = getResponseSizeMBeanServletName();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (int n = 1; ; n++) {
+                ObjectName name = new ObjectName("org.example.web:type=DispatcherServlet,name=ResponseSizes,servlet="
+                        + ObjectName.quote(n == 1 ? servletName : servletName + "#" + n));
+                try {
+                    server.registerMBean(new ResponseSizes(), name);
+                    this.responseSizeMBeanName = name;
+                    return;
+                } catch (InstanceAlreadyExistsException e) {
+                    // registered by servlet of another context, try next name:
+                }
+            }
+        } catch (JMException e) {
+            logger.atWarn().log("register response size MBean failed.", e);
+        }
+    }
+
+    String getResponseSizeMBeanServletName() {
+        ServletConfig config = getServletConfig();
+        if (config == null) {
+            return "dispatcherServlet";
+        }
+        String contextPath = config.getServletContext().getContextPath();
+        return contextPath.isEmpty() ? config.getServletName() : contextPath + ":" + config.getServletName();
+    }
+
+    void unregisterResponseSizeMBean() {
+        if (this.responseSizeMBeanName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(this.responseSizeMBeanName);
+            } catch (JMException e) {
+                logger.atDebug().log("unregister response size MBean failed: {}", e.getMessage());
+            }
+            this.responseSizeMBeanName = null;
+        }
+    }
+
+    class ResponseSizes implements ResponseSizeMXBean {
+
+        @Override
+        public Map<String, Long> getEstimatedSizes() {
+            return collect(dispatcher -> dispatcher.responseSize.getEstimatedSize());
+        }
+
+        @Override
+        public Map<String, Long> getSamples() {
+            return collect(dispatcher -> dispatcher.responseSize.getSamples());
+        }
+
+        Map<String, Long> collect(ToLongFunction<Dispatcher> fn) {
+            Map<String, Long> map = new TreeMap<>();
+            getDispatchers.forEach(dispatcher -> map.put("GET " + dispatcher.url, fn.applyAsLong(dispatcher)));
+            postDispatchers.forEach(dispatcher -> map.put("POST " + dispatcher.url, fn.applyAsLong(dispatcher)));
+            return map;
+        }
+    }
     
     void doResource(String url, HttpServletRequest req, HttpServletResponse resp) throws IOException {
         ServletContext servletContext = req.getServletContext();
         try (InputStream inputStream = servletContext.getResourceAsStream(url)) {
             if (inputStream == null) {
-                resp.sendError(404, "Not Found.");
+                sendError(resp, 404, false);
             } else {
                 // guess content type
                 String file = url;
@@ -130,123 +228,326 @@ public class DispatcherServlet extends HttpServlet {
     }
     
     void doService(HttpServletRequest req, HttpServletResponse resp, List<Dispatcher> dispatchers) throws IOException, ServletException {
-        String url = req.getRequestURI();
-        
+        ConfigurableApplicationContext ctx = (ConfigurableApplicationContext) this.applicationContext;
+        boolean requestScope = ctx.beginRequestScope();
         try {
-            doService(url, req, resp, dispatchers);
-        } catch (ErrorResponseException e) {
-            logger.atWarn().log("process request failed with status " + e.statusCode + " : " + url, e);
-            if (!resp.isCommitted()) {
-                resp.resetBuffer();
-                resp.sendError(e.statusCode);
+            dispatch(req, resp, dispatchers);
+        } finally {
+            if (requestScope) {
+                ctx.endRequestScope();
             }
-        } catch (RuntimeException | ServletException | IOException e) {
-            logger.atWarn().log("process request failed: " + url, e);
-            throw e;
-        } catch (Exception e) {
-            logger.atWarn().log("process request failed: " + url, e);
-            throw new NestedRuntimeException(e);
+        }
+    }
+
+    void dispatch(HttpServletRequest req, HttpServletResponse resp, List<Dispatcher> dispatchers) throws IOException, ServletException {
+        String url = req.getRequestURI();
+
+        for (Dispatcher dispatcher : dispatchers) {
+            try {
+                if (doService(dispatcher, url, req, resp)) {
+                    return;
+                }
+            } catch (ErrorResponseException e) {
+                logFailure(dispatcher, req, e.statusCode, e);
+                if (!resp.isCommitted()) {
+                    resp.resetBuffer();
+                    sendError(resp, e.statusCode, dispatcher.isRest);
+                }
+                return;
+            } catch (RuntimeException | ServletException | IOException e) {
+                logFailure(dispatcher, req, 500, e);
+                throw e;
+            } catch (Exception e) {
+                logFailure(dispatcher, req, 500, e);
+                throw new NestedRuntimeException(e);
+            }
+        }
+
+        sendError(resp, 404, false);
+    }
+
+    /**
+     * Log failure with rate limit per route. Client errors are logged without stack trace.
+     */
+    void logFailure(Dispatcher dispatcher, HttpServletRequest req, int statusCode, Exception e) {
+        int suppressed = dispatcher.failureLogLimiter.tryAcquire();
+        if (suppressed < 0) {
+            return;
+        }
+        if (statusCode < 500) {
+            logger.atWarn().log("process request failed with status {}: {} {} (route {}, {} similar failures suppressed): {}", statusCode, req.getMethod(),
+                    req.getRequestURI(), dispatcher.url, suppressed, e.getMessage());
+        } else {
+            logger.atWarn().log("process request failed with status {}: {} {} (route {}, {} similar failures suppressed)", statusCode, req.getMethod(),
+                    req.getRequestURI(), dispatcher.url, suppressed, e);
+        }
+    }
+
+    /**
+     * Send error response with precomputed body.
+     */
+    void sendError(HttpServletResponse resp, int statusCode, boolean isRest) throws IOException {
+        ErrorPage page = ErrorPage.of(statusCode);
+        resp.setStatus(statusCode);
+        resp.setContentType(isRest ? "application/json" : "text/html");
+        byte[] body = isRest ? page.json : page.html;
+        resp.setContentLength(body.length);
+        ServletOutputStream outputStream;
+        try {
+            outputStream = resp.getOutputStream();
+        } catch (IllegalStateException e) {
+            // handler already called getWriter():
+            PrintWriter printWriter = resp.getWriter();
+            printWriter.write(new String(body, StandardCharsets.ISO_8859_1));
+            printWriter.flush();
+            return;
+        }
+        outputStream.write(body);
+        outputStream.flush();
+    }
+
+    void addController(boolean isRest, BeanDefinition beanDefinition) throws ServletException {
+        String name = beanDefinition.getName();
+        if (beanDefinition.isSingleton()) {
+            Object instance = this.applicationContext.getBean(name);
+            logger.atInfo().log("add {} controller '{}': {}", isRest ? "REST" : "MVC", name, instance.getClass().getName());
+            addMethods(isRest, () -> instance, instance.getClass());
+        } else {
+            // prototype, thread or request scoped controller is looked up on every request:
+            logger.atInfo().log("add {} {} controller '{}': {}", beanDefinition.getScope(), isRest ? "REST" : "MVC", name, beanDefinition.getBeanClass().getName());
+            addMethods(isRest, () -> this.applicationContext.getBean(name), beanDefinition.getBeanClass());
         }
     }
     
-    void addController(boolean isRest, String name, Object instance) throws ServletException {
-        logger.atInfo().log("add {} controller '{}': {}", isRest ? "REST" : "MVC", name, instance.getClass().getName());
+    boolean doService(Dispatcher dispatcher, String url, HttpServletRequest req, HttpServletResponse resp) throws Exception {
+        if (dispatcher.singleFlight != null) {
+            if (!dispatcher.urlPattern.matcher(url).matches()) {
+                return false;
+            }
+            doSingleFlight(dispatcher, url, req, resp);
+            return true;
+        }
+        Result result = dispatcher.process(url, req, resp);
+        if (!result.processed()) {
+            return false;
+        }
+        Object r = result.returnObject();
         
-        addMethods(isRest, instance, instance.getClass());
+        if (dispatcher.isRest) {
+            
+            if (!resp.isCommitted()) {
+                resp.setContentType("application/json");
+                // String and JSON results are written as UTF-8 bytes:
+                resp.setCharacterEncoding("UTF-8");
+            }
+            
+            if (dispatcher.isResponseBody) {
+                if (r instanceof String s) {
+                    writeBody(dispatcher, resp, s.getBytes(StandardCharsets.UTF_8));
+                } else if (r instanceof byte[] data) {
+                    writeBody(dispatcher, resp, data);
+                } else {
+                    throw new ServletException("Unable to process REST result when handle url: " + url);
+                }
+            } else if (!dispatcher.isVoid) {
+                String fields = dispatcher.isJsonView ? selectFields(dispatcher, req) : null;
+                writeJson(dispatcher, resp, r, fields);
+            }
+            
+        } else {
+            
+            if (!resp.isCommitted()) {
+                resp.setContentType("text/html");
+            }
+            
+            if (r instanceof String s) {
+                if (dispatcher.isResponseBody) {
+                    String encoding = resp.getCharacterEncoding();
+                    // make charset explicit since body is written as bytes:
+                    resp.setCharacterEncoding(encoding);
+                    writeBody(dispatcher, resp, s.getBytes(encoding));
+                } else if (s.startsWith("redirect:")) {
+                    resp.sendRedirect(s.substring(9));
+                } else {
+                    throw new ServletException("Unable to process String result when handle url: " + url);
+                }
+            } else if (r instanceof byte[] data) {
+                if (dispatcher.isResponseBody) {
+                    writeBody(dispatcher, resp, data);
+                } else {
+                    throw new ServletException("Unable to process byte[] result when handle url: " + url);
+                }
+            } else if (r instanceof ModelAndView mv) {
+                String viewName = mv.getViewName();
+                if (viewName.startsWith("redirect:")) {
+                    resp.sendRedirect(viewName.substring(9));
+                } else {
+                    this.viewResolver.render(viewName, mv.getModel(), req, resp);
+                }
+            } else if (!dispatcher.isVoid && r != null) {
+                throw new ServletException("Unable to process " + r.getClass().getName() + " result when handle url: " + url);
+            }
+            
+        }
+
+        return true;
     }
     
-    void doService(String url, HttpServletRequest req, HttpServletResponse resp, List<Dispatcher> dispatchers) throws Exception {
-        for (Dispatcher dispatcher : dispatchers) {
-            Result result = dispatcher.process(url, req, resp);
-            if (result.processed()) {
+    /**
+     * Execute handler once for concurrent identical requests and write the shared serialized result.
+     */
+    void doSingleFlight(Dispatcher dispatcher, String url, HttpServletRequest req, HttpServletResponse resp) throws Exception {
+        String fields = dispatcher.isJsonView ? selectFields(dispatcher, req) : null;
+        byte[] data;
+        try {
+            data = dispatcher.singleFlight.execute(singleFlightKey(dispatcher, url, req, fields), () -> {
+                Result result = dispatcher.process(url, req, resp);
                 Object r = result.returnObject();
-                
-                if (dispatcher.isRest) {
-                    
-                    if (!resp.isCommitted()) {
-                        resp.setContentType("application/json");
-                    }
-                    
-                    if (dispatcher.isResponseBody) {
-                        if (r instanceof String s) {
-                            PrintWriter printWriter = resp.getWriter();
-                            printWriter.write(s);
-                            printWriter.flush();
-                        } else if (r instanceof byte[] data) {
-                            ServletOutputStream outputStream = resp.getOutputStream();
-                            outputStream.write(data);
-                            outputStream.flush();
-                        } else {
-                            throw new ServletException("Unable to process REST result when handle url: " + url);
-                        }
-                    } else if (!dispatcher.isVoid) {
-                        PrintWriter printWriter = resp.getWriter();
-                        JsonUtils.writeJson(printWriter, r);
-                        printWriter.flush();
-                    }
-                    
-                } else {
-                    
-                    if (!resp.isCommitted()) {
-                        resp.setContentType("text/html");
-                    }
-                    
+                if (dispatcher.isResponseBody) {
                     if (r instanceof String s) {
-                        if (dispatcher.isResponseBody) {
-                            PrintWriter printWriter = resp.getWriter();
-                            printWriter.write(s);
-                            printWriter.flush();
-                        } else if (s.startsWith("redirect:")) {
-                            resp.sendRedirect(s.substring(9));
-                        } else {
-                            throw new ServletException("Unable to process String result when handle url: " + url);
-                        }
-                    } else if (r instanceof byte[] data) {
-                        if (dispatcher.isResponseBody) {
-                            ServletOutputStream outputStream = resp.getOutputStream();
-                            outputStream.write(data);
-                            outputStream.flush();
-                        } else {
-                            throw new ServletException("Unable to process byte[] result when handle url: " + url);
-                        }
-                    } else if (r instanceof ModelAndView mv) {
-                        String viewName = mv.getViewName();
-                        if (viewName.startsWith("redirect:")) {
-                            resp.sendRedirect(viewName.substring(9));
-                        } else {
-                            this.viewResolver.render(viewName, mv.getModel(), req, resp);
-                        }
-                    } else if (!dispatcher.isVoid && r != null) {
-                        throw new ServletException("Unable to process " + r.getClass().getName() + " result when handle url: " + url);
+                        return s.getBytes(StandardCharsets.UTF_8);
+                    } else if (r instanceof byte[] bytes) {
+                        return bytes;
                     }
-                    
+                    throw new ServletException("Unable to process REST result when handle url: " + url);
                 }
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream(dispatcher.responseSize.getBufferSize(this.maxResponseBufferSize));
+                writeJson(buffer, r, fields);
+                return buffer.toByteArray();
+            });
+        } catch (TimeoutException e) {
+            throw new ErrorResponseException(503, "Timeout when waiting for in-flight request: " + url);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ErrorResponseException(503, "Interrupted when waiting for in-flight request: " + url);
+        }
+        if (!resp.isCommitted()) {
+            resp.setContentType("application/json");
+            resp.setCharacterEncoding("UTF-8");
+        }
+        writeBody(dispatcher, resp, data);
+    }
 
-                return;
+    /**
+     * Build key from URL (including path variables) and all request parameters which the handler reads.
+     */
+    String singleFlightKey(Dispatcher dispatcher, String url, HttpServletRequest req, String fields) {
+        StringBuilder sb = new StringBuilder(url.length() + 64).append(url);
+        for (Param param : dispatcher.methodParameters) {
+            if (param.paramType == ParamType.REQUEST_PARAM) {
+                sb.append('\0').append(param.name).append('=');
+                String[] values = req.getParameterValues(param.name);
+                if (values != null) {
+                    sb.append(String.join("\0", values));
+                }
             }
         }
-        
-        resp.sendError(404, "Not Found.");
+        if (fields != null) {
+            sb.append('\0').append(this.fieldsParameter).append('=').append(fields);
+        }
+        return sb.toString();
     }
-    
-    void addMethods(boolean isRest, Object instance, Class<?> clazz) throws ServletException {
+
+    /**
+     * Write whole body with Content-Length, and learn response size of route.
+     */
+    void writeBody(Dispatcher dispatcher, HttpServletResponse resp, byte[] data) throws IOException {
+        resp.setContentLength(data.length);
+        ServletOutputStream outputStream = resp.getOutputStream();
+        outputStream.write(data);
+        outputStream.flush();
+        dispatcher.responseSize.record(data.length);
+    }
+
+    /**
+     * Serialize JSON into a buffer sized by the learned response size so Content-Length can be set. Responses which
+     * are expected to exceed max buffer size are streamed.
+     */
+    void writeJson(Dispatcher dispatcher, HttpServletResponse resp, Object r, String fields) throws IOException {
+        ResponseSizeEstimator responseSize = dispatcher.responseSize;
+        if (responseSize.getEstimatedSize() <= this.maxResponseBufferSize) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(responseSize.getBufferSize(this.maxResponseBufferSize));
+            writeJson(buffer, r, fields);
+            resp.setContentLength(buffer.size());
+            ServletOutputStream outputStream = resp.getOutputStream();
+            buffer.writeTo(outputStream);
+            outputStream.flush();
+            responseSize.record(buffer.size());
+        } else {
+            CountingOutputStream outputStream = new CountingOutputStream(resp.getOutputStream());
+            writeJson(outputStream, r, fields);
+            outputStream.flush();
+            responseSize.record(outputStream.count);
+        }
+    }
+
+    void writeJson(OutputStream output, Object r, String fields) throws IOException {
+        if (fields == null || r == null) {
+            JsonUtils.writeJson(output, r);
+        } else {
+            JsonUtils.writeJson(output, r, fields);
+        }
+    }
+
+    static class CountingOutputStream extends FilterOutputStream {
+
+        long count = 0;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            this.out.write(b);
+            this.count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            this.out.write(b, off, len);
+            this.count += len;
+        }
+    }
+
+    /**
+     * Get normalized fields selected by request parameter, or by the named view of handler.
+     */
+    String selectFields(Dispatcher dispatcher, HttpServletRequest req) {
+        if (dispatcher.allowFields) {
+            String fields = req.getParameter(this.fieldsParameter);
+            if (fields != null) {
+                try {
+                    return JsonFields.normalize(fields);
+                } catch (IllegalArgumentException e) {
+                    throw new ServerWebInputException(e.getMessage());
+                }
+            }
+        }
+        return dispatcher.viewFields;
+    }
+
+    void addMethods(boolean isRest, Supplier<Object> controller, Class<?> clazz) throws ServletException {
         for (Method m : clazz.getDeclaredMethods()) {
             GetMapping getMapping = m.getAnnotation(GetMapping.class);
+            if (m.isAnnotationPresent(SingleFlight.class) && getMapping == null) {
+                throw new ServletException("@SingleFlight is only supported on @GetMapping method: " + m);
+            }
             if (getMapping != null) {
                 checkMethod(m);
-                this.getDispatchers.add(new Dispatcher(isRest, instance, m, getMapping.value()));
+                this.getDispatchers.add(new Dispatcher(isRest, controller, m, getMapping.value(), this.failureLogRate, this.maxResponseBufferSize));
             }
 
             PostMapping postMapping = m.getAnnotation(PostMapping.class);
             if (postMapping != null) {
                 checkMethod(m);
-                this.postDispatchers.add(new Dispatcher(isRest, instance, m, postMapping.value()));
+                this.postDispatchers.add(new Dispatcher(isRest, controller, m, postMapping.value(), this.failureLogRate, this.maxResponseBufferSize));
             }
         }
 
         Class<?> superclass = clazz.getSuperclass();
         if (superclass != null) {
-            addMethods(isRest, instance, superclass);
+            addMethods(isRest, controller, superclass);
         }
     }
 
@@ -264,24 +565,58 @@ public class DispatcherServlet extends HttpServlet {
         boolean isRest;
         boolean isResponseBody;
         boolean isVoid;
+        String url;
         Pattern urlPattern;
-        Object controller;
+        Supplier<Object> controller;
         Method handlerMethod;
         Param[] methodParameters;
+        FailureLogLimiter failureLogLimiter;
+        ResponseSizeEstimator responseSize = new ResponseSizeEstimator();
+        int maxResponseBufferSize;
+        SingleFlightExecutor<byte[]> singleFlight;
+        boolean isJsonView;
+        boolean allowFields;
+        String viewFields;
 
-        public Dispatcher(boolean isRest, Object controller, Method method, String urlPattern) throws ServletException {
+        public Dispatcher(boolean isRest, Supplier<Object> controller, Method method, String urlPattern, int failureLogRate, int maxResponseBufferSize) throws ServletException {
             this.isRest = isRest;
             this.isResponseBody = method.isAnnotationPresent(ResponseBody.class);
             this.isVoid = method.getReturnType() == void.class;
+            this.url = urlPattern;
             this.urlPattern = PathUtils.compile(urlPattern);
+            this.failureLogLimiter = new FailureLogLimiter(failureLogRate);
+            this.maxResponseBufferSize = maxResponseBufferSize;
             this.controller = controller;
             this.handlerMethod = method;
+            JsonView jsonView = method.getAnnotation(JsonView.class);
+            if (jsonView != null) {
+                if (!isRest || this.isResponseBody) {
+                    throw new ServletException("@JsonView is only supported on REST handler which returns object: " + method);
+                }
+                this.isJsonView = true;
+                this.allowFields = jsonView.allowFields();
+                if (!jsonView.value().isEmpty()) {
+                    this.viewFields = findViewFields(method, jsonView.value());
+                }
+            }
             Parameter[] parameters = method.getParameters();
             this.methodParameters = new Param[parameters.length];
             for (int i = 0; i < parameters.length; i++) {
                 this.methodParameters[i] = new Param(method, parameters[i]);
             }
-            logger.atDebug().log("mapping {} to handler {}.{}", urlPattern, controller.getClass().getSimpleName(), method.getName());
+            SingleFlight singleFlight = method.getAnnotation(SingleFlight.class);
+            if (singleFlight != null) {
+                if (!isRest || this.isVoid) {
+                    throw new ServletException("@SingleFlight is only supported on REST handler which returns result: " + method);
+                }
+                for (Param param : this.methodParameters) {
+                    if (param.paramType == ParamType.SERVLET_PARAM || param.paramType == ParamType.REQUEST_BODY) {
+                        throw new ServletException("@SingleFlight handler cannot take argument of " + param.classType.getSimpleName() + ": " + method);
+                    }
+                }
+                this.singleFlight = new SingleFlightExecutor<>(singleFlight.timeout());
+            }
+            logger.atDebug().log("mapping {} to handler {}.{}", urlPattern, method.getDeclaringClass().getSimpleName(), method.getName());
             if (logger.isDebugEnabled()) {
                 for (var p : this.methodParameters) {
                     logger.debug("> parameter: {}", p);
@@ -289,9 +624,39 @@ public class DispatcherServlet extends HttpServlet {
             }
         }
         
+        /**
+         * Find fields of named view declared on result type, or element type if result is collection or array.
+         */
+        static String findViewFields(Method method, String view) throws ServletException {
+            Class<?> resultType = method.getReturnType();
+            if (resultType.isArray()) {
+                resultType = resultType.getComponentType();
+            } else if (Collection.class.isAssignableFrom(resultType) && method.getGenericReturnType() instanceof ParameterizedType pt
+                    && pt.getActualTypeArguments()[0] instanceof Class<?> elementType) {
+                resultType = elementType;
+            }
+            for (JsonViewDefinition def : resultType.getAnnotationsByType(JsonViewDefinition.class)) {
+                if (def.name().equals(view)) {
+                    try {
+                        String fields = JsonFields.normalize(String.join(",", def.fields()));
+                        if (fields == null) {
+                            throw new ServletException("Empty JSON view '" + view + "' on type: " + resultType.getName());
+                        }
+                        return fields;
+                    } catch (IllegalArgumentException e) {
+                        throw new ServletException("Invalid JSON view '" + view + "' on type: " + resultType.getName(), e);
+                    }
+                }
+            }
+            throw new ServletException("JSON view '" + view + "' not found on type " + resultType.getName() + " at method: " + method);
+        }
+
         Result process(String url, HttpServletRequest request, HttpServletResponse response) throws Exception {
             Matcher matcher = this.urlPattern.matcher(url);
             if (matcher.matches()) {
+                if (this.responseSize.getSamples() > 0 && !response.isCommitted()) {
+                    response.setBufferSize(this.responseSize.getBufferSize(this.maxResponseBufferSize));
+                }
                 Object[] arguments = new Object[this.methodParameters.length];
                 for (int i = 0; i < arguments.length; i++) {
                     Param param = this.methodParameters[i];
@@ -307,11 +672,22 @@ public class DispatcherServlet extends HttpServlet {
                         }
                         case REQUEST_PARAM -> {
                             String s = getOrDefault(request, param.name, param.defaultValue);
-                            yield convertToType(classType, s);
+                            try {
+                                yield convertToType(classType, s);
+                            } catch (NumberFormatException e) {
+                                throw new ServerWebInputException("Request parameter '" + param.name + "' is invalid.");
+                            }
                         }
                         case REQUEST_BODY -> {
                             BufferedReader reader = request.getReader();
-                            yield JsonUtils.readJson(reader, classType);
+                            try {
+                                yield JsonUtils.readJson(reader, classType);
+                            } catch (UncheckedIOException e) {
+                                if (e.getCause() instanceof JsonProcessingException) {
+                                    throw new ServerWebInputException("Request body is invalid.", e.getCause());
+                                }
+                                throw e;
+                            }
                         }
                         case SERVLET_PARAM -> {
                             if (classType == HttpServletRequest.class) {
@@ -331,7 +707,7 @@ public class DispatcherServlet extends HttpServlet {
                 
                 Object result;
                 try {
-                    result = this.handlerMethod.invoke(this.controller, arguments);
+                    result = this.handlerMethod.invoke(this.controller.get(), arguments);
                 } catch (InvocationTargetException e) {
                     Throwable t = e.getCause();
                     if (t instanceof Exception ex) {
@@ -432,5 +808,48 @@ public class DispatcherServlet extends HttpServlet {
     record Result(boolean processed, Object returnObject) {
         
     }
+
+    /**
+     * Error response bodies which are encoded once per status code.
+     */
+    record ErrorPage(byte[] html, byte[] json) {
+
+        static final Map<Integer, ErrorPage> CACHE = new ConcurrentHashMap<>();
+
+        static {
+            for (int statusCode : new int[] { 400, 401, 403, 404, 405, 409, 413, 415, 429, 500, 501, 502, 503 }) {
+                of(statusCode);
+            }
+        }
+
+        static ErrorPage of(int statusCode) {
+            return CACHE.computeIfAbsent(statusCode, code -> {
+                String reason = reasonPhrase(code);
+                String html = "<!DOCTYPE html><html><head><title>" + code + " " + reason + "</title></head><body><h1>" + code + " " + reason
+                        + "</h1></body></html>";
+                String json = "{\"error\":" + code + ",\"message\":\"" + reason + "\"}";
+                return new ErrorPage(html.getBytes(StandardCharsets.ISO_8859_1), json.getBytes(StandardCharsets.ISO_8859_1));
+            });
+        }
+
+        static String reasonPhrase(int statusCode) {
+            return switch (statusCode) {
+                case 400 -> "Bad Request";
+                case 401 -> "Unauthorized";
+                case 403 -> "Forbidden";
+                case 404 -> "Not Found";
+                case 405 -> "Method Not Allowed";
+                case 409 -> "Conflict";
+                case 413 -> "Content Too Large";
+                case 415 -> "Unsupported Media Type";
+                case 429 -> "Too Many Requests";
+                case 500 -> "Internal Server Error";
+                case 501 -> "Not Implemented";
+                case 502 -> "Bad Gateway";
+                case 503 -> "Service Unavailable";
+                default -> statusCode < 500 ? "Client Error" : "Server Error";
+            };
+        }
+    }
     
 }
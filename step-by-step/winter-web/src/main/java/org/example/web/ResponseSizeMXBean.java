@@ -0,0 +1,20 @@
+package org.example.web;
+
+import java.util.Map;
+
+/**
+ * Response sizes learned by DispatcherServlet, keyed by "METHOD /url-pattern".
+ */
+public interface ResponseSizeMXBean {
+
+    /**
+     * Estimated response size in bytes.
+     */
+    Map<String, Long> getEstimatedSizes();
+
+    /**
+     * Number of responses measured.
+     */
+    Map<String, Long> getSamples();
+
+}
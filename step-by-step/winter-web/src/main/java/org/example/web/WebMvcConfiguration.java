@@ -3,6 +3,7 @@ package org.example.web;
 import jakarta.servlet.ServletContext;
 import org.example.annotation.Autowired;
 import org.example.annotation.Bean;
+import org.example.annotation.ConditionalOnMissingBean;
 import org.example.annotation.Configuration;
 import org.example.annotation.Value;
 
@@ -20,6 +21,7 @@ public class WebMvcConfiguration {
     }
 
     @Bean(initMethod = "init")
+    @ConditionalOnMissingBean
     ViewResolver viewResolver( //
                                @Autowired ServletContext servletContext, //
                                @Value("${winter.web.freemarker.template-path:/WEB-INF/templates}") String templatePath, //
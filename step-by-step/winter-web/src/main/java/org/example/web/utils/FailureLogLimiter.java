@@ -0,0 +1,39 @@
+package org.example.web.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limit how many failures are logged per second. Failures over the limit are only counted, and the count is reported
+ * with the next logged failure.
+ */
+public class FailureLogLimiter {
+
+    final int permitsPerSecond;
+
+    final AtomicLong currentSecond = new AtomicLong();
+    final AtomicInteger permitsUsed = new AtomicInteger();
+    final AtomicInteger suppressed = new AtomicInteger();
+
+    public FailureLogLimiter(int permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    /**
+     * Try to acquire a permit for logging a failure.
+     *
+     * @return -1 if failure should not be logged, otherwise the number of failures suppressed since last logged one.
+     */
+    public int tryAcquire() {
+        long second = System.currentTimeMillis() / 1000;
+        long current = this.currentSecond.get();
+        if (current != second && this.currentSecond.compareAndSet(current, second)) {
+            this.permitsUsed.set(0);
+        }
+        if (this.permitsUsed.incrementAndGet() <= this.permitsPerSecond) {
+            return this.suppressed.getAndSet(0);
+        }
+        this.suppressed.incrementAndGet();
+        return -1;
+    }
+}
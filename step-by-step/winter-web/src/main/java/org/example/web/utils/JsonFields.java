@@ -0,0 +1,180 @@
+package org.example.web.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serialize only selected property paths like "id,name,address.city".
+ *
+ * Every bean and map is serialized with a property filter which checks the current path against the field set, so no
+ * intermediate map is built. Filtered writers are cached per (type, fields).
+ */
+public class JsonFields {
+
+    static final String FILTER_ID = "winter.fields";
+    static final int MAX_FIELDS_LENGTH = 1024;
+    static final int MAX_CACHED_WRITERS = 256;
+
+    static final ObjectMapper FILTERED_MAPPER = createFilteredMapper();
+    static final Map<WriterKey, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
+    private static ObjectMapper createFilteredMapper() {
+        ObjectMapper mapper = JsonUtils.OBJECT_MAPPER.copy();
+        mapper.setAnnotationIntrospector(new JacksonAnnotationIntrospector() {
+            @Override
+            public Object findFilterId(Annotated a) {
+                Object id = super.findFilterId(a);
+                if (id == null && a instanceof AnnotatedClass) {
+                    return FILTER_ID;
+                }
+                return id;
+            }
+        });
+        return mapper;
+    }
+
+    /**
+     * Normalize fields as sorted, de-duplicated, comma-separated paths so equal field sets share one cached writer.
+     *
+     * @return Normalized fields, or null if no field selected.
+     * @throws IllegalArgumentException If fields is invalid.
+     */
+    public static String normalize(String fields) {
+        if (fields == null) {
+            return null;
+        }
+        if (fields.length() > MAX_FIELDS_LENGTH) {
+            throw new IllegalArgumentException("Fields too long.");
+        }
+        TreeSet<String> paths = new TreeSet<>();
+        for (String path : fields.split(",")) {
+            path = path.strip();
+            if (path.isEmpty()) {
+                continue;
+            }
+            for (String name : path.split("\\.", -1)) {
+                if (name.isEmpty()) {
+                    throw new IllegalArgumentException("Invalid field: " + path);
+                }
+                for (int i = 0; i < name.length(); i++) {
+                    char ch = name.charAt(i);
+                    if (!(Character.isLetterOrDigit(ch) || ch == '_' || ch == '$' || ch == '-')) {
+                        throw new IllegalArgumentException("Invalid field: " + path);
+                    }
+                }
+            }
+            paths.add(path);
+        }
+        return paths.isEmpty() ? null : String.join(",", paths);
+    }
+
+    /**
+     * Get cached writer for type which serializes only normalized fields.
+     */
+    public static ObjectWriter writerFor(Class<?> type, String normalizedFields) {
+        WriterKey key = new WriterKey(type, normalizedFields);
+        ObjectWriter writer = WRITERS.get(key);
+        if (writer == null) {
+            if (WRITERS.size() >= MAX_CACHED_WRITERS) {
+                // evict any one:
+                Iterator<WriterKey> it = WRITERS.keySet().iterator();
+                if (it.hasNext()) {
+                    WRITERS.remove(it.next());
+                }
+            }
+            SimpleFilterProvider filters = new SimpleFilterProvider().addFilter(FILTER_ID, new FieldSetFilter(Node.parse(normalizedFields)));
+            writer = FILTERED_MAPPER.writerFor(type).with(filters);
+            WRITERS.put(key, writer);
+        }
+        return writer;
+    }
+
+    record WriterKey(Class<?> type, String fields) {
+    }
+
+    /**
+     * Tree of selected paths. A node without children selects the whole sub-tree.
+     */
+    static class Node {
+
+        static final Node ALL = new Node(null);
+
+        final Map<String, Node> children;
+
+        Node(Map<String, Node> children) {
+            this.children = children;
+        }
+
+        Node child(String name) {
+            if (this == ALL) {
+                return ALL;
+            }
+            return this.children.get(name);
+        }
+
+        static Node parse(String normalizedFields) {
+            Node root = new Node(new HashMap<>());
+            for (String path : normalizedFields.split(",")) {
+                Node node = root;
+                String[] names = path.split("\\.");
+                for (int i = 0; i < names.length; i++) {
+                    if (node == ALL) {
+                        break;
+                    }
+                    if (i == names.length - 1) {
+                        node.children.put(names[i], ALL);
+                    } else {
+                        node = node.children.computeIfAbsent(names[i], name -> new Node(new HashMap<>()));
+                    }
+                }
+            }
+            return root;
+        }
+    }
+
+    static class FieldSetFilter extends SimpleBeanPropertyFilter {
+
+        final Node root;
+
+        FieldSetFilter(Node root) {
+            this.root = root;
+        }
+
+        @Override
+        public void serializeAsField(Object pojo, JsonGenerator jgen, SerializerProvider provider, PropertyWriter writer) throws Exception {
+            Node node = nodeOf(jgen.getOutputContext());
+            if (node != null && node.child(writer.getName()) != null) {
+                writer.serializeAsField(pojo, jgen, provider);
+            } else if (!jgen.canOmitFields()) {
+                writer.serializeAsOmittedField(pojo, jgen, provider);
+            }
+        }
+
+        /**
+         * Find node of the object or array which is being written in context.
+         */
+        Node nodeOf(JsonStreamContext context) {
+            JsonStreamContext parent = context.getParent();
+            if (parent == null || parent.inRoot()) {
+                return this.root;
+            }
+            Node node = nodeOf(parent);
+            if (node == null || parent.inArray()) {
+                return node;
+            }
+            return node.child(parent.getCurrentName());
+        }
+    }
+}
@@ -44,6 +44,19 @@ public class JsonUtils {
         }
     }
 
+    /**
+     * Write JSON which only contains selected fields.
+     *
+     * @param fields Fields normalized by JsonFields.normalize().
+     */
+    public static void writeJson(Writer writer, Object obj, String fields) throws IOException {
+        try {
+            JsonFields.writerFor(obj.getClass(), fields).writeValue(writer, obj);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     public static void writeJson(OutputStream output, Object obj) throws IOException {
         try {
             OBJECT_MAPPER.writeValue(output, obj);
@@ -52,6 +65,19 @@ public class JsonUtils {
         }
     }
 
+    /**
+     * Write JSON which only contains selected fields.
+     *
+     * @param fields Fields normalized by JsonFields.normalize().
+     */
+    public static void writeJson(OutputStream output, Object obj, String fields) throws IOException {
+        try {
+            JsonFields.writerFor(obj.getClass(), fields).writeValue(output, obj);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     public static <T> T readJson(String str, Class<T> clazz) {
         try {
             return OBJECT_MAPPER.readValue(str, clazz);
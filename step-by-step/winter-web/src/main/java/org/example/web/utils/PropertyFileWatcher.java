@@ -0,0 +1,90 @@
+package org.example.web.utils;
+
+import org.example.PropertyResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Watch config files on a daemon thread, and reload all properties into PropertyResolver when any file changes.
+ * Changes within the delay (e.g. an editor writing a file in several steps) are reloaded once, and a failed reload
+ * keeps current properties.
+ */
+public class PropertyFileWatcher implements AutoCloseable {
+
+    final Logger logger = LoggerFactory.getLogger(getClass());
+
+    final PropertyResolver propertyResolver;
+    final List<Path> files;
+    final Supplier<Properties> loader;
+    final long delayMillis;
+    final WatchService watchService;
+    final Thread thread;
+
+    public PropertyFileWatcher(PropertyResolver propertyResolver, List<Path> files, Supplier<Properties> loader, long delayMillis) throws IOException {
+        this.propertyResolver = propertyResolver;
+        this.files = files.stream().map(Path::toAbsolutePath).map(Path::normalize).toList();
+        this.loader = loader;
+        this.delayMillis = delayMillis;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        // watch directories because editors may replace a file by rename:
+        for (Path dir : this.files.stream().map(Path::getParent).distinct().toList()) {
+            dir.register(this.watchService, ENTRY_CREATE, ENTRY_MODIFY);
+        }
+        this.thread = new Thread(this::run, "config-watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+        logger.atInfo().log("watch config files: {}", this.files);
+    }
+
+    void run() {
+        try {
+            while (true) {
+                boolean changed = pollEvents(this.watchService.take());
+                WatchKey key;
+                while ((key = this.watchService.poll(this.delayMillis, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= pollEvents(key);
+                }
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            logger.atDebug().log("config watcher stopped.");
+        }
+    }
+
+    boolean pollEvents(WatchKey key) {
+        Path dir = (Path) key.watchable();
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW || event.context() instanceof Path name && this.files.contains(dir.resolve(name))) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    void reload() {
+        try {
+            this.propertyResolver.update(this.loader.get());
+        } catch (RuntimeException e) {
+            logger.atWarn().log("reload config failed, keep current properties.", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.watchService.close();
+        this.thread.interrupt();
+    }
+}
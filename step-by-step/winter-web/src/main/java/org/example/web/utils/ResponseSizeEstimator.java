@@ -0,0 +1,58 @@
+package org.example.web.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exponentially decayed estimate of response size, in bytes.
+ */
+public class ResponseSizeEstimator {
+
+    /**
+     * Weight of the latest sample.
+     */
+    static final double ALPHA = 0.2;
+
+    /**
+     * Extra room over estimate so a response slightly larger than average still fits the buffer.
+     */
+    static final double HEADROOM = 1.25;
+
+    static final int MIN_BUFFER_SIZE = 512;
+
+    // estimate stored as double bits:
+    final AtomicLong estimate = new AtomicLong(Double.doubleToLongBits(0));
+    final AtomicLong samples = new AtomicLong();
+
+    public void record(long size) {
+        long n = this.samples.incrementAndGet();
+        while (true) {
+            long bits = this.estimate.get();
+            double current = Double.longBitsToDouble(bits);
+            // use plain average for first sample:
+            double next = n == 1 ? size : current + ALPHA * (size - current);
+            if (this.estimate.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Estimated size, or 0 if nothing recorded.
+     */
+    public long getEstimatedSize() {
+        return Math.round(Double.longBitsToDouble(this.estimate.get()));
+    }
+
+    public long getSamples() {
+        return this.samples.get();
+    }
+
+    /**
+     * Buffer size for next response, rounded up to 512 bytes and capped by maxBufferSize.
+     */
+    public int getBufferSize(int maxBufferSize) {
+        long size = (long) (Double.longBitsToDouble(this.estimate.get()) * HEADROOM);
+        size = (size + MIN_BUFFER_SIZE - 1) / MIN_BUFFER_SIZE * MIN_BUFFER_SIZE;
+        return (int) Math.min(Math.max(size, MIN_BUFFER_SIZE), maxBufferSize);
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.web.utils;
+
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Execute task once for concurrent calls with same key. Callers which arrive while the task is in flight wait for its
+ * result or exception. Nothing is cached after the task completes.
+ */
+public class SingleFlightExecutor<T> {
+
+    final long timeoutMillis;
+    final Map<String, CompletableFuture<T>> inflight = new ConcurrentHashMap<>();
+    final AtomicInteger waiting = new AtomicInteger();
+
+    public SingleFlightExecutor(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Execute task or wait for in-flight task with same key.
+     *
+     * @throws TimeoutException If in-flight task is not completed in time.
+     */
+    public T execute(String key, Callable<T> task) throws Exception {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        CompletableFuture<T> existing = this.inflight.putIfAbsent(key, future);
+        if (existing != null) {
+            this.waiting.incrementAndGet();
+            try {
+                return await(existing);
+            } finally {
+                this.waiting.decrementAndGet();
+            }
+        }
+        try {
+            T result = task.call();
+            future.complete(result);
+            return result;
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+            throw t;
+        } finally {
+            this.inflight.remove(key, future);
+        }
+    }
+
+    T await(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.get(this.timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception ex) {
+                throw ex;
+            }
+            if (cause instanceof Error err) {
+                throw err;
+            }
+            throw e;
+        }
+    }
+
+    public int getInflight() {
+        return this.inflight.size();
+    }
+
+    /**
+     * Get number of callers waiting for in-flight tasks.
+     */
+    public int getWaiting() {
+        return this.waiting.get();
+    }
+}
@@ -1,9 +1,9 @@
 package org.example.web.utils;
 
+import jakarta.annotation.Nullable;
 import jakarta.servlet.*;
 import org.example.PropertyResolver;
 import org.example.context.ApplicationContext;
-import org.example.context.ApplicationContextUtils;
 import org.example.util.ClassPathUtils;
 import org.example.util.YamlUtils;
 import org.example.web.DispatcherServlet;
@@ -12,7 +12,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.Reader;
 import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 
 public class WebUtils {
@@ -22,7 +29,25 @@ public class WebUtils {
     static final String CONFIG_APP_YAML = "/application.yml";
     static final String CONFIG_APP_PROP = "/application.properties";
     
+    /**
+     * Create PropertyResolver from application.yml (or application.properties) in classpath, overridden by the file of
+     * "winter.config.location" if set.
+     */
     public static PropertyResolver createPropertyResolver() {
+        Properties properties = loadProperties(null);
+        Path file = getConfigFile(properties.getProperty("winter.config.location", ""));
+        if (file != null) {
+            properties = loadProperties(file);
+        }
+        return new PropertyResolver(properties);
+    }
+
+    static Path getConfigFile(String defaultLocation) {
+        String location = System.getProperty("winter.config.location", defaultLocation);
+        return location.isEmpty() ? null : Path.of(location);
+    }
+
+    static Properties loadProperties(Path file) {
         Properties properties = new Properties();
 
         try {
@@ -46,19 +71,69 @@ public class WebUtils {
             }
         }
 
-        return new PropertyResolver(properties);
+        if (file != null) {
+            logger.atInfo().log("load config: {}", file);
+            String name = file.getFileName().toString();
+            if (name.endsWith(".yml") || name.endsWith(".yaml")) {
+                YamlUtils.loadYamlAsPlainMap(file).forEach((key, value) -> properties.put(key, value));
+            } else {
+                try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    properties.load(reader);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Watch the external config file, or the classpath config file if it is not in a jar, and reload on change if
+     * "winter.config.watch=true". The caller must close the returned watcher when the application context is closed.
+     *
+     * @return The watcher, or null if config files are not watched.
+     */
+    @Nullable
+    public static PropertyFileWatcher watchProperties(PropertyResolver propertyResolver) {
+        if (!propertyResolver.getProperty("${winter.config.watch:false}", boolean.class)) {
+            return null;
+        }
+        Path file = getConfigFile(propertyResolver.getProperty("${winter.config.location:}"));
+        List<Path> files = new ArrayList<>();
+        if (file != null) {
+            files.add(file);
+        }
+        for (String name : List.of(CONFIG_APP_YAML, CONFIG_APP_PROP)) {
+            URL url = WebUtils.class.getResource(name);
+            if (url != null) {
+                if ("file".equals(url.getProtocol())) {
+                    files.add(Path.of(URI.create(url.toString())));
+                }
+                break;
+            }
+        }
+        if (files.isEmpty()) {
+            logger.atWarn().log("no config file can be watched.");
+            return null;
+        }
+        try {
+            return new PropertyFileWatcher(propertyResolver, files, () -> loadProperties(file),
+                    propertyResolver.getProperty("${winter.config.watch-delay:200}", long.class));
+        } catch (IOException e) {
+            logger.atWarn().log("cannot watch config files: {}", files, e);
+            return null;
+        }
     }
     
-    public static void registerDispatcherServlet(ServletContext servletContext, PropertyResolver propertyResolver) {
-        DispatcherServlet dispatcherServlet = new DispatcherServlet(ApplicationContextUtils.getRequiredApplicationContext(), propertyResolver);
+    public static void registerDispatcherServlet(ServletContext servletContext, ApplicationContext applicationContext, PropertyResolver propertyResolver) {
+        DispatcherServlet dispatcherServlet = new DispatcherServlet(applicationContext, propertyResolver);
         logger.atInfo().log("register servlet {} for URL '/'", dispatcherServlet.getClass().getName());
         ServletRegistration.Dynamic dispatcherReg = servletContext.addServlet("dispatcherServlet", dispatcherServlet);
         dispatcherReg.addMapping("/");
         dispatcherReg.setLoadOnStartup(0);
     }
     
-    public static void registerFilters(ServletContext servletContext) {
-        ApplicationContext applicationContext = ApplicationContextUtils.getRequiredApplicationContext();
+    public static void registerFilters(ServletContext servletContext, ApplicationContext applicationContext) {
         for (FilterRegistrationBean filterRegistrationBean : applicationContext.getBeans(FilterRegistrationBean.class)) {
             List<String> urlPatterns = filterRegistrationBean.getUrlPatterns();
             if (urlPatterns == null || urlPatterns.isEmpty()) {
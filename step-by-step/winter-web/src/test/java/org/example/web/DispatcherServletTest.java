@@ -2,10 +2,12 @@ package org.example.web;
 
 import org.example.PropertyResolver;
 import org.example.context.AnnotationConfigApplicationContext;
+import org.example.web.controller.ApiController;
 import org.example.web.controller.ApiController.SigninObj;
 import org.example.web.controller.ControllerConfiguration;
 import org.example.web.utils.JsonUtils;
 import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.mock.web.MockHttpServletRequest;
@@ -13,11 +15,20 @@ import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.mock.web.MockHttpSession;
 import org.springframework.mock.web.MockServletContext;
 
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -41,7 +52,7 @@ public class DispatcherServletTest {
         var resp = createMockResponse();
         this.dispatcherServlet.service(req, resp);
         assertEquals(200, resp.getStatus());
-        assertEquals("application/json", resp.getContentType());
+        assertEquals("application/json;charset=UTF-8", resp.getContentType());
         assertEquals("{\"name\":\"Bob\"}", resp.getContentAsString());
     }
 
@@ -60,7 +71,7 @@ public class DispatcherServletTest {
         var resp = createMockResponse();
         this.dispatcherServlet.service(req, resp);
         assertEquals(200, resp.getStatus());
-        assertEquals("application/json", resp.getContentType());
+        assertEquals("application/json;charset=UTF-8", resp.getContentType());
         assertEquals("{\"action\":{\"name\":\"Bob\"}}", resp.getContentAsString());
     }
 
@@ -81,6 +92,34 @@ public class DispatcherServletTest {
         assertEquals(400, resp.getStatus());
     }
 
+    @Test
+    void getApiGreetingWithoutName() throws ServletException, IOException {
+        var req = createMockRequest("GET", "/api/greeting", null, null);
+        var resp = createMockResponse();
+        this.dispatcherServlet.service(req, resp);
+        assertEquals(400, resp.getStatus());
+        assertEquals("application/json", resp.getContentType());
+        assertEquals("{\"error\":400,\"message\":\"Bad Request\"}", resp.getContentAsString());
+    }
+
+    @Test
+    void getApiDownloadWithInvalidLength() throws ServletException, IOException {
+        var req = createMockRequest("GET", "/api/download/server.jar", null,
+                Map.of("hasChecksum", "true", "length", "abc", "time", "123.4", "md5", "aee9e38cb4d40ec2794542567539b4c8"));
+        var resp = createMockResponse();
+        this.dispatcherServlet.service(req, resp);
+        assertEquals(400, resp.getStatus());
+    }
+
+    @Test
+    void getNotFound() throws ServletException, IOException {
+        var req = createMockRequest("GET", "/not-exist", null, null);
+        var resp = createMockResponse();
+        this.dispatcherServlet.service(req, resp);
+        assertEquals(404, resp.getStatus());
+        assertTrue(resp.getContentAsString().contains("404 Not Found"));
+    }
+
     @Test
     void getDownload() throws ServletException, IOException {
         var req = createMockRequest("GET", "/download/server.jar", null,
@@ -98,12 +137,100 @@ public class DispatcherServletTest {
         var resp = createMockResponse();
         this.dispatcherServlet.service(req, resp);
         assertEquals(200, resp.getStatus());
-        assertEquals("application/json", resp.getContentType());
+        assertEquals("application/json;charset=UTF-8", resp.getContentType());
         assertTrue(resp.getContentAsString().contains("\"file\":\"server.jar\""));
         assertTrue(resp.getContentAsString().contains("\"length\":8"));
         assertTrue(resp.getContentAsString().contains("\"content\":\"QUFBQUFBQUE=\""));
     }
 
+    @Test
+    void getApiDownloadLearnsResponseSize() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            var req = createMockRequest("GET", "/api/download/server.jar", null,
+                    Map.of("hasChecksum", "true", "length", "8", "time", "123.4", "md5", "aee9e38cb4d40ec2794542567539b4c8"));
+            var resp = createMockResponse();
+            this.dispatcherServlet.service(req, resp);
+            assertEquals(200, resp.getStatus());
+            assertEquals(resp.getContentAsByteArray().length, resp.getContentLength());
+        }
+        var name = new ObjectName("org.example.web:type=DispatcherServlet,name=ResponseSizes,servlet=\"dispatcherServlet\"");
+        assertEquals(name, this.dispatcherServlet.responseSizeMBeanName);
+        TabularData sizes = (TabularData) ManagementFactory.getPlatformMBeanServer().getAttribute(name, "EstimatedSizes");
+        var row = sizes.get(new Object[] { "GET /api/download/{file}" });
+        assertTrue((Long) row.get("value") > 100);
+        // servlet of another context registers its own MBean:
+        var propertyResolver = createPropertyResolver();
+        var another = new DispatcherServlet(new AnnotationConfigApplicationContext(ControllerConfiguration.class, propertyResolver), propertyResolver);
+        another.init();
+        try {
+            assertNotEquals(name, another.responseSizeMBeanName);
+            assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+        } finally {
+            another.destroy();
+        }
+    }
+
+    @Test
+    void getApiSlowWithSingleFlight() throws Exception {
+        var controller = this.dispatcherServlet.applicationContext.getBean(ApiController.class);
+        var singleFlight = this.dispatcherServlet.getDispatchers.stream().filter(d -> d.singleFlight != null).findFirst().orElseThrow().singleFlight;
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            Callable<MockHttpServletResponse> call = () -> {
+                var req = createMockRequest("GET", "/api/slow/123", null, Map.of("name", "Bob"));
+                var resp = createMockResponse();
+                this.dispatcherServlet.service(req, resp);
+                return resp;
+            };
+            List<Future<MockHttpServletResponse>> futures = new ArrayList<>();
+            futures.add(executor.submit(call));
+            // leader is inside the handler, so others must join the in-flight request:
+            assertTrue(controller.slowEntered.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; i++) {
+                futures.add(executor.submit(call));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (singleFlight.getWaiting() < 3) {
+                assertTrue(System.nanoTime() < deadline, "requests did not join in-flight request");
+                Thread.onSpinWait();
+            }
+            controller.slowRelease.countDown();
+            for (var future : futures) {
+                var resp = future.get(5, TimeUnit.SECONDS);
+                assertEquals(200, resp.getStatus());
+                assertEquals("application/json;charset=UTF-8", resp.getContentType());
+                assertTrue(resp.getContentAsString().contains("\"id\":123"));
+            }
+            assertEquals(1, controller.slowCalls.get());
+        } finally {
+            controller.slowRelease.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void getApiFilesWithView() throws ServletException, IOException {
+        var req = createMockRequest("GET", "/api/files", null, null);
+        var resp = createMockResponse();
+        this.dispatcherServlet.service(req, resp);
+        assertEquals(200, resp.getStatus());
+        assertEquals("[{\"file\":\"server.jar\",\"length\":8}]", resp.getContentAsString());
+    }
+
+    @Test
+    void getApiFilesWithFields() throws ServletException, IOException {
+        var req = createMockRequest("GET", "/api/files", null, Map.of("fields", "md5, owner.name"));
+        var resp = createMockResponse();
+        this.dispatcherServlet.service(req, resp);
+        assertEquals(200, resp.getStatus());
+        assertEquals("[{\"md5\":\"aee9e38cb4d40ec2794542567539b4c8\",\"owner\":{\"name\":\"Bob\"}}]", resp.getContentAsString());
+
+        req = createMockRequest("GET", "/api/files", null, Map.of("fields", "owner..name"));
+        resp = createMockResponse();
+        this.dispatcherServlet.service(req, resp);
+        assertEquals(400, resp.getStatus());
+    }
+
     @Test
     void getDownloadPart() throws ServletException, IOException {
         var req = createMockRequest("GET", "/download-part", null, null);
@@ -187,6 +314,18 @@ public class DispatcherServletTest {
         assertEquals(Boolean.TRUE, req.getSession().getAttribute("signout"));
     }
 
+    @Test
+    void getApiPrototype() throws ServletException, IOException {
+        // new controller for every request:
+        for (int i = 0; i < 2; i++) {
+            var req = createMockRequest("GET", "/api/prototype", null, null);
+            var resp = createMockResponse();
+            this.dispatcherServlet.service(req, resp);
+            assertEquals(200, resp.getStatus());
+            assertEquals("{\"requests\":1}", resp.getContentAsString());
+        }
+    }
+
     @BeforeEach
     void init() throws ServletException {
         this.ctx = createMockServletContext();
@@ -197,6 +336,11 @@ public class DispatcherServletTest {
         this.dispatcherServlet.init();
     }
 
+    @AfterEach
+    void destroy() {
+        this.dispatcherServlet.destroy();
+    }
+
     PropertyResolver createPropertyResolver() {
         var ps = new Properties();
         ps.put("app.title", "Scan App");
@@ -9,7 +9,10 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @RestController
 public class ApiController {
@@ -54,6 +57,35 @@ public class ApiController {
         pw.flush();
     }
 
+    @GetMapping("/api/files")
+    @JsonView("summary")
+    List<FileObj> files() {
+        var f = new FileObj();
+        f.file = "server.jar";
+        f.length = 8;
+        f.downloadTime = 1.5f;
+        f.md5 = "aee9e38cb4d40ec2794542567539b4c8";
+        f.content = "A".repeat(8).getBytes(StandardCharsets.UTF_8);
+        f.owner = new Owner();
+        f.owner.id = 1;
+        f.owner.name = "Bob";
+        return List.of(f);
+    }
+
+    // created with each context, so no state is shared between tests:
+    public final AtomicInteger slowCalls = new AtomicInteger();
+    public final CountDownLatch slowEntered = new CountDownLatch(1);
+    public final CountDownLatch slowRelease = new CountDownLatch(1);
+
+    @GetMapping("/api/slow/{id}")
+    @SingleFlight(timeout = 10000)
+    Map<String, Object> slow(@PathVariable("id") long id, @RequestParam("name") String name) throws InterruptedException {
+        slowCalls.incrementAndGet();
+        slowEntered.countDown();
+        slowRelease.await();
+        return Map.of("id", id, "name", name);
+    }
+
     @PostMapping("/api/register")
     void register(@RequestBody SigninObj signin, HttpServletResponse resp) throws IOException {
         resp.setContentType("application/json");
@@ -62,12 +94,19 @@ public class ApiController {
         pw.flush();
     }
 
+    @JsonViewDefinition(name = "summary", fields = { "file", "length" })
     public static class FileObj {
         public String file;
         public int length;
         public Float downloadTime;
         public String md5;
         public byte[] content;
+        public Owner owner;
+    }
+
+    public static class Owner {
+        public long id;
+        public String name;
     }
 
     public static class SigninObj {
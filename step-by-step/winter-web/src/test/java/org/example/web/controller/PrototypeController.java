@@ -0,0 +1,20 @@
+package org.example.web.controller;
+
+import org.example.annotation.GetMapping;
+import org.example.annotation.RestController;
+import org.example.annotation.Scope;
+
+import java.util.Map;
+
+@RestController
+@Scope(Scope.PROTOTYPE)
+public class PrototypeController {
+
+    int requests;
+
+    @GetMapping("/api/prototype")
+    Map<String, Object> prototype() {
+        this.requests++;
+        return Map.of("requests", this.requests);
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.web.utils;
+
+import org.example.PropertyResolver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PropertyFileWatcherTest {
+
+    @Test
+    void reloadOnChange(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("app.yml");
+        Files.writeString(file, "app:\n  limit: 10\n  hosts:\n    - a\n    - b\n");
+        PropertyResolver propertyResolver = new PropertyResolver(WebUtils.loadProperties(file));
+        assertEquals(10, propertyResolver.getProperty("${app.limit}", int.class));
+        assertEquals("b", propertyResolver.getProperty("app.hosts[1]"));
+
+        Semaphore reloads = new Semaphore(0);
+        CountDownLatch changed = new CountDownLatch(1);
+        propertyResolver.addChangeListener(names -> changed.countDown());
+        PropertyFileWatcher watcher = new PropertyFileWatcher(propertyResolver, List.of(file), () -> {
+            try {
+                return WebUtils.loadProperties(file);
+            } finally {
+                reloads.release();
+            }
+        }, 50);
+        try {
+            // invalid yaml keeps current properties:
+            Files.writeString(file, "app: [\n");
+            assertTrue(reloads.tryAcquire(10, TimeUnit.SECONDS));
+            assertEquals(1, changed.getCount());
+            assertEquals(10, propertyResolver.getProperty("${app.limit}", int.class));
+
+            Files.writeString(file, "app:\n  limit: 20\n");
+            assertTrue(changed.await(10, TimeUnit.SECONDS));
+            assertEquals(20, propertyResolver.getProperty("${app.limit}", int.class));
+            assertNull(propertyResolver.getProperty("app.hosts[1]"));
+        } finally {
+            watcher.close();
+        }
+    }
+}